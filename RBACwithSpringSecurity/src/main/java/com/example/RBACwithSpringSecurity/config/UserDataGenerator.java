@@ -0,0 +1,121 @@
+package com.example.RBACwithSpringSecurity.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Synthetic users for scale testing, deterministic from app.generate.seed.
+// Run with: mvn spring-boot:run -Dspring-boot.run.profiles=generate -Dspring-boot.run.arguments=--app.generate.users=1000000
+// All generated users share one BCrypt hash of app.generate.password (hashing millions of passwords would
+// dominate the run) and are written with batched JDBC inserts after the current maximum id.
+@Slf4j
+@Component
+@Profile("generate")
+@Order(Ordered.LOWEST_PRECEDENCE) // after DataInitializer has created the default accounts
+public class UserDataGenerator implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "Olivia", "Liam", "Emma", "Noah", "Ava", "Oliver", "Sophia", "Elijah", "Isabella", "James",
+            "Mia", "William", "Amelia", "Benjamin", "Harper", "Lucas", "Evelyn", "Henry", "Abigail", "Alexander",
+            "Aisha", "Mateo", "Priya", "Wei", "Fatima", "Hiroshi", "Chloe", "Diego", "Zara", "Ivan"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Khan", "Nguyen", "Kim", "Patel", "Novak"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Lazy
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${app.generate.seed:42}")
+    private long seed;
+
+    @Value("${app.generate.users:100000}")
+    private int users;
+
+    @Value("${app.generate.password:password}")
+    private String password;
+
+    // Percentages of generated users that are admins and managers; the rest are plain users
+    @Value("${app.generate.admin-percent:1}")
+    private int adminPercent;
+
+    @Value("${app.generate.manager-percent:9}")
+    private int managerPercent;
+
+    @Value("${app.generate.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.generate.exit:true}")
+    private boolean exit;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SplittableRandom random = new SplittableRandom(seed);
+        String passwordHash = passwordEncoder.encode(password);
+        Long max = jdbcTemplate.queryForObject("SELECT max(id) FROM users", Long.class);
+        long nextId = (max == null ? 0 : max) + 1;
+        long started = System.nanoTime();
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < users; i++) {
+            long id = nextId++;
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            // The id keeps usernames and emails unique (uk_users_username / uk_users_email)
+            String username = first.toLowerCase() + "." + last.toLowerCase() + id;
+            rows.add(new Object[]{id, username, passwordHash, username + "@example.com", first, last, role(random)});
+
+            if (rows.size() >= batchSize) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+
+        // Explicit ids bypass the identity sequence; move it past them so registrations do not collide
+        jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('users', 'id'), (SELECT max(id) FROM users))", Long.class);
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        // The shared password is the configured app.generate.password; it is not written to the log
+        log.info("Generated {} users in {}s ({} rows/s)",
+                users, String.format("%.1f", seconds), Math.round(users / seconds));
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private String role(SplittableRandom random) {
+        int pick = random.nextInt(100);
+        return pick < adminPercent ? "ADMIN" : pick < adminPercent + managerPercent ? "MANAGER" : "USER";
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, email, first_name, last_name, roles, "
+                    + "enabled, account_non_expired, account_non_locked, credentials_non_expired) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, TRUE, TRUE, TRUE)", rows);
+            rows.clear();
+        }
+    }
+}
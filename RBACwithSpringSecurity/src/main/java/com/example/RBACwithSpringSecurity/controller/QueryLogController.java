@@ -0,0 +1,27 @@
+package com.example.RBACwithSpringSecurity.controller;
+
+import com.example.RBACwithSpringSecurity.jdbc.QueryLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/queries")
+@PreAuthorize("hasRole('ADMIN')")
+public class QueryLogController {
+
+    @Autowired
+    private QueryLog queryLog;
+
+    // GET /admin/queries?limit=100&slowOnly=true - Recorded statements, newest first, with the log's counters
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getQueries(@RequestParam(defaultValue = "100") int limit,
+                                                          @RequestParam(defaultValue = "false") boolean slowOnly) {
+        Map<String, Object> response = queryLog.describe();
+        response.put("queries", queryLog.recent(Math.max(1, limit), slowOnly));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.RBACwithSpringSecurity.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-size, lock-free log of executed SQL statements (replaces spring.jpa.show-sql).
+// Every statement at or over the slow threshold is kept, plus a random sample of the rest; writers claim a slot
+// with one getAndIncrement and overwrite the oldest entry, so recording never blocks or grows memory.
+@Component
+public class QueryLog {
+
+    public record Entry(long sequence, Instant executedAt, String sql, List<String> parameters,
+                        long durationMicros, long rows, boolean slow, String error) {
+    }
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    private final AtomicReferenceArray<Entry> ring;
+    private final AtomicLong cursor = new AtomicLong();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder slowStatements = new LongAdder();
+
+    public QueryLog(@Value("${app.query-log.slow-threshold-ms:100}") long slowThresholdMillis,
+                    @Value("${app.query-log.sample-rate:0.01}") double sampleRate,
+                    @Value("${app.query-log.buffer-size:1024}") int bufferSize) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+        this.ring = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    // Cheap pre-check so callers only build parameter shapes for statements that will be kept
+    public boolean shouldRecord(long durationNanos) {
+        statements.increment();
+        if (durationNanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void record(String sql, List<String> parameters, long durationNanos, long rows, String error) {
+        long sequence = cursor.getAndIncrement();
+        ring.set((int) (sequence % ring.length()), new Entry(sequence, Instant.now(), sql, parameters,
+                TimeUnit.NANOSECONDS.toMicros(durationNanos), rows, durationNanos >= slowThresholdNanos, error));
+    }
+
+    // Newest first; a slot overwritten while reading is simply skipped
+    public List<Entry> recent(int limit, boolean slowOnly) {
+        List<Entry> entries = new ArrayList<>();
+        long newest = cursor.get() - 1;
+        for (long sequence = newest; sequence >= 0 && sequence > newest - ring.length() && entries.size() < limit; sequence--) {
+            Entry entry = ring.get((int) (sequence % ring.length()));
+            if (entry != null && entry.sequence() == sequence && (!slowOnly || entry.slow())) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("slowThresholdMillis", TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos));
+        description.put("sampleRate", sampleRate);
+        description.put("bufferSize", ring.length());
+        description.put("statementsSeen", statements.sum());
+        description.put("slowStatements", slowStatements.sum());
+        description.put("recorded", cursor.get());
+        return description;
+    }
+}
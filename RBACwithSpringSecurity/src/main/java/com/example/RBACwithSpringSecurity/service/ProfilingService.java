@@ -0,0 +1,203 @@
+package com.example.RBACwithSpringSecurity.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// On-demand Java Flight Recorder sessions for the running instance.
+// A session records for a bounded time with the JDK "profile" settings, is parsed in-process into
+// hot methods / allocation sites / lock contention / GC pauses, and the raw .jfr is kept for download.
+// Only one session runs at a time; the last few recordings are kept on disk.
+@Slf4j
+@Service
+public class ProfilingService {
+
+    private final Duration maxDuration;
+    private final int retainedRecordings;
+    private final Path directory;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Path> recordings = new LinkedHashMap<>();
+
+    public ProfilingService(@Value("${app.profiling.max-duration-seconds:120}") long maxDurationSeconds,
+                            @Value("${app.profiling.retained-recordings:5}") int retainedRecordings,
+                            @Value("${app.profiling.dir:${java.io.tmpdir}}") String directory) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.retainedRecordings = retainedRecordings;
+        this.directory = Path.of(directory);
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    // Record for the given duration (blocking the caller) and summarise the top entries of each category
+    public Map<String, Object> profile(Duration duration, int top) throws IOException, InterruptedException {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + maxDuration.toSeconds() + " seconds");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A profiling session is already running");
+        }
+        try {
+            long id = sequence.incrementAndGet();
+            Files.createDirectories(directory);
+            Path file = directory.resolve("profile-" + id + "-" + System.currentTimeMillis() + ".jfr");
+            Instant startedAt = Instant.now();
+
+            try (Recording recording = new Recording(Configuration.getConfiguration("profile"))) {
+                recording.setName("admin-profiling-" + id);
+                recording.setToDisk(true);
+                recording.start();
+                log.info("JFR profiling session {} started for {}s", id, duration.toSeconds());
+                try {
+                    Thread.sleep(duration.toMillis());
+                } finally {
+                    recording.stop();
+                    recording.dump(file);
+                }
+            } catch (ParseException e) {
+                throw new IOException("JFR 'profile' configuration is unavailable", e);
+            }
+            retain(id, file);
+
+            Map<String, Object> summary = summarize(file, top);
+            summary.put("recordingId", id);
+            summary.put("startedAt", startedAt);
+            summary.put("durationSeconds", duration.toSeconds());
+            summary.put("sizeBytes", Files.size(file));
+            return summary;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Optional<Path> getRecording(long id) {
+        synchronized (recordings) {
+            return Optional.ofNullable(recordings.get(id)).filter(Files::exists);
+        }
+    }
+
+    private void retain(long id, Path file) {
+        synchronized (recordings) {
+            recordings.put(id, file);
+            while (recordings.size() > retainedRecordings) {
+                Long oldest = recordings.keySet().iterator().next();
+                Path expired = recordings.remove(oldest);
+                try {
+                    Files.deleteIfExists(expired);
+                } catch (IOException e) {
+                    log.warn("Could not delete expired recording {}", expired, e);
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> summarize(Path file, int top) throws IOException {
+        Map<String, Long> cpuSamples = new HashMap<>();
+        Map<String, Long> allocatedBytes = new HashMap<>();
+        Map<String, Long> monitorWaitNanos = new HashMap<>();
+        Map<String, Long> monitorWaits = new HashMap<>();
+        Map<String, Long> gcPauseNanos = new HashMap<>();
+        Map<String, Long> gcCounts = new HashMap<>();
+        long executionSamples = 0;
+        long longestPauseNanos = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        cpuSamples.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                    }
+                    case "jdk.ObjectAllocationSample" -> {
+                        String site = topFrame(event.getStackTrace()) + " -> " + event.getClass("objectClass").getName();
+                        allocatedBytes.merge(site, event.getLong("weight"), Long::sum);
+                    }
+                    case "jdk.JavaMonitorEnter" -> {
+                        String site = event.getClass("monitorClass").getName() + " at " + topFrame(event.getStackTrace());
+                        monitorWaitNanos.merge(site, event.getDuration().toNanos(), Long::sum);
+                        monitorWaits.merge(site, 1L, Long::sum);
+                    }
+                    case "jdk.GarbageCollection" -> {
+                        long pause = event.getDuration("sumOfPauses").toNanos();
+                        gcPauseNanos.merge(event.getString("name"), pause, Long::sum);
+                        gcCounts.merge(event.getString("name"), 1L, Long::sum);
+                        longestPauseNanos = Math.max(longestPauseNanos, event.getDuration("longestPause").toNanos());
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("executionSamples", executionSamples);
+        summary.put("topCpuMethods", top(cpuSamples, top, "method", "samples", null));
+        summary.put("topAllocationSites", top(allocatedBytes, top, "site", "bytes", null));
+        summary.put("lockContention", top(monitorWaitNanos, top, "monitor", "blockedMillis", monitorWaits));
+        summary.put("gcPauses", top(gcPauseNanos, top, "collector", "pauseMillis", gcCounts));
+        summary.put("longestGcPauseMillis", nanosToMillis(longestPauseNanos));
+        return summary;
+    }
+
+    // Map entries sorted by value (descending); nanosecond totals are reported in milliseconds
+    private static List<Map<String, Object>> top(Map<String, Long> totals, int limit, String keyName,
+                                                 String valueName, Map<String, Long> counts) {
+        boolean nanos = valueName.endsWith("Millis");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put(keyName, entry.getKey());
+                    row.put(valueName, nanos ? nanosToMillis(entry.getValue()) : entry.getValue());
+                    if (counts != null) {
+                        row.put("count", counts.get(entry.getKey()));
+                    }
+                    rows.add(row);
+                });
+        return rows;
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<unknown>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame()) {
+                return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+            }
+        }
+        return "<native>";
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -3,8 +3,10 @@ package com.example.RBACwithSpringSecurity.service;
 import com.example.RBACwithSpringSecurity.dto.UserRegistrationDto;
 import com.example.RBACwithSpringSecurity.model.User;
 import com.example.RBACwithSpringSecurity.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -30,13 +32,6 @@ public class UserService implements UserDetailsService {
     }
 
     public User registerUser(UserRegistrationDto registrationDto) {
-        if (userRepository.existsByUsername(registrationDto.getUsername())) {
-            throw new RuntimeException("Username already exists!");
-        }
-        if (userRepository.existsByEmail(registrationDto.getEmail())) {
-            throw new RuntimeException("Email already exists!");
-        }
-
         User user = new User();
         user.setUsername(registrationDto.getUsername());
         user.setPassword(passwordEncoder.encode(registrationDto.getPassword()));
@@ -47,7 +42,33 @@ public class UserService implements UserDetailsService {
         // Set default USER role using the new string-based system
         user.setRoles(List.of("USER"));
 
-        return userRepository.save(user);
+        // Username/email uniqueness is enforced by the database (uk_users_username / uk_users_email)
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e, user.getEmail())) {
+                throw new RuntimeException("Email already exists!");
+            }
+            throw new RuntimeException("Username already exists!");
+        }
+    }
+
+    // Decided by the violated constraint. Databases adopted from ddl-auto may report Hibernate's auto-named
+    // constraint instead, which does not name the column; then the email is looked up.
+    private boolean isEmailConflict(DataIntegrityViolationException e, String email) {
+        String constraint = null;
+        for (Throwable cause = e; cause != null && constraint == null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                constraint = violation.getConstraintName();
+            }
+        }
+        if ("uk_users_email".equalsIgnoreCase(constraint)) {
+            return true;
+        }
+        if ("uk_users_username".equalsIgnoreCase(constraint)) {
+            return false;
+        }
+        return userRepository.existsByEmail(email);
     }
 
     public User findByUsername(String username) {
@@ -0,0 +1,20 @@
+-- Baseline users table (previously generated by spring.jpa.hibernate.ddl-auto=update).
+-- IF NOT EXISTS so an existing ddl-auto database is adopted as-is (baseline-on-migrate).
+CREATE TABLE IF NOT EXISTS users (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username                VARCHAR(255) NOT NULL,
+    password                VARCHAR(255) NOT NULL,
+    email                   VARCHAR(255) NOT NULL,
+    first_name              VARCHAR(255),
+    last_name               VARCHAR(255),
+    enabled                 BOOLEAN      NOT NULL DEFAULT TRUE,
+    account_non_expired     BOOLEAN      NOT NULL DEFAULT TRUE,
+    account_non_locked      BOOLEAN      NOT NULL DEFAULT TRUE,
+    credentials_non_expired BOOLEAN      NOT NULL DEFAULT TRUE,
+    roles                   VARCHAR(255)
+);
+
+-- Login (findByUsername) and registration uniqueness; these replace the existsBy pre-checks.
+-- Databases created by ddl-auto already have equivalent (auto-named) unique constraints.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username ON users (username);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email ON users (email);
@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Payload size and throughput per response format (JSON / CBOR / Smile) against a running instance.
+# Requires `hey` (https://github.com/rakyll/hey) and a populated database.
+#
+#   ./benchmarks/compare-formats.sh [base-url] [concurrency] [duration]
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8082}
+CONCURRENCY=${2:-50}
+DURATION=${3:-20s}
+ENDPOINTS=("/api/students" "/api/courses" "/api/courses/dto" "/api/students/summary" "/api/students/dto")
+FORMATS=("application/json" "application/cbor" "application/x-jackson-smile")
+
+printf "%-24s %-30s %12s %12s\n" "endpoint" "format" "bytes" "req/s"
+for endpoint in "${ENDPOINTS[@]}"; do
+    for format in "${FORMATS[@]}"; do
+        bytes=$(curl -s -o /dev/null -w "%{size_download}" -H "Accept: ${format}" "${BASE_URL}${endpoint}")
+        rps=$(hey -z "${DURATION}" -c "${CONCURRENCY}" -H "Accept: ${format}" "${BASE_URL}${endpoint}" \
+            | awk '/Requests\/sec/ {print $2}')
+        printf "%-24s %-30s %12s %12s\n" "${endpoint}" "${format}" "${bytes}" "${rps}"
+    done
+done
@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Compare the servlet/JPA stack with the reactive WebFlux/R2DBC stack on the same machine.
+#
+# Both runs use the same jar, the same database and the same CPU set, so the only difference
+# is the active profile. Requires `hey` (https://github.com/rakyll/hey) and a populated database.
+#
+#   ./benchmarks/compare-stacks.sh [concurrency] [duration] [cpus]
+#   ./benchmarks/compare-stacks.sh 500 30s 0-3
+set -euo pipefail
+
+CONCURRENCY=${1:-200}
+DURATION=${2:-30s}
+CPUS=${3:-0-3}
+PORT=8082
+JAR=$(ls target/crud-app-*.jar | head -n 1)
+ENDPOINTS=("/api/students" "/api/courses" "/api/students/dto" "/api/courses/dto" "/api/students/stats")
+
+run_stack() {
+    local profile=$1
+    echo "=== ${profile} stack (cpus ${CPUS}, concurrency ${CONCURRENCY}, ${DURATION}) ==="
+
+    taskset -c "${CPUS}" java -jar "${JAR}" --spring.profiles.active="${profile}" > "target/bench-${profile}.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' RETURN
+
+    until curl -sf "http://localhost:${PORT}/api/students" > /dev/null; do sleep 1; done
+
+    for endpoint in "${ENDPOINTS[@]}"; do
+        echo "--- ${endpoint}"
+        hey -z 5s -c 20 "http://localhost:${PORT}${endpoint}" > /dev/null # warm-up
+        hey -z "${DURATION}" -c "${CONCURRENCY}" "http://localhost:${PORT}${endpoint}" \
+            | grep -E "Requests/sec|Average|99%|Status code|\[[0-9]{3}\]"
+    done
+
+    echo "--- live threads: $(ls /proc/${pid}/task | wc -l)"
+}
+
+run_stack default
+run_stack reactive
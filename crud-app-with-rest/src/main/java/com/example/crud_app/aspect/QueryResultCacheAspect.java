@@ -0,0 +1,156 @@
+package com.example.crud_app.aspect;
+
+import com.example.crud_app.cache.CachedQuery;
+import com.example.crud_app.cache.TableVersions;
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import com.example.crud_app.sharding.ShardContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cross-request result cache for @CachedQuery repository finders, keyed on repository + method + arguments.
+// Each entry is tagged with the versions of the tables it read (TableVersions) and is served only while those
+// are unchanged, so any committed write invalidates exactly the entries that depend on it. Writes TableVersions
+// cannot see (raw SQL without a change_log row) are bounded by a maximum entry age instead.
+// Entities are cached and handed out as detached copies, so callers can never modify a cached row.
+// Results read inside a transaction that has already written one of the tables bypass the cache both ways.
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 20) // inside tracing, outside the request memo and shard routing
+public class QueryResultCacheAspect {
+
+    private final TableVersions tableVersions;
+    private final int maxEntries;
+    private final long maxAgeNanos;
+    private final Map<CacheKey, CacheEntry> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public QueryResultCacheAspect(TableVersions tableVersions,
+                                  @Value("${app.query-cache.max-entries:256}") int maxEntries,
+                                  @Value("${app.query-cache.max-age-ms:30000}") long maxAgeMillis) {
+        this.tableVersions = tableVersions;
+        this.maxEntries = maxEntries;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+        // Access-ordered LinkedHashMap = LRU; guarded by its own monitor
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > QueryResultCacheAspect.this.maxEntries;
+            }
+        };
+    }
+
+    @Around("execution(* com.example.crud_app.repository.StudentRepository.*(..))"
+            + " || execution(* com.example.crud_app.repository.CourseRepository.*(..))")
+    public Object cache(ProceedingJoinPoint joinPoint) throws Throwable {
+        CachedQuery cachedQuery = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(CachedQuery.class);
+        if (cachedQuery == null || tableVersions.isDirtyInCurrentTransaction(cachedQuery.tables())) {
+            return joinPoint.proceed();
+        }
+        if (ShardContext.get() != null) {
+            return joinPoint.proceed(); // One shard's part of a routed call: only the merged result is cached
+        }
+
+        // Inherited finder signatures are shared across repositories, so the proxy type is part of the key
+        CacheKey key = new CacheKey(joinPoint.getThis().getClass().getName() + " " + joinPoint.getSignature().toLongString(),
+                Arrays.asList(joinPoint.getArgs()));
+        long version = tableVersions.version(cachedQuery.tables());
+
+        CacheEntry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+        if (entry != null && entry.version() == version && System.nanoTime() - entry.queriedAtNanos() < maxAgeNanos) {
+            hits.increment();
+            return copy(entry.value());
+        }
+
+        misses.increment();
+        long queriedAtNanos = System.nanoTime();
+        Object result = joinPoint.proceed();
+        // The version and age were taken before querying: if a write commits meanwhile the entry is simply never served
+        Object cached = copy(result);
+        if (cached != UNCACHEABLE) {
+            synchronized (cache) {
+                cache.put(key, new CacheEntry(version, queriedAtNanos, cached));
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        synchronized (cache) {
+            description.put("entries", cache.size());
+        }
+        description.put("maxEntries", maxEntries);
+        description.put("maxAgeMillis", TimeUnit.NANOSECONDS.toMillis(maxAgeNanos));
+        description.put("hits", hits.sum());
+        description.put("misses", misses.sum());
+        description.put("tableVersions", tableVersions.describe());
+        return description;
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    static final Object UNCACHEABLE = new Object();
+
+    // Detached copy of a finder result; results of other shapes are not cached (also used by RequestQueryMemoAspect)
+    static Object copy(Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                Object elementCopy = copy(element);
+                if (elementCopy == UNCACHEABLE) {
+                    return UNCACHEABLE;
+                }
+                copy.add(elementCopy);
+            }
+            return copy;
+        }
+        if (value instanceof Optional<?> optional) {
+            if (optional.isEmpty()) {
+                return optional;
+            }
+            Object copy = copy(optional.get());
+            return copy == UNCACHEABLE ? UNCACHEABLE : Optional.of(copy);
+        }
+        if (value instanceof Student student) {
+            return EntityChangedEvent.copyOf(student);
+        }
+        if (value instanceof Course course) {
+            return EntityChangedEvent.copyOf(course);
+        }
+        if (value == null || value instanceof Number || value instanceof String || value instanceof Boolean) {
+            return value;
+        }
+        return UNCACHEABLE;
+    }
+
+    private record CacheKey(String method, List<Object> args) {
+    }
+
+    private record CacheEntry(long version, long queriedAtNanos, Object value) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.crud_app.aspect;
+
+import com.example.crud_app.cache.TableVersions;
+import com.example.crud_app.sharding.ShardContext;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Memoizes StudentRepository/CourseRepository reads for the duration of one HTTP request, so a controller that
+// asks for the same data twice (e.g. findByStudentId for courses and then for total credits) hits the database once.
+// Only reads inside read-only transactions are memoized: in a read-write transaction, changes made by dirty
+// checking are flushed before a query and would not be reflected in a memoized result. Entries carry the
+// students/courses table versions they were read at (TableVersions), so a write committed in the meantime makes
+// them stale - service saves and deletes, and the bulk loaders that write with JdbcTemplate, all bump them. Results are handed out as detached
+// copies, like the cross-request QueryResultCacheAspect does; a caller can never modify what another one gets.
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10) // inside the result cache, outside shard routing
+@RequiredArgsConstructor
+public class RequestQueryMemoAspect {
+
+    private static final String MEMO_ATTRIBUTE = RequestQueryMemoAspect.class.getName() + ".MEMO";
+
+    private final TableVersions tableVersions;
+
+    @Around("execution(* com.example.crud_app.repository.StudentRepository.*(..))"
+            + " || execution(* com.example.crud_app.repository.CourseRepository.*(..))")
+    public Object memoize(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return joinPoint.proceed(); // Not inside a web request (startup, background jobs, other threads)
+        }
+        if (ShardContext.get() != null) {
+            return joinPoint.proceed(); // One shard's part of a routed call: only the merged result is memoized
+        }
+
+        String method = joinPoint.getSignature().getName();
+        if (!isRead(method)) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                request.removeAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return joinPoint.proceed();
+        }
+
+        Map<MemoKey, MemoEntry> memo = memoFor(request);
+        // Inherited methods (findAll, findById, ...) share one signature across repositories, so the proxy type is part of the key
+        MemoKey key = new MemoKey(joinPoint.getThis().getClass().getName() + " " + joinPoint.getSignature().toLongString(),
+                Arrays.asList(joinPoint.getArgs()));
+        long version = tableVersions.version(TableVersions.STUDENTS, TableVersions.COURSES);
+        MemoEntry entry = memo.get(key);
+        if (entry != null && entry.version() == version) {
+            return QueryResultCacheAspect.copy(entry.value());
+        }
+        Object result = joinPoint.proceed();
+        Object memoized = QueryResultCacheAspect.copy(result);
+        if (memoized != QueryResultCacheAspect.UNCACHEABLE) {
+            memo.put(key, new MemoEntry(version, memoized));
+        }
+        return result;
+    }
+
+    private boolean isRead(String method) {
+        return method.startsWith("find") || method.startsWith("count")
+                || method.startsWith("exists") || method.startsWith("get");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<MemoKey, MemoEntry> memoFor(RequestAttributes request) {
+        Map<MemoKey, MemoEntry> memo = (Map<MemoKey, MemoEntry>) request.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            request.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private record MemoKey(String method, List<Object> args) {
+    }
+
+    private record MemoEntry(long version, Object value) {
+    }
+}
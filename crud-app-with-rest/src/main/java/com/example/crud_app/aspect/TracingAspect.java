@@ -0,0 +1,64 @@
+package com.example.crud_app.aspect;
+
+import com.example.crud_app.tracing.TraceRecorder;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Records a span for every call into a *Controller, *Service or *Repository bean while the current request
+// is being traced (see TraceFilter). Untraced requests pay one ThreadLocal lookup per call.
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 30) // outermost repository aspect: spans include cache and memo hits
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final TraceRecorder traceRecorder;
+
+    // Span names per bean type and method, built once. Keyed on the Method rather than the Signature:
+    // Spring AOP creates a new Signature object for every join point.
+    private final Map<Class<?>, Map<Method, String>> spanNames = new ConcurrentHashMap<>();
+
+    @Around("bean(*Controller) || bean(*Service) || bean(*Repository)")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!traceRecorder.isRecording()) {
+            return joinPoint.proceed();
+        }
+        int span = traceRecorder.enter(spanName(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            traceRecorder.exit(span);
+        }
+    }
+
+    // "StudentService.getStudentsWithCourseStats"; Spring Data repositories are named after their interface
+    // (StudentRepository.findAll rather than the shared CrudRepository.findAll)
+    private String spanName(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getThis();
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Class<?> type = signature.getDeclaringType();
+        if (target != null && Proxy.isProxyClass(target.getClass()) && target.getClass().getInterfaces().length > 0) {
+            type = target.getClass().getInterfaces()[0];
+        } else if (joinPoint.getTarget() != null) {
+            type = joinPoint.getTarget().getClass();
+        }
+        Map<Method, String> names = spanNames.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+        String name = names.get(signature.getMethod());
+        if (name == null) {
+            name = type.getSimpleName() + "." + signature.getName();
+            names.putIfAbsent(signature.getMethod(), name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.crud_app.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a StudentRepository/CourseRepository finder whose results may be served from the query result cache
+// (QueryResultCacheAspect). tables lists every table the query reads; an entry is only served while none of
+// them has been written since it was stored (see TableVersions).
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedQuery {
+
+    String[] tables();
+}
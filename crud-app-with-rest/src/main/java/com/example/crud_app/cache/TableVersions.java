@@ -0,0 +1,145 @@
+package com.example.crud_app.cache;
+
+import com.example.crud_app.event.EntityChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-table write counters, bumped once a student/course change has committed.
+// Anything derived from a table can be tagged with the version(s) it was read at and is current exactly while
+// those versions are unchanged. Versions are only bumped after commit, so a reader that takes the version before
+// querying can never tag pre-commit data with a post-commit version.
+// Within a write transaction the tables it has touched are "dirty" for that transaction: its own uncommitted rows
+// are visible to it but not yet versioned, so cached results must be neither served to it nor taken from it.
+// Local commits bump right away. Writes this JVM publishes no event for (other instances, the reactive stack, bulk
+// loads) are picked up from change_log: every sequenced row past the last feed position seen bumps its table.
+// Raw SQL that bypasses change_log is not seen here; QueryResultCacheAspect bounds that with a maximum entry age.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TableVersions {
+
+    public static final String STUDENTS = "students";
+    public static final String COURSES = "courses";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private volatile long lastSeenPosition = -1;  // -1 = not read yet
+
+    public long version(String table) {
+        return counter(table).get();
+    }
+
+    // Combined version of several tables; counters only grow, so the sum changes whenever any of them does
+    public long version(String... tables) {
+        long version = 0;
+        for (String table : tables) {
+            version += version(table);
+        }
+        return version;
+    }
+
+    public void bump(String... tables) {
+        for (String table : tables) {
+            counter(table).incrementAndGet();
+        }
+    }
+
+    public boolean isDirtyInCurrentTransaction(String... tables) {
+        Set<String> dirty = dirtyTables(false);
+        if (dirty != null) {
+            for (String table : tables) {
+                if (dirty.contains(table)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Inside the write transaction (synchronous listener)
+    @EventListener
+    public void entityChanging(EntityChangedEvent event) {
+        Set<String> dirty = dirtyTables(true);
+        if (dirty != null) {
+            dirty.add(tableOf(event));
+        }
+    }
+
+    // After commit (or immediately when published outside a transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void entityChanged(EntityChangedEvent event) {
+        bump(tableOf(event));
+    }
+
+    // Range scan on the feed_position index; only rows sequenced since the previous poll are read
+    @Scheduled(fixedDelayString = "${app.query-cache.change-log-poll-ms:1000}")
+    public void pollChangeLog() {
+        try {
+            if (lastSeenPosition < 0) {
+                // Caches start empty, so everything before the current position is already accounted for
+                lastSeenPosition = jdbcTemplate.queryForObject(
+                        "SELECT coalesce(max(feed_position), 0) FROM change_log", Long.class);
+                return;
+            }
+            long[] newest = {lastSeenPosition};
+            jdbcTemplate.query("SELECT entity_type, max(feed_position) FROM change_log WHERE feed_position > ?"
+                    + " GROUP BY entity_type", row -> {
+                bump("STUDENT".equals(row.getString(1)) ? STUDENTS : COURSES);
+                newest[0] = Math.max(newest[0], row.getLong(2));
+            }, lastSeenPosition);
+            lastSeenPosition = newest[0];
+        } catch (DataAccessException e) {
+            log.debug("Could not poll change_log for table versions: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Long> describe() {
+        Map<String, Long> description = new LinkedHashMap<>();
+        versions.forEach((table, version) -> description.put(table, version.get()));
+        return description;
+    }
+
+    private AtomicLong counter(String table) {
+        return versions.computeIfAbsent(table, key -> new AtomicLong());
+    }
+
+    private static String tableOf(EntityChangedEvent event) {
+        return event.isStudent() ? STUDENTS : COURSES;
+    }
+
+    // Transaction-bound set of written tables, released when the transaction completes
+    @SuppressWarnings("unchecked")
+    private Set<String> dirtyTables(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Set<String> dirty = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (dirty == null && create) {
+            Set<String> tables = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, tables);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TableVersions.this);
+                }
+            });
+            dirty = tables;
+        }
+        return dirty;
+    }
+}
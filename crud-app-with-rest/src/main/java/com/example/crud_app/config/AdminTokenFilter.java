@@ -0,0 +1,70 @@
+package com.example.crud_app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// Guards the operational /admin/** endpoints (warm-up status, traces, profiling, query log, caches, read models).
+// Requests must send app.admin.token as X-Admin-Token; without a configured token every /admin request is refused.
+// This is a servlet filter, so the /admin controllers are servlet-only (@Profile("!reactive")): under WebFlux
+// nothing would guard them.
+@Slf4j
+@Component
+public class AdminTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Admin-Token";
+
+    // Decoded path with ;parameters removed and duplicate slashes merged - what handler mapping matches on,
+    // so /admin;x/queries or /%61dmin/queries cannot slip past the prefix check
+    private static final UrlPathHelper PATHS = new UrlPathHelper();
+
+    private final byte[] token;
+
+    public AdminTokenFilter(@Value("${app.admin.token:}") String token) {
+        this.token = token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        if (this.token == null) {
+            log.warn("app.admin.token is not set: /admin endpoints are disabled");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = PATHS.getPathWithinApplication(request);
+        return !(path.equals("/admin") || path.startsWith("/admin/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAllowed(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(token == null
+                ? "{\"error\":\"Admin endpoints are disabled (app.admin.token is not set)\"}"
+                : "{\"error\":\"Admin access requires a valid " + HEADER + " header\"}");
+    }
+
+    private boolean isAllowed(HttpServletRequest request) {
+        if (token == null) {
+            return false;
+        }
+        String supplied = request.getHeader(HEADER);
+        // Constant-time comparison, so response timing does not leak the token
+        return supplied != null && MessageDigest.isEqual(token, supplied.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.dto.DistributionDTO;
+import com.example.crud_app.repository.AnalyticsMetric;
+import com.example.crud_app.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    // GET /api/analytics - Counts plus age and credit distributions with the default buckets
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getOverview() {
+        Map<String, Object> overview = new LinkedHashMap<>();
+        overview.put("students", analyticsService.getStudentCounts());
+        overview.put("courses", analyticsService.getCourseCounts());
+        overview.put("age", analyticsService.getDistribution(AnalyticsMetric.AGE, null, null));
+        overview.put("credits", analyticsService.getDistribution(AnalyticsMetric.CREDITS, null, null));
+        return ResponseEntity.ok(overview);
+    }
+
+    // GET /api/analytics/{metric} - Distribution of age or credits
+    // ?percentiles=0.5,0.95  ?buckets=18,21,25,30 (ascending lower bounds; values below the first form their own bucket)
+    @GetMapping("/{metric}")
+    public ResponseEntity<?> getDistribution(
+            @PathVariable String metric,
+            @RequestParam(required = false) List<Double> percentiles,
+            @RequestParam(required = false) List<Integer> buckets) {
+        try {
+            DistributionDTO distribution = analyticsService.getDistribution(
+                    AnalyticsMetric.fromName(metric), percentiles, buckets);
+            return ResponseEntity.ok(distribution);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.dto.BatchOperationDTO;
+import com.example.crud_app.service.BatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchService batchService;
+
+    // POST /api/batch - Run several /api/students and /api/courses calls in one round trip
+    // Body: [{"id":"courses","method":"GET","path":"/api/courses"}, ...]; results come back in the same order
+    @PostMapping
+    public CompletableFuture<ResponseEntity<?>> executeBatch(@RequestBody List<BatchOperationDTO> operations,
+                                                             HttpServletRequest request,
+                                                             HttpServletResponse response) {
+        try {
+            batchService.validate(operations);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
+        }
+        return batchService.execute(operations, request, response).<ResponseEntity<?>>thenApply(ResponseEntity::ok);
+    }
+}
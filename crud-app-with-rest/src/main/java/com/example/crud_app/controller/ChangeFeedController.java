@@ -0,0 +1,27 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.dto.ChangeBatchDTO;
+import com.example.crud_app.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    // GET /api/changes?cursor=0&limit=100&waitMs=20000 - Inserts, updates and deletes after a cursor.
+    // With waitMs the request is held open (long poll) until a change is committed or the wait expires.
+    @GetMapping
+    public CompletableFuture<ChangeBatchDTO> getChanges(
+            @RequestParam(required = false, defaultValue = "0") Long cursor,
+            @RequestParam(required = false, defaultValue = "100") Integer limit,
+            @RequestParam(required = false, defaultValue = "0") Long waitMs) {
+        return changeFeedService.awaitChanges(cursor, limit, waitMs);
+    }
+}
@@ -3,59 +3,73 @@ package com.example.crud_app.controller;
 import com.example.crud_app.dto.CourseDTO;
 import com.example.crud_app.model.Course;
 import com.example.crud_app.model.Student;
+import com.example.crud_app.repository.ProjectionView;
 import com.example.crud_app.service.CourseService;
+import com.example.crud_app.service.SingleFlightService;
+import com.example.crud_app.snapshot.DataSnapshot;
+import com.example.crud_app.snapshot.SnapshotService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/courses")
 @CrossOrigin(origins = "*")
+@Profile("!reactive") // replaced by the WebFlux controllers in the reactive profile
 @RequiredArgsConstructor
 public class CourseController {
 
     private final CourseService courseService;
+    private final SingleFlightService singleFlightService;
+    private final SnapshotService snapshotService;
 
-    // GET /api/courses - Get all courses with optional filtering
+    // GET /api/courses - Get courses; all given filters are combined (?sort=credits,desc / ?fields=title,credits)
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses(
+    public ResponseEntity<?> getAllCourses(
             @RequestParam(required = false) Long studentId,
             @RequestParam(required = false) Integer minCredits,
             @RequestParam(required = false) Integer maxCredits,
             @RequestParam(required = false) String title,
             @RequestParam(required = false, defaultValue = "false") Boolean unassigned,
-            @RequestParam(required = false, defaultValue = "false") Boolean dto) {
-
-        List<Course> courses;
-
-        // Apply filters based on query parameters
-        if (studentId != null) {
-            courses = courseService.getCoursesByStudentId(studentId);
-        } else if (unassigned) {
-            courses = courseService.getUnassignedCourses();
-        } else if (title != null) {
-            courses = courseService.searchCoursesByTitle(title);
-        } else if (minCredits != null && maxCredits != null) {
-            courses = courseService.getCoursesByCreditsRange(minCredits, maxCredits);
-        } else if (minCredits != null) {
-            courses = courseService.getCoursesByMinCredits(minCredits);
-        } else {
-            courses = courseService.getAllCourses();
+            @RequestParam(required = false, defaultValue = "false") Boolean dto,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> fields) {
+
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("studentId", studentId);
+        filters.put("unassigned", unassigned);
+        filters.put("title", title);
+        filters.put("minCredits", minCredits);
+        filters.put("maxCredits", maxCredits);
+
+        // A lone minCredits filter has always been returned highest credits first
+        String order = sort == null && minCredits != null && maxCredits == null ? "credits,desc" : sort;
+
+        if (fields != null) {
+            return dynamicQuery(() -> courseService.getCourseFields(ProjectionView.COURSE, fields, filters, order));
         }
-
-        return ResponseEntity.ok(courses);
+        return dynamicQuery(() -> courseService.findCourses(filters, order));
     }
 
     // GET /api/courses/dto - Get courses as DTO
     @GetMapping("/dto")
-    public ResponseEntity<List<CourseDTO>> getAllCoursesAsDTO() {
+    public ResponseEntity<?> getAllCoursesAsDTO(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return dynamicQuery(() -> courseService.getCourseFields(ProjectionView.COURSE_DTO, fields, Map.of(), sort));
+        }
         List<CourseDTO> courseDTOs = courseService.getAllCoursesAsDTO();
         return ResponseEntity.ok(courseDTOs);
     }
@@ -82,14 +96,6 @@ public class CourseController {
             @Valid @RequestBody Course course,
             @RequestParam(required = false) Long studentId) {
 
-        // Check if title already exists
-        if (courseService.existsByTitle(course.getTitle())) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Course with this title already exists");
-            error.put("field", "title");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        }
-
         try {
             Course savedCourse;
             if (studentId != null) {
@@ -98,6 +104,9 @@ public class CourseController {
                 savedCourse = courseService.saveCourse(course);
             }
             return ResponseEntity.status(HttpStatus.CREATED).body(savedCourse);
+        } catch (DataIntegrityViolationException e) {
+            // Title uniqueness is enforced by the uk_courses_title index
+            return titleConflict();
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -113,19 +122,11 @@ public class CourseController {
             return ResponseEntity.notFound().build();
         }
 
-        // Check title uniqueness if title is being changed
-        Course existingCourse = existingCourseOpt.get();
-        if (!existingCourse.getTitle().equals(courseDetails.getTitle()) &&
-            courseService.existsByTitle(courseDetails.getTitle())) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Course with this title already exists");
-            error.put("field", "title");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        }
-
         try {
             Course updatedCourse = courseService.updateCourse(id, courseDetails);
             return ResponseEntity.ok(updatedCourse);
+        } catch (DataIntegrityViolationException e) {
+            return titleConflict();
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to update course: " + e.getMessage());
@@ -154,14 +155,22 @@ public class CourseController {
         }
     }
 
-    // GET /api/courses/stats - Get course statistics
+    // GET /api/courses/stats - Get course statistics from the in-memory snapshot (concurrent callers share one computation)
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getCourseStatistics() {
+        Map<String, Object> stats = singleFlightService.execute(
+                SingleFlightService.key("/api/courses/stats", null), this::computeCourseStatistics);
+        return ResponseEntity.ok(stats);
+    }
+
+    private Map<String, Object> computeCourseStatistics() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalCourses", courseService.getAllCourses().size());
-        stats.put("unassignedCoursesCount", courseService.countUnassignedCourses());
+        DataSnapshot snapshot = snapshotService.current();
+        stats.put("totalCourses", snapshot.courseCount());
+        stats.put("unassignedCoursesCount", snapshot.unassignedCourses());
         stats.put("topCoursesByCredits", courseService.getTopCoursesByCredits());
-        return ResponseEntity.ok(stats);
+        stats.put("snapshotAgeMillis", snapshot.ageMillis());
+        return stats;
     }
 
     // GET /api/courses/{courseId}/student - Get student taking a specific course
@@ -222,4 +231,22 @@ public class CourseController {
         List<Student> students = courseService.getStudentsTakingCourses();
         return ResponseEntity.ok(students);
     }
+
+    private ResponseEntity<Map<String, String>> titleConflict() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Course with this title already exists");
+        error.put("field", "title");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    // Run a filter/sort/fields query, answering 400 for unknown filters, fields or sort keys
+    private ResponseEntity<?> dynamicQuery(Supplier<List<?>> query) {
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
 }
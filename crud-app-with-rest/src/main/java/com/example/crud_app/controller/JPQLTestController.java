@@ -1,6 +1,7 @@
 package com.example.crud_app.controller;
 
 import com.example.crud_app.service.CourseService;
+import com.example.crud_app.service.SingleFlightService;
 import com.example.crud_app.service.StudentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,10 +18,17 @@ public class JPQLTestController {
 
     private final StudentService studentService;
     private final CourseService courseService;
+    private final SingleFlightService singleFlightService;
 
-    // Single endpoint to demonstrate JPQL capabilities
+    // Single endpoint to demonstrate JPQL capabilities (concurrent callers share one computation)
     @GetMapping("/jpql")
     public ResponseEntity<Map<String, Object>> demonstrateJPQLCapabilities() {
+        Map<String, Object> results = singleFlightService.execute(
+                SingleFlightService.key("/api/demo/jpql", null), this::collectJPQLResults);
+        return ResponseEntity.ok(results);
+    }
+
+    private Map<String, Object> collectJPQLResults() {
         Map<String, Object> results = new HashMap<>();
 
         // Demonstrate derived query methods
@@ -38,6 +46,6 @@ public class JPQLTestController {
         statistics.put("totalUnassignedCourses", courseService.countUnassignedCourses());
         results.put("statistics", statistics);
 
-        return ResponseEntity.ok(results);
+        return results;
     }
 }
@@ -0,0 +1,31 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/leaderboards")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    // GET /admin/leaderboards - Size, headroom in use and refill count of each leaderboard
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getLeaderboards() {
+        return ResponseEntity.ok(leaderboardService.describe());
+    }
+
+    // POST /admin/leaderboards/reload - Reload both leaderboards from the database on next use
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reloadLeaderboards() {
+        leaderboardService.invalidate();
+        return ResponseEntity.ok(leaderboardService.describe());
+    }
+}
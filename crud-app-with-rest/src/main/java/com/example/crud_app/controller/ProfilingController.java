@@ -0,0 +1,64 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.profiling.ProfilingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/admin/profiling")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class ProfilingController {
+
+    private final ProfilingService profilingService;
+
+    // POST /admin/profiling?seconds=30&top=10 - Record with JFR, then return the summary (blocks for the duration)
+    @PostMapping
+    public ResponseEntity<?> profile(@RequestParam(defaultValue = "30") long seconds,
+                                     @RequestParam(defaultValue = "10") int top) {
+        Map<String, String> error = new HashMap<>();
+        try {
+            return ResponseEntity.ok(profilingService.profile(Duration.ofSeconds(seconds), Math.max(1, top)));
+        } catch (IllegalArgumentException e) {
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (IllegalStateException e) {
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        } catch (IOException e) {
+            error.put("error", "Profiling failed: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error.put("error", "Profiling was interrupted");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        }
+    }
+
+    // GET /admin/profiling/{recordingId}/recording - Download the raw .jfr (open with JDK Mission Control / jfr print)
+    @GetMapping("/{recordingId}/recording")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable long recordingId) {
+        Optional<Path> file = profilingService.getRecording(recordingId);
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.get().getFileName() + "\"")
+                .body(new FileSystemResource(file.get()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.aspect.QueryResultCacheAspect;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/query-cache")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class QueryCacheController {
+
+    private final QueryResultCacheAspect queryResultCache;
+
+    // GET /admin/query-cache - Entries, hit/miss counters and current table versions
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getQueryCacheStats() {
+        return ResponseEntity.ok(queryResultCache.describe());
+    }
+
+    // DELETE /admin/query-cache - Drop all entries (only needed after writes that bypassed the services)
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> clearQueryCache() {
+        queryResultCache.clear();
+        return ResponseEntity.ok(queryResultCache.describe());
+    }
+}
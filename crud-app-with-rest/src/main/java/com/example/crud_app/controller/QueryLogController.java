@@ -0,0 +1,27 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.jdbc.QueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/queries")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class QueryLogController {
+
+    private final QueryLog queryLog;
+
+    // GET /admin/queries?limit=100&slowOnly=true - Recorded statements, newest first, with the log's counters
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getQueries(@RequestParam(defaultValue = "100") int limit,
+                                                          @RequestParam(defaultValue = "false") boolean slowOnly) {
+        Map<String, Object> response = queryLog.describe();
+        response.put("queries", queryLog.recent(Math.max(1, limit), slowOnly));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.service.StudentStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/read-model")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class ReadModelController {
+
+    private final StudentStatsService studentStatsService;
+
+    // POST /admin/read-model/rebuild - Recompute student_stats from students and courses
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        return ResponseEntity.ok(studentStatsService.rebuild());
+    }
+}
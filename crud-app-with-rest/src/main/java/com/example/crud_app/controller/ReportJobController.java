@@ -0,0 +1,64 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.service.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/reports/jobs")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    // POST /api/reports/jobs - Start (or join) report generation; poll the returned job
+    @PostMapping
+    public ResponseEntity<?> submitReportJob() {
+        try {
+            ReportJobService.Job job = reportJobService.submit();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/api/reports/jobs/" + job.getId()))
+                    .body(job.describe());
+        } catch (RejectedExecutionException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Too many report jobs queued, try again later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        }
+    }
+
+    // GET /api/reports/jobs/{jobId} - Job status
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> getReportJob(@PathVariable String jobId) {
+        return reportJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(job.describe()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/reports/jobs/{jobId}/result - The finished report (202 while the job is still queued or running)
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<?> getReportJobResult(@PathVariable String jobId) {
+        Optional<ReportJobService.Job> jobOpt = reportJobService.getJob(jobId);
+        if (jobOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ReportJobService.Job job = jobOpt.get();
+        switch (job.getStatus()) {
+            case COMPLETED:
+                return ResponseEntity.ok(job.getReport());
+            case FAILED:
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(job.describe());
+            default:
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.describe());
+        }
+    }
+}
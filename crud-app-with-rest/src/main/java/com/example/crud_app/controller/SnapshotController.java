@@ -0,0 +1,30 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.snapshot.SnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/snapshot")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class SnapshotController {
+
+    private final SnapshotService snapshotService;
+
+    // GET /api/snapshot - Size, watermark and age of the in-memory analytics snapshot
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getSnapshotInfo() {
+        return ResponseEntity.ok(snapshotService.describe());
+    }
+
+    // POST /api/snapshot/refresh - Rebuild the snapshot now
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refreshSnapshot() {
+        snapshotService.refresh();
+        return ResponseEntity.ok(snapshotService.describe());
+    }
+}
@@ -4,60 +4,92 @@ import com.example.crud_app.dto.StudentSummaryDTO;
 import com.example.crud_app.dto.StudentWithCoursesDTO;
 import com.example.crud_app.model.Student;
 import com.example.crud_app.model.Course;
+import com.example.crud_app.repository.ProjectionView;
+import com.example.crud_app.service.SingleFlightService;
 import com.example.crud_app.service.StudentService;
+import com.example.crud_app.snapshot.DataSnapshot;
+import com.example.crud_app.snapshot.SnapshotService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/students")
 @CrossOrigin(origins = "*")
+@Profile("!reactive") // replaced by the WebFlux controllers in the reactive profile
 @RequiredArgsConstructor
 public class StudentController {
 
     private final StudentService studentService;
+    private final SingleFlightService singleFlightService;
+    private final SnapshotService snapshotService;
 
-    // GET /api/students - Get all students with optional filtering
+    private static final int MAX_IDS = 1000;
+
+    // GET /api/students - Get students; all given filters are combined (?sort=age,desc / ?fields=name,email)
+    // ?ids=1,2,3 is a multi-get: those students in the given order, unknown ids skipped
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents(
+    public ResponseEntity<?> getAllStudents(
+            @RequestParam(required = false) List<Long> ids,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Integer minAge,
             @RequestParam(required = false) Integer maxAge,
             @RequestParam(required = false) String email,
             @RequestParam(required = false, defaultValue = "false") Boolean withoutCourses,
-            @RequestParam(required = false) Integer minCourses) {
-
-        List<Student> students;
-
-        // Apply filters based on query parameters
-        if (email != null) {
-            Optional<Student> studentOpt = studentService.findByEmail(email);
-            students = studentOpt.map(List::of).orElse(List.of());
-        } else if (search != null) {
-            students = studentService.searchStudents(search);
-        } else if (minAge != null && maxAge != null) {
-            students = studentService.getStudentsByAgeRange(minAge, maxAge);
-        } else if (minAge != null) {
-            students = studentService.getStudentsOlderThan(minAge);
-        } else {
-            students = studentService.getAllStudents();
+            @RequestParam(required = false) Integer minCourses,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> fields) {
+
+        if (ids != null) {
+            if (ids.size() > MAX_IDS) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "At most " + MAX_IDS + " ids may be requested at once");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+            }
+            return ResponseEntity.ok(studentService.getStudentsByIds(ids));
         }
 
-        return ResponseEntity.ok(students);
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("email", email);
+        filters.put("search", search);
+        // A lone minAge has always meant "older than"; next to maxAge it is the inclusive lower bound of the range
+        filters.put(maxAge == null ? "olderThan" : "minAge", minAge);
+        filters.put("maxAge", maxAge);
+        filters.put("withoutCourses", withoutCourses);
+        filters.put("minCourses", minCourses);
+
+        if (fields != null) {
+            return dynamicQuery(() -> studentService.getStudentFields(ProjectionView.STUDENT, fields, filters, sort));
+        }
+        return dynamicQuery(() -> studentService.findStudents(filters, sort));
     }
 
     // GET /api/students/dto - Get students as DTO with course information
     @GetMapping("/dto")
-    public ResponseEntity<List<StudentWithCoursesDTO>> getStudentsWithCourseStats(
+    public ResponseEntity<?> getStudentsWithCourseStats(
             @RequestParam(required = false, defaultValue = "false") Boolean withoutCourses,
-            @RequestParam(required = false) Integer minCourses) {
+            @RequestParam(required = false) Integer minCourses,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> fields) {
+
+        if (fields != null) {
+            Map<String, Object> filters = new LinkedHashMap<>();
+            filters.put("withoutCourses", withoutCourses);
+            filters.put("minCourses", minCourses);
+            return dynamicQuery(() -> studentService.getStudentFields(
+                    ProjectionView.STUDENT_WITH_COURSES, fields, filters, sort));
+        }
 
         List<StudentWithCoursesDTO> students;
 
@@ -74,7 +106,10 @@ public class StudentController {
 
     // GET /api/students/summary - Get student summaries
     @GetMapping("/summary")
-    public ResponseEntity<List<StudentSummaryDTO>> getAllStudentSummaries() {
+    public ResponseEntity<?> getAllStudentSummaries(@RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return dynamicQuery(() -> studentService.getStudentFields(ProjectionView.STUDENT_SUMMARY, fields, Map.of(), null));
+        }
         List<StudentSummaryDTO> summaries = studentService.getAllStudentSummaries();
         return ResponseEntity.ok(summaries);
     }
@@ -90,17 +125,12 @@ public class StudentController {
     // POST /api/students - Create new student
     @PostMapping
     public ResponseEntity<?> createStudent(@Valid @RequestBody Student student) {
-        // Check if email already exists
-        if (studentService.existsByEmail(student.getEmail())) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Email already exists");
-            error.put("field", "email");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        }
-
         try {
             Student savedStudent = studentService.saveStudent(student);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedStudent);
+        } catch (DataIntegrityViolationException e) {
+            // Email uniqueness is enforced by the uk_students_email index
+            return emailConflict();
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to create student: " + e.getMessage());
@@ -116,19 +146,11 @@ public class StudentController {
             return ResponseEntity.notFound().build();
         }
 
-        // Check email uniqueness if email is being changed
-        Student existingStudent = existingStudentOpt.get();
-        if (!existingStudent.getEmail().equals(studentDetails.getEmail()) &&
-            studentService.existsByEmail(studentDetails.getEmail())) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Email already exists");
-            error.put("field", "email");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        }
-
         try {
             Student updatedStudent = studentService.updateStudent(id, studentDetails);
             return ResponseEntity.ok(updatedStudent);
+        } catch (DataIntegrityViolationException e) {
+            return emailConflict();
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to update student: " + e.getMessage());
@@ -157,25 +179,26 @@ public class StudentController {
         }
     }
 
-    // GET /api/students/stats - Get student statistics
+    // GET /api/students/stats - Get student statistics from the in-memory snapshot (concurrent callers share one computation)
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getStudentStatistics() {
+        Map<String, Object> stats = singleFlightService.execute(
+                SingleFlightService.key("/api/students/stats", null), this::computeStudentStatistics);
+        return ResponseEntity.ok(stats);
+    }
+
+    private Map<String, Object> computeStudentStatistics() {
         Map<String, Object> stats = new HashMap<>();
-        List<Student> allStudents = studentService.getAllStudents();
+        DataSnapshot snapshot = snapshotService.current();
 
-        stats.put("totalStudents", allStudents.size());
-        stats.put("studentsWithCoursesCount", studentService.countStudentsWithCourses());
-        stats.put("studentsWithoutCoursesCount", studentService.getStudentsWithoutCourses().size());
+        stats.put("totalStudents", snapshot.studentCount());
+        stats.put("studentsWithCoursesCount", snapshot.studentsWithCourses());
+        stats.put("studentsWithoutCoursesCount", snapshot.studentCount() - snapshot.studentsWithCourses());
         stats.put("topStudentsByAge", studentService.getTopStudentsByAge());
+        stats.put("averageAge", Math.round(snapshot.averageAge() * 10.0) / 10.0);
+        stats.put("snapshotAgeMillis", snapshot.ageMillis());
 
-        // Calculate average age
-        double avgAge = allStudents.stream()
-                .mapToInt(Student::getAge)
-                .average()
-                .orElse(0.0);
-        stats.put("averageAge", Math.round(avgAge * 10.0) / 10.0);
-
-        return ResponseEntity.ok(stats);
+        return stats;
     }
 
     // POST /api/students/{studentId}/courses/{courseId} - Assign course to student
@@ -240,4 +263,22 @@ public class StudentController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
         }
     }
+
+    private ResponseEntity<Map<String, String>> emailConflict() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Email already exists");
+        error.put("field", "email");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    // Run a filter/sort/fields query, answering 400 for unknown filters, fields or sort keys
+    private ResponseEntity<?> dynamicQuery(Supplier<List<?>> query) {
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
 }
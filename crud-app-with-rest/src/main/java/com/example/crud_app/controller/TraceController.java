@@ -0,0 +1,52 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.tracing.TraceRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/traces")
+@Profile("!reactive") // request tracing hooks into the servlet filter chain
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final TraceRecorder traceRecorder;
+
+    // GET /admin/traces - Most recent sampled requests (summaries)
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> getRecentTraces(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(traceRecorder.recent(Math.max(1, limit)));
+    }
+
+    // GET /admin/traces/{traceId} - Span tree of one request
+    @GetMapping("/{traceId}")
+    public ResponseEntity<?> getTrace(@PathVariable long traceId) {
+        return traceRecorder.get(traceId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // POST /admin/traces/export - Write all buffered traces to a JSON-lines file
+    @PostMapping("/export")
+    public ResponseEntity<Map<String, String>> exportTraces() {
+        Map<String, String> response = new HashMap<>();
+        try {
+            Path file = traceRecorder.export();
+            response.put("message", "Traces exported");
+            response.put("file", file.toString());
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            response.put("error", "Failed to export traces: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.warmup.WarmupRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/warmup")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class WarmupController {
+
+    private final WarmupRunner warmupRunner;
+
+    // GET /admin/warmup - Warm-up state and per-round latency (readiness itself: /actuator/health/readiness)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getWarmupStatus() {
+        return ResponseEntity.ok(warmupRunner.getStatus());
+    }
+}
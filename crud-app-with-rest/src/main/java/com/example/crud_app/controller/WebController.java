@@ -1,7 +1,14 @@
 package com.example.crud_app.controller;
 
+import com.example.crud_app.dto.ReportDTO;
+import com.example.crud_app.repository.AnalyticsMetric;
+import com.example.crud_app.service.AnalyticsService;
 import com.example.crud_app.service.StudentService;
 import com.example.crud_app.service.CourseService;
+import com.example.crud_app.service.ReportJobService;
+import com.example.crud_app.service.SingleFlightService;
+import com.example.crud_app.snapshot.DataSnapshot;
+import com.example.crud_app.snapshot.SnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -10,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Controller
 @RequiredArgsConstructor
@@ -17,6 +25,10 @@ public class WebController {
 
     private final StudentService studentService;
     private final CourseService courseService;
+    private final SingleFlightService singleFlightService;
+    private final AnalyticsService analyticsService;
+    private final SnapshotService snapshotService;
+    private final ReportJobService reportJobService;
 
     @GetMapping("/")
     public String index(Model model) {
@@ -36,12 +48,8 @@ public class WebController {
             double enrollmentRate = totalStudents > 0 ? (double) studentsWithCourses / totalStudents * 100 : 0;
             model.addAttribute("enrollmentRate", Math.round(enrollmentRate));
 
-            // Average age calculation
-            double avgAge = studentService.getAllStudents().stream()
-                    .mapToInt(s -> s.getAge())
-                    .average()
-                    .orElse(0.0);
-            model.addAttribute("averageAge", Math.round(avgAge * 10.0) / 10.0);
+            // Average age calculation (in the database)
+            model.addAttribute("averageAge", analyticsService.getAverage(AnalyticsMetric.AGE));
 
             // Recent activity data
             model.addAttribute("recentStudents", studentService.getTopStudentsByAge());
@@ -56,37 +64,39 @@ public class WebController {
         return "index";
     }
 
-    // API endpoint for dashboard real-time updates
+    // API endpoint for dashboard real-time updates (concurrent callers share one computation)
     @GetMapping("/api/dashboard/stats")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         try {
-            Map<String, Object> stats = new HashMap<>();
+            Map<String, Object> stats = singleFlightService.execute(
+                    SingleFlightService.key("/api/dashboard/stats", null), this::computeDashboardStats);
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-            int totalStudents = studentService.getAllStudents().size();
-            int totalCourses = courseService.getAllCourses().size();
-            long studentsWithCourses = studentService.countStudentsWithCourses();
-            int unassignedCourses = courseService.getUnassignedCourses().size();
+    private Map<String, Object> computeDashboardStats() {
+        Map<String, Object> stats = new HashMap<>();
 
-            stats.put("totalStudents", totalStudents);
-            stats.put("totalCourses", totalCourses);
-            stats.put("studentsWithCourses", studentsWithCourses);
-            stats.put("studentsWithoutCourses", totalStudents - studentsWithCourses);
-            stats.put("unassignedCourses", unassignedCourses);
+        int totalStudents = studentService.getAllStudents().size();
+        int totalCourses = courseService.getAllCourses().size();
+        long studentsWithCourses = studentService.countStudentsWithCourses();
+        int unassignedCourses = courseService.getUnassignedCourses().size();
 
-            double enrollmentRate = totalStudents > 0 ? (double) studentsWithCourses / totalStudents * 100 : 0;
-            stats.put("enrollmentRate", Math.round(enrollmentRate));
+        stats.put("totalStudents", totalStudents);
+        stats.put("totalCourses", totalCourses);
+        stats.put("studentsWithCourses", studentsWithCourses);
+        stats.put("studentsWithoutCourses", totalStudents - studentsWithCourses);
+        stats.put("unassignedCourses", unassignedCourses);
 
-            double avgAge = studentService.getAllStudents().stream()
-                    .mapToInt(s -> s.getAge())
-                    .average()
-                    .orElse(0.0);
-            stats.put("averageAge", Math.round(avgAge * 10.0) / 10.0);
+        double enrollmentRate = totalStudents > 0 ? (double) studentsWithCourses / totalStudents * 100 : 0;
+        stats.put("enrollmentRate", Math.round(enrollmentRate));
 
-            return ResponseEntity.ok(stats);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        stats.put("averageAge", analyticsService.getAverage(AnalyticsMetric.AGE));
+
+        return stats;
     }
 
     @GetMapping("/students")
@@ -95,20 +105,11 @@ public class WebController {
 
         // Pre-load some statistics for the page
         try {
-            int totalStudents = studentService.getAllStudents().size();
-            long studentsWithCourses = studentService.countStudentsWithCourses();
-
-            model.addAttribute("totalStudents", totalStudents);
-            model.addAttribute("studentsWithCourses", studentsWithCourses);
-            model.addAttribute("studentsWithoutCourses", totalStudents - studentsWithCourses);
+            // totalStudents, studentsWithCourses, studentsWithoutCourses
+            model.addAllAttributes(analyticsService.getStudentCounts());
 
-            // Age distribution data
-            Map<String, Integer> ageDistribution = new HashMap<>();
-            studentService.getAllStudents().forEach(student -> {
-                String ageGroup = getAgeGroup(student.getAge());
-                ageDistribution.merge(ageGroup, 1, Integer::sum);
-            });
-            model.addAttribute("ageDistribution", ageDistribution);
+            // Age distribution data (bucketed in the database)
+            model.addAttribute("ageDistribution", analyticsService.getHistogram(AnalyticsMetric.AGE, null));
 
             // User permissions (can be enhanced with Spring Security)
             Map<String, Boolean> userPermissions = new HashMap<>();
@@ -131,28 +132,14 @@ public class WebController {
 
         // Pre-load course statistics
         try {
-            int totalCourses = courseService.getAllCourses().size();
-            int assignedCourses = courseService.getAssignedCourses().size();
-            int unassignedCourses = courseService.getUnassignedCourses().size();
-
-            model.addAttribute("totalCourses", totalCourses);
-            model.addAttribute("assignedCourses", assignedCourses);
-            model.addAttribute("unassignedCourses", unassignedCourses);
-
-            // Credit distribution
-            Map<String, Integer> creditDistribution = new HashMap<>();
-            courseService.getAllCourses().forEach(course -> {
-                String creditGroup = getCreditGroup(course.getCredits());
-                creditDistribution.merge(creditGroup, 1, Integer::sum);
-            });
-            model.addAttribute("creditDistribution", creditDistribution);
+            // totalCourses, assignedCourses, unassignedCourses
+            model.addAllAttributes(analyticsService.getCourseCounts());
+
+            // Credit distribution (bucketed in the database)
+            model.addAttribute("creditDistribution", analyticsService.getHistogram(AnalyticsMetric.CREDITS, null));
 
             // Average credits
-            double avgCredits = courseService.getAllCourses().stream()
-                    .mapToInt(c -> c.getCredits())
-                    .average()
-                    .orElse(0.0);
-            model.addAttribute("averageCredits", Math.round(avgCredits * 10.0) / 10.0);
+            model.addAttribute("averageCredits", analyticsService.getAverage(AnalyticsMetric.CREDITS));
 
             // User permissions
             Map<String, Boolean> userPermissions = new HashMap<>();
@@ -291,18 +278,28 @@ public class WebController {
         model.addAttribute("pageTitle", "Reports & Analytics");
 
         try {
-            // Comprehensive reporting data
-            model.addAttribute("studentSummaries", studentService.getAllStudentSummaries());
-            model.addAttribute("studentsWithStats", studentService.getStudentsWithCourseStats());
-            model.addAttribute("courseDTOs", courseService.getAllCoursesAsDTO());
+            // Report data is generated by a background job and reused until the data changes;
+            // while it is being generated the page gets the job to poll (/api/reports/jobs/{id}) instead of waiting
+            ReportJobService.Job job = reportJobService.submit();
+            model.addAttribute("reportJob", job.describe());
+            ReportDTO report = job.getReport();
+            if (report != null) {
+                model.addAttribute("studentSummaries", report.getStudentSummaries());
+                model.addAttribute("studentsWithStats", report.getStudentsWithStats());
+                model.addAttribute("courseDTOs", report.getCourseDTOs());
+            }
 
             // System health metrics
+            DataSnapshot snapshot = snapshotService.current();
             Map<String, Object> systemMetrics = new HashMap<>();
-            systemMetrics.put("totalRecords", studentService.getAllStudents().size() + courseService.getAllCourses().size());
+            systemMetrics.put("totalRecords", snapshot.studentCount() + snapshot.courseCount());
             systemMetrics.put("dataIntegrity", "100%");
-            systemMetrics.put("lastUpdated", java.time.LocalDateTime.now());
+            systemMetrics.put("lastUpdated", report != null ? report.getGeneratedAt() : null);
+            systemMetrics.put("snapshotAgeMillis", snapshot.ageMillis());
             model.addAttribute("systemMetrics", systemMetrics);
 
+        } catch (RejectedExecutionException e) {
+            model.addAttribute("error", "Report generation is busy, please try again shortly");
         } catch (Exception e) {
             model.addAttribute("error", "Failed to generate reports: " + e.getMessage());
         }
@@ -335,19 +332,6 @@ public class WebController {
     }
 
     // Utility methods
-    private String getAgeGroup(int age) {
-        if (age <= 20) return "16-20";
-        else if (age <= 25) return "21-25";
-        else if (age <= 30) return "26-30";
-        else return "31+";
-    }
-
-    private String getCreditGroup(int credits) {
-        if (credits <= 2) return "1-2 credits";
-        else if (credits <= 4) return "3-4 credits";
-        else return "5+ credits";
-    }
-
     private Object generateMockResults(String query) {
         // Generate mock data based on query type for demo purposes
         if (query.toLowerCase().contains("select")) {
@@ -0,0 +1,18 @@
+package com.example.crud_app.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationDTO {
+    private String id;      // Caller's label, echoed back on the matching result
+    private String method;  // GET, POST, PUT or DELETE (defaults to GET)
+    private String path;    // /api/students... or /api/courses..., including any query string
+    private JsonNode body;  // Request body for POST/PUT
+}
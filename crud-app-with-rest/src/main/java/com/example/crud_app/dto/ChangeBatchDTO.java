@@ -0,0 +1,19 @@
+package com.example.crud_app.dto;
+
+import com.example.crud_app.model.ChangeLogEntry;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeBatchDTO {
+    private List<ChangeLogEntry> changes;
+    private Long nextCursor;  // Pass back as ?cursor= to continue
+    private boolean hasMore;  // More changes are already available after nextCursor
+}
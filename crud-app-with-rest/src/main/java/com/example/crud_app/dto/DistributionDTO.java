@@ -0,0 +1,23 @@
+package com.example.crud_app.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistributionDTO {
+    private String metric;
+    private long count;
+    private Double average;
+    private Integer minimum;
+    private Integer maximum;
+    private Map<String, Double> percentiles;  // "p50" -> value
+    private List<HistogramBucketDTO> histogram;
+}
@@ -0,0 +1,17 @@
+package com.example.crud_app.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramBucketDTO {
+    private String label;       // e.g. "21-25" or "31+"
+    private Integer lowerBound; // Inclusive; null for the open-ended first bucket
+    private Integer upperBound; // Exclusive; null for the open-ended last bucket
+    private long count;
+}
@@ -0,0 +1,23 @@
+package com.example.crud_app.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+// The /reports data set, produced by a background report job
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDTO {
+    private Long dataVersion;  // Data version the report was generated from
+    private Instant generatedAt;
+    private Long generationMillis;
+    private List<StudentSummaryDTO> studentSummaries;
+    private List<StudentWithCoursesDTO> studentsWithStats;
+    private List<CourseDTO> courseDTOs;
+}
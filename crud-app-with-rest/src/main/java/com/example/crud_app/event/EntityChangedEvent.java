@@ -0,0 +1,82 @@
+package com.example.crud_app.event;
+
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Published by StudentService/CourseService inside the write transaction, for every row they insert, update or delete.
+// before/after are detached copies (null for inserts/deletes respectively), so listeners can diff safely.
+@Getter
+@RequiredArgsConstructor
+public class EntityChangedEvent {
+
+    public enum EntityType { STUDENT, COURSE }
+
+    public enum Operation { INSERT, UPDATE, DELETE }
+
+    private final EntityType entityType;
+    private final Operation operation;
+    private final Long entityId;
+    private final Object before;
+    private final Object after;
+
+    public static EntityChangedEvent studentChanged(Operation operation, Student before, Student after) {
+        Long id = after != null ? after.getStudentId() : before.getStudentId();
+        return new EntityChangedEvent(EntityType.STUDENT, operation, id, copyOf(before), copyOf(after));
+    }
+
+    public static EntityChangedEvent courseChanged(Operation operation, Course before, Course after) {
+        Long id = after != null ? after.getCourseId() : before.getCourseId();
+        return new EntityChangedEvent(EntityType.COURSE, operation, id, copyOf(before), copyOf(after));
+    }
+
+    public boolean isStudent() {
+        return entityType == EntityType.STUDENT;
+    }
+
+    public boolean isCourse() {
+        return entityType == EntityType.COURSE;
+    }
+
+    public Student getStudentBefore() {
+        return (Student) before;
+    }
+
+    public Student getStudentAfter() {
+        return (Student) after;
+    }
+
+    public Course getCourseBefore() {
+        return (Course) before;
+    }
+
+    public Course getCourseAfter() {
+        return (Course) after;
+    }
+
+    // Detached snapshot, so later changes to the managed entity do not leak into the event
+    public static Student copyOf(Student student) {
+        if (student == null) {
+            return null;
+        }
+        return Student.builder()
+                .studentId(student.getStudentId())
+                .name(student.getName())
+                .email(student.getEmail())
+                .age(student.getAge())
+                .build();
+    }
+
+    public static Course copyOf(Course course) {
+        if (course == null) {
+            return null;
+        }
+        return Course.builder()
+                .courseId(course.getCourseId())
+                .title(course.getTitle())
+                .credits(course.getCredits())
+                .studentId(course.getStudentId())
+                .build();
+    }
+}
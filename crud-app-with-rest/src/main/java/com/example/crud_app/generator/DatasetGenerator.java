@@ -0,0 +1,215 @@
+package com.example.crud_app.generator;
+
+import com.example.crud_app.cache.TableVersions;
+import com.example.crud_app.index.CourseOwnershipIndex;
+import com.example.crud_app.service.LeaderboardService;
+import com.example.crud_app.service.StudentStatsService;
+import com.example.crud_app.snapshot.SnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Synthetic students/courses for scale testing, deterministic from app.generate.seed.
+// Run with: mvn spring-boot:run -Dspring-boot.run.profiles=generate -Dspring-boot.run.arguments=--app.generate.students=1000000
+// Rows are appended after the current maximum ids with batched JDBC inserts (add reWriteBatchedInserts=true to the
+// JDBC URL to have the driver send them as multi-row INSERTs); identity sequences are moved past them afterwards.
+// Generated rows do not go through the services, so no change events or change_log rows are written; the derived
+// state (student_stats, ownership index, snapshot, caches) is rebuilt once at the end instead, before exiting.
+// Single-database (PostgreSQL) setups only.
+@Slf4j
+@Component
+@Profile("generate")
+@Order(Ordered.HIGHEST_PRECEDENCE) // before the warm-up runner
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "Olivia", "Liam", "Emma", "Noah", "Ava", "Oliver", "Sophia", "Elijah", "Isabella", "James",
+            "Mia", "William", "Amelia", "Benjamin", "Harper", "Lucas", "Evelyn", "Henry", "Abigail", "Alexander",
+            "Aisha", "Mateo", "Priya", "Wei", "Fatima", "Hiroshi", "Chloe", "Diego", "Zara", "Ivan"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Khan", "Nguyen", "Kim", "Patel", "Novak"};
+    private static final String[] SUBJECTS = {
+            "Calculus", "Linear Algebra", "Statistics", "Physics", "Chemistry", "Biology", "Computer Science",
+            "Data Structures", "Algorithms", "Databases", "Operating Systems", "Economics", "Psychology",
+            "Philosophy", "History", "Literature", "Art History", "Music Theory", "Sociology", "Geology"};
+    // Credits 1..6, weighted towards the common 3 and 4 credit courses
+    private static final int[] CREDIT_WEIGHTS = {5, 10, 45, 25, 10, 5};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StudentStatsService studentStatsService;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final SnapshotService snapshotService;
+    private final TableVersions tableVersions;
+    private final LeaderboardService leaderboardService;
+    private final ConfigurableApplicationContext context;
+
+    private final long seed;
+    private final int students;
+    private final double unassignedRatio;
+    private final int[] coursesPerStudentWeights;
+    private final int batchSize;
+    private final boolean exit;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate,
+                            StudentStatsService studentStatsService,
+                            CourseOwnershipIndex courseOwnershipIndex,
+                            SnapshotService snapshotService,
+                            TableVersions tableVersions,
+                            LeaderboardService leaderboardService,
+                            ConfigurableApplicationContext context,
+                            @Value("${app.generate.seed:42}") long seed,
+                            @Value("${app.generate.students:100000}") int students,
+                            @Value("${app.generate.unassigned-ratio:0.2}") double unassignedRatio,
+                            @Value("${app.generate.courses-per-student:15,25,25,20,10,5}") int[] coursesPerStudentWeights,
+                            @Value("${app.generate.batch-size:5000}") int batchSize,
+                            @Value("${app.generate.exit:true}") boolean exit) {
+        if (unassignedRatio < 0 || unassignedRatio >= 1) {
+            throw new IllegalArgumentException("app.generate.unassigned-ratio must be in [0, 1)");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.studentStatsService = studentStatsService;
+        this.courseOwnershipIndex = courseOwnershipIndex;
+        this.snapshotService = snapshotService;
+        this.tableVersions = tableVersions;
+        this.leaderboardService = leaderboardService;
+        this.context = context;
+        this.seed = seed;
+        this.students = students;
+        this.unassignedRatio = unassignedRatio;
+        this.coursesPerStudentWeights = coursesPerStudentWeights;
+        this.batchSize = batchSize;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long nextStudentId = maxId("students", "student_id") + 1;
+        long nextCourseId = maxId("courses", "course_id") + 1;
+        long started = System.nanoTime();
+
+        log.info("Generating {} students (seed {}) from id {}", students, seed, nextStudentId);
+        List<Object[]> studentRows = new ArrayList<>(batchSize);
+        List<Object[]> courseRows = new ArrayList<>(batchSize);
+        long assignedCourses = 0;
+
+        for (int i = 0; i < students; i++) {
+            long studentId = nextStudentId++;
+            studentRows.add(student(random, studentId));
+
+            // Courses per student: index into app.generate.courses-per-student (weights for 0, 1, 2, ... courses)
+            int courseCount = weighted(random, coursesPerStudentWeights);
+            for (int c = 0; c < courseCount; c++) {
+                courseRows.add(course(random, nextCourseId++, studentId));
+                assignedCourses++;
+            }
+
+            if (studentRows.size() >= batchSize) {
+                insertStudents(studentRows);
+            }
+            if (courseRows.size() >= batchSize) {
+                insertCourses(courseRows);
+            }
+        }
+        insertStudents(studentRows);
+
+        long unassignedCourses = Math.round(assignedCourses * unassignedRatio / (1 - unassignedRatio));
+        for (long c = 0; c < unassignedCourses; c++) {
+            courseRows.add(course(random, nextCourseId++, null));
+            if (courseRows.size() >= batchSize) {
+                insertCourses(courseRows);
+            }
+        }
+        insertCourses(courseRows);
+
+        restartIdentity("students", "student_id");
+        restartIdentity("courses", "course_id");
+
+        long rows = students + assignedCourses + unassignedCourses;
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("Generated {} students, {} assigned and {} unassigned courses in {}s ({} rows/s)",
+                students, assignedCourses, unassignedCourses, String.format("%.1f", seconds), Math.round(rows / seconds));
+
+        // Derived state that normally follows each service write
+        studentStatsService.rebuild();
+        courseOwnershipIndex.reload();
+        snapshotService.refresh();
+        tableVersions.bump(TableVersions.STUDENTS, TableVersions.COURSES);
+        leaderboardService.invalidate();
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private Object[] student(SplittableRandom random, long studentId) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        // Mostly 18-24, with a tail of mature students; within the Student @Min(16)/@Max(100) bounds
+        int age = Math.min(65, 18 + (int) Math.abs(random.nextGaussian() * 4));
+        String email = first.toLowerCase() + "." + last.toLowerCase() + "." + studentId + "@example.edu";
+        return new Object[]{studentId, first + " " + last, email, age};
+    }
+
+    private Object[] course(SplittableRandom random, long courseId, Long studentId) {
+        String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        int level = 100 * (1 + random.nextInt(4)) + random.nextInt(50);
+        // The course id keeps titles unique (uk_courses_title)
+        String title = subject + " " + level + " (section " + courseId + ")";
+        return new Object[]{courseId, title, 1 + weighted(random, CREDIT_WEIGHTS), studentId};
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private void insertStudents(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO students (student_id, name, email, age) VALUES (?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+
+    private void insertCourses(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO courses (course_id, title, credits, student_id) VALUES (?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+
+    private long maxId(String table, String column) {
+        Long max = jdbcTemplate.queryForObject("SELECT max(" + column + ") FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // Explicit ids bypass the identity sequence; move it past them so later inserts do not collide
+    private void restartIdentity(String table, String column) {
+        jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('" + table + "', '" + column + "'), "
+                + "(SELECT max(" + column + ") FROM " + table + "))", Long.class);
+    }
+}
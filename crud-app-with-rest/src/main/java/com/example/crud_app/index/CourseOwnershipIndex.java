@@ -0,0 +1,233 @@
+package com.example.crud_app.index;
+
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.repository.CourseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory course <-> student assignment index, kept in primitive open-addressing maps:
+//   courseId  -> studentId      (assigned courses only)
+//   studentId -> [courseId...]  (students with at least one course only)
+// Loaded once at startup and maintained from committed course change events, so relationship
+// questions ("who owns course Y", "how many courses does X have", "which students take courses")
+// need neither SQL nor boxed Longs. Writes made elsewhere (other instances, the reactive stack, bulk loads) are
+// reconciled from change_log: course rows sequenced since the last poll are replayed in feed order.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseOwnershipIndex {
+
+    private static final int MAX_CHANGES_PER_POLL = 10_000;
+
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongHashMap ownerByCourse = new LongLongHashMap(1024);
+    private final LongArrayMultimap coursesByStudent = new LongArrayMultimap(1024);
+    private long lastSeenPosition;  // change_log feed position replayed up to; guarded by the write lock
+
+    @PostConstruct
+    public void reload() {
+        // Read first: a change committed while the assignments are read is replayed by the next poll
+        long position = jdbcTemplate.queryForObject("SELECT coalesce(max(feed_position), 0) FROM change_log", Long.class);
+        List<Object[]> assignments = courseRepository.findCourseAssignments();
+        lock.writeLock().lock();
+        try {
+            ownerByCourse.clear();
+            coursesByStudent.clear();
+            for (Object[] row : assignments) {
+                assign(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+            lastSeenPosition = position;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replays course changes from change_log, including this instance's own (already applied from their events).
+    // Applying a row's logged state again is harmless; a replayed older state can only briefly precede a newer
+    // change that is not sequenced yet, and that one is replayed by the next poll.
+    @Scheduled(fixedDelayString = "${app.ownership-index.change-log-poll-ms:1000}")
+    public void pollChangeLog() {
+        try {
+            int read;
+            do {
+                read = replayChanges();
+            } while (read == MAX_CHANGES_PER_POLL);
+        } catch (DataAccessException e) {
+            log.debug("Could not poll change_log for course ownership: {}", e.getMessage());
+        }
+    }
+
+    private int replayChanges() {
+        long after;
+        lock.readLock().lock();
+        try {
+            after = lastSeenPosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // {feed position, course id (or null for student rows), payload (null = deleted)}
+        List<Object[]> changes = new ArrayList<>();
+        jdbcTemplate.query("SELECT feed_position, entity_type, entity_id, payload FROM change_log"
+                + " WHERE feed_position > ? ORDER BY feed_position LIMIT ?", row -> {
+            boolean course = "COURSE".equals(row.getString("entity_type"));
+            changes.add(new Object[]{row.getLong("feed_position"),
+                    course ? row.getLong("entity_id") : null,
+                    course ? row.getString("payload") : null});
+        }, after, MAX_CHANGES_PER_POLL);
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // A reload meanwhile has already covered these rows
+            if (lastSeenPosition != after) {
+                return 0;
+            }
+            for (Object[] change : changes) {
+                if (change[1] != null) {
+                    long courseId = (Long) change[1];
+                    unassign(courseId);
+                    Course course = parse((String) change[2]);
+                    if (course != null && course.getStudentId() != null) {
+                        assign(courseId, course.getStudentId());
+                    }
+                }
+                lastSeenPosition = (Long) change[0];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changes.size();
+    }
+
+    private Course parse(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload, Course.class);
+        } catch (IOException e) {
+            log.warn("Skipping unreadable course change payload: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Apply a course change once it is committed; rolled-back changes never reach the index.
+    // Student deletes need no handling here - their courses are deleted with their own events.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void courseChanged(EntityChangedEvent event) {
+        if (!event.isCourse()) {
+            return;
+        }
+        Course before = event.getCourseBefore();
+        Course after = event.getCourseAfter();
+
+        lock.writeLock().lock();
+        try {
+            if (before != null && before.getStudentId() != null) {
+                unassign(before.getCourseId());
+            }
+            if (after != null && after.getStudentId() != null) {
+                unassign(after.getCourseId());
+                assign(after.getCourseId(), after.getStudentId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Owning student of a course, or LongLongHashMap.NO_VALUE when unassigned/unknown
+    public long ownerOf(long courseId) {
+        lock.readLock().lock();
+        try {
+            return ownerByCourse.get(courseId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean owns(long studentId, long courseId) {
+        return ownerOf(courseId) == studentId;
+    }
+
+    public long[] coursesOf(long studentId) {
+        lock.readLock().lock();
+        try {
+            return coursesByStudent.get(studentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int courseCount(long studentId) {
+        lock.readLock().lock();
+        try {
+            return coursesByStudent.count(studentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of all students holding at least one course
+    public long[] studentsWithCourses() {
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[coursesByStudent.keyCount()];
+            int[] next = {0};
+            coursesByStudent.forEachKey(id -> ids[next[0]++] = id);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int studentsWithCoursesCount() {
+        lock.readLock().lock();
+        try {
+            return coursesByStudent.keyCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int assignedCourseCount() {
+        lock.readLock().lock();
+        try {
+            return ownerByCourse.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void assign(long courseId, long studentId) {
+        ownerByCourse.put(courseId, studentId);
+        coursesByStudent.add(studentId, courseId);
+    }
+
+    private void unassign(long courseId) {
+        long previousOwner = ownerByCourse.remove(courseId);
+        if (previousOwner != LongLongHashMap.NO_VALUE) {
+            coursesByStudent.remove(previousOwner, courseId);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.crud_app.index;
+
+// Hashing helpers shared by the primitive open-addressing maps
+final class HashSupport {
+
+    private HashSupport() {
+    }
+
+    // Fibonacci hashing spreads sequential identity values across the table
+    static int slot(long key, int mask) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    // With linear probing, an entry whose home slot is 'home' and that sits at 'slot' may fill 'gap'
+    // only if the gap lies on its probe path, i.e. cyclically within [home, slot)
+    static boolean canMoveTo(int home, int gap, int slot) {
+        return gap <= slot
+                ? home <= gap || home > slot
+                : home <= gap && home > slot;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.crud_app.index;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Open-addressing long -> {long, long, ...} multimap; each key owns a growable primitive array of values.
+// A key disappears once its last value is removed. Keys must be non-zero. Not thread-safe.
+public class LongArrayMultimap {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] keys;
+    private long[][] values;
+    private int[] counts;
+    private int size;
+    private int mask;
+
+    public LongArrayMultimap(int expectedKeys) {
+        allocate(LongLongHashMap.capacityFor(expectedKeys));
+    }
+
+    public void add(long key, long value) {
+        LongLongHashMap.checkKey(key);
+        int slot = HashSupport.slot(key, mask);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            values[slot] = new long[4];
+            counts[slot] = 0;
+            size++;
+        }
+        long[] list = values[slot];
+        int count = counts[slot];
+        if (count == list.length) {
+            list = values[slot] = Arrays.copyOf(list, count * 2);
+        }
+        list[count] = value;
+        counts[slot] = count + 1;
+
+        if (size > keys.length * 3 / 4) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    // Removes one occurrence of value under key; returns whether it was present
+    public boolean remove(long key, long value) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        long[] list = values[slot];
+        int count = counts[slot];
+        for (int i = 0; i < count; i++) {
+            if (list[i] == value) {
+                list[i] = list[count - 1]; // order is not significant
+                counts[slot] = --count;
+                if (count == 0) {
+                    removeSlot(slot);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(long key, long value) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        long[] list = values[slot];
+        for (int i = 0, count = counts[slot]; i < count; i++) {
+            if (list[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Copy of the values for key (empty if none)
+    public long[] get(long key) {
+        int slot = find(key);
+        return slot < 0 ? EMPTY : Arrays.copyOf(values[slot], counts[slot]);
+    }
+
+    public int count(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    // Number of keys with at least one value
+    public int keyCount() {
+        return size;
+    }
+
+    public void forEachKey(LongConsumer action) {
+        for (long key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int find(long key) {
+        if (key == 0) {
+            return -1;
+        }
+        int slot = HashSupport.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeSlot(int gap) {
+        size--;
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != 0) {
+            int home = HashSupport.slot(keys[slot], mask);
+            if (HashSupport.canMoveTo(home, gap, slot)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                counts[gap] = counts[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[][] oldValues = values;
+        int[] oldCounts = counts;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = HashSupport.slot(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity][];
+        counts = new int[capacity];
+        mask = capacity - 1;
+    }
+}
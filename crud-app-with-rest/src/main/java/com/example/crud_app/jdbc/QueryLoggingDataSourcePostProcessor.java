@@ -0,0 +1,193 @@
+package com.example.crud_app.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Wraps every DataSource bean in JDK proxies (DataSource -> Connection -> Statement -> ResultSet) that time each
+// execution and hand it to QueryLog. Bind values are never kept, only their shapes (?1=Long, ?2=String, ...).
+// Query timings cover the execute call; the row count is taken when the ResultSet (or its statement) is closed.
+@Component
+public class QueryLoggingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryLog> queryLog;
+
+    public QueryLoggingDataSourcePostProcessor(ObjectProvider<QueryLog> queryLog) {
+        this.queryLog = queryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? wrapConnection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Object wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, new StatementHandler((String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler((String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, new StatementHandler(null));
+            }
+            return result;
+        });
+    }
+
+    private interface Handler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    // One per statement; an open query is logged once its rows are counted (ResultSet or statement closed)
+    private final class StatementHandler implements Handler {
+
+        private final String preparedSql;
+        private final List<Object> parameters = new ArrayList<>();
+        private PendingQuery pending;
+
+        StatementHandler(String preparedSql) {
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object statement, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(statement, method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name, args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("close")) {
+                flush();
+            }
+            return QueryLoggingDataSourcePostProcessor.invoke(statement, method, args);
+        }
+
+        private Object execute(Object statement, Method method, Object[] args) throws Throwable {
+            flush();
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = QueryLoggingDataSourcePostProcessor.invoke(statement, method, args);
+            } catch (Throwable e) {
+                log(sql, System.nanoTime() - start, -1, e.getClass().getSimpleName() + ": " + e.getMessage());
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (result instanceof ResultSet resultSet) {
+                PendingQuery query = new PendingQuery(sql, elapsed);
+                pending = query;
+                return proxy(ResultSet.class, resultSet, (target, rsMethod, rsArgs) -> {
+                    if (rsMethod.getName().equals("close")) {
+                        flush();
+                    }
+                    Object value = QueryLoggingDataSourcePostProcessor.invoke(target, rsMethod, rsArgs);
+                    if (rsMethod.getName().equals("next") && Boolean.TRUE.equals(value)) {
+                        query.rows++;
+                    }
+                    return value;
+                });
+            }
+            log(sql, elapsed, rows(result), null);
+            return result;
+        }
+
+        private void flush() {
+            if (pending != null) {
+                PendingQuery query = pending;
+                pending = null;
+                log(query.sql, query.nanos, query.rows, null);
+            }
+        }
+
+        private void log(String sql, long nanos, long rows, String error) {
+            QueryLog log = queryLog.getIfAvailable();
+            if (log != null && (error != null || log.shouldRecord(nanos))) {
+                log.record(sql, shapes(), nanos, rows, error);
+            }
+        }
+
+        // Keep the type, not the value: setString -> String, setObject(x) -> x's class, setNull -> null
+        private void bind(int index, String setter, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            Object shape = setter.equals("setNull") || (setter.equals("setObject") && value == null) ? "null"
+                    : setter.equals("setObject") ? value.getClass()
+                    : setter.substring(3);
+            parameters.set(index - 1, shape);
+        }
+
+        private List<String> shapes() {
+            List<String> shapes = new ArrayList<>(parameters.size());
+            for (int i = 0; i < parameters.size(); i++) {
+                Object shape = parameters.get(i);
+                shapes.add("?" + (i + 1) + "=" + (shape instanceof Class<?> type ? type.getSimpleName() : shape));
+            }
+            return shapes;
+        }
+    }
+
+    private static final class PendingQuery {
+        final String sql;
+        final long nanos;
+        long rows;
+
+        PendingQuery(String sql, long nanos) {
+            this.sql = sql;
+            this.nanos = nanos;
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+        }
+        if (result instanceof long[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).sum();
+        }
+        // execute(): true means a result set we did not wrap, false an update count we did not ask for
+        return -1;
+    }
+
+    private static Object proxy(Class<?> type, Object target, Handler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.invoke(target, method, args));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
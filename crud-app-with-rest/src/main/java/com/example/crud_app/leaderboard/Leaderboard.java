@@ -0,0 +1,132 @@
+package com.example.crud_app.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+// In-memory top-K of one table, maintained row by row instead of sorting the table per request.
+// Invariant: the members are exactly the best `members.size()` rows of the whole table (or all of its rows when
+// `complete`). To absorb deletions and demotions without going back to the database the set holds up to
+// `capacity` (> size) rows; once fewer than `size` remain and rows outside the set exist, it is refilled with
+// the best `capacity` rows from the database. Not thread-safe on its own (LeaderboardService synchronizes).
+public class Leaderboard<T> {
+
+    private final String name;
+    private final int size;
+    private final int capacity;
+    private final Comparator<T> order;          // best first, ties broken by id so the order is total
+    private final Function<T, Long> idOf;
+    private final UnaryOperator<T> copier;      // members and results are detached copies
+    private final IntFunction<List<T>> loader;  // best n rows from the database, in `order`
+
+    private final TreeSet<T> members;
+    private final Map<Long, T> membersById = new HashMap<>();
+    private boolean complete;  // no rows exist outside the set
+    private boolean loaded;
+    private long refills;
+
+    public Leaderboard(String name, int size, int capacity, Comparator<T> order, Function<T, Long> idOf,
+                       UnaryOperator<T> copier, IntFunction<List<T>> loader) {
+        if (size < 1 || capacity < size) {
+            throw new IllegalArgumentException("Leaderboard " + name + ": size must be >= 1 and capacity >= size");
+        }
+        this.name = name;
+        this.size = size;
+        this.capacity = capacity;
+        this.order = order.thenComparing(idOf, Comparator.naturalOrder());
+        this.idOf = idOf;
+        this.copier = copier;
+        this.loader = loader;
+        this.members = new TreeSet<>(this.order);
+    }
+
+    // Best `size` rows, best first - O(K) unless the set has been drained below K
+    public List<T> top() {
+        if (!loaded || (members.size() < size && !complete)) {
+            refill();
+        }
+        List<T> top = new ArrayList<>(size);
+        Iterator<T> iterator = members.iterator();
+        while (iterator.hasNext() && top.size() < size) {
+            top.add(copier.apply(iterator.next()));
+        }
+        return top;
+    }
+
+    // Inserted or updated row (its new state)
+    public void upsert(T row) {
+        if (!loaded) {
+            return;  // nothing to maintain yet; the first top() loads from the database
+        }
+        remove(idOf.apply(row));
+        // Rows outside the set rank below its last member, so a row may only join ahead of that member
+        // (or anywhere, when there are no rows outside the set)
+        if (complete || (!members.isEmpty() && order.compare(row, members.last()) < 0)) {
+            add(copier.apply(row));
+            if (members.size() > capacity) {
+                T evicted = members.pollLast();
+                membersById.remove(idOf.apply(evicted));
+                complete = false;
+            }
+        }
+        // Otherwise the row (possibly a demoted member) is just one of the rows outside the set
+    }
+
+    public void delete(Long id) {
+        if (loaded) {
+            remove(id);
+        }
+    }
+
+    // Forget everything; the next top() reloads (after bulk writes that bypassed the services)
+    public void invalidate() {
+        loaded = false;
+        members.clear();
+        membersById.clear();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("name", name);
+        description.put("size", size);
+        description.put("capacity", capacity);
+        description.put("members", members.size());
+        description.put("complete", complete);
+        description.put("refills", refills);
+        return description;
+    }
+
+    private void refill() {
+        List<T> best = loader.apply(capacity);
+        members.clear();
+        membersById.clear();
+        best.forEach(row -> add(copier.apply(row)));
+        complete = best.size() < capacity;
+        loaded = true;
+        refills++;
+    }
+
+    private void add(T row) {
+        members.add(row);
+        membersById.put(idOf.apply(row), row);
+    }
+
+    private void remove(Long id) {
+        T existing = membersById.remove(id);
+        if (existing != null) {
+            members.remove(existing);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.crud_app.loader;
+
+import java.io.IOException;
+
+// Fixed output buffer for COPY ... FROM STDIN text rows; handed to the sink whenever it fills up
+public class CopyBuffer {
+
+    @FunctionalInterface
+    public interface Sink {
+        void write(byte[] bytes, int offset, int length) throws IOException;
+    }
+
+    private final byte[] buffer;
+    private final Sink sink;
+    private int length;
+
+    public CopyBuffer(int capacity, Sink sink) {
+        this.buffer = new byte[capacity];
+        this.sink = sink;
+    }
+
+    public void write(byte b) throws IOException {
+        if (length == buffer.length) {
+            flush();
+        }
+        buffer[length++] = b;
+    }
+
+    public void write(byte first, byte second) throws IOException {
+        write(first);
+        write(second);
+    }
+
+    public void writeLong(long value) throws IOException {
+        if (value < 0) {
+            write((byte) '-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            write((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    public void writeNull() throws IOException {
+        write((byte) '\\', (byte) 'N');
+    }
+
+    public void flush() throws IOException {
+        if (length > 0) {
+            sink.write(buffer, 0, length);
+            length = 0;
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package com.example.crud_app.loader;
+
+import com.example.crud_app.cache.TableVersions;
+import com.example.crud_app.index.CourseOwnershipIndex;
+import com.example.crud_app.service.LeaderboardService;
+import com.example.crud_app.service.StudentStatsService;
+import com.example.crud_app.snapshot.SnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Bulk import of student and course CSV extracts, bypassing JPA.
+// Run with: mvn spring-boot:run -Dspring-boot.run.profiles=csv-import
+//           -Dspring-boot.run.arguments="--app.csv-import.students-file=students.csv --app.csv-import.courses-file=courses.csv"
+// students.csv: student_id,name,email,age    courses.csv: course_id,title,credits,student_id (empty = unassigned)
+// Rows are validated against the Student/Course constraints (invalid rows are skipped and reported) and streamed into
+// a temporary staging table, with COPY FROM STDIN on PostgreSQL and batched INSERTs elsewhere (H2). Staged rows whose
+// id or email/title already exists, or repeats an earlier line of the file, are reported and dropped; the rest are
+// inserted together with their change_log rows (so the change feed and the snapshot see them). Both files load in
+// one transaction, after which the identity sequences, the student_stats read model, the ownership index, the
+// snapshot, the query result cache and the leaderboards catch up.
+@Slf4j
+@Component
+@Profile("csv-import")
+@Order(Ordered.HIGHEST_PRECEDENCE) // before the warm-up runner
+public class CsvBulkLoader implements ApplicationRunner {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentStatsService studentStatsService;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final SnapshotService snapshotService;
+    private final TableVersions tableVersions;
+    private final LeaderboardService leaderboardService;
+    private final ConfigurableApplicationContext context;
+
+    private final String studentsFile;
+    private final String coursesFile;
+    private final boolean header;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final boolean exit;
+
+    public CsvBulkLoader(JdbcTemplate jdbcTemplate,
+                         DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         StudentStatsService studentStatsService,
+                         CourseOwnershipIndex courseOwnershipIndex,
+                         SnapshotService snapshotService,
+                         TableVersions tableVersions,
+                         LeaderboardService leaderboardService,
+                         ConfigurableApplicationContext context,
+                         @Value("${app.csv-import.students-file:}") String studentsFile,
+                         @Value("${app.csv-import.courses-file:}") String coursesFile,
+                         @Value("${app.csv-import.header:true}") boolean header,
+                         @Value("${app.csv-import.batch-size:5000}") int batchSize,
+                         @Value("${app.csv-import.max-reported-errors:20}") int maxReportedErrors,
+                         @Value("${app.csv-import.exit:true}") boolean exit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.studentStatsService = studentStatsService;
+        this.courseOwnershipIndex = courseOwnershipIndex;
+        this.snapshotService = snapshotService;
+        this.tableVersions = tableVersions;
+        this.leaderboardService = leaderboardService;
+        this.context = context;
+        this.studentsFile = studentsFile;
+        this.coursesFile = coursesFile;
+        this.header = header;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.exit = exit;
+    }
+
+    private enum Table {
+        STUDENTS("students", "student_id", "email", "STUDENT",
+                "student_id BIGINT, name VARCHAR(255), email VARCHAR(255), age INT",
+                "studentId", "student_id", "name", "name", "email", "email", "age", "age"),
+        COURSES("courses", "course_id", "title", "COURSE",
+                "course_id BIGINT, title VARCHAR(255), credits INT, student_id BIGINT",
+                "courseId", "course_id", "title", "title", "credits", "credits", "studentId", "student_id");
+
+        final String name;
+        final String idColumn;
+        final String uniqueColumn;
+        final String entityType;
+        final String columns;
+        final String columnDefinitions;
+        final String staging;
+        final String[] payloadFields;  // JSON property, column, JSON property, column, ... as the entity serializes
+
+        Table(String name, String idColumn, String uniqueColumn, String entityType, String columnDefinitions,
+              String... payloadFields) {
+            this.name = name;
+            this.idColumn = idColumn;
+            this.uniqueColumn = uniqueColumn;
+            this.entityType = entityType;
+            this.columnDefinitions = columnDefinitions;
+            this.payloadFields = payloadFields;
+            this.staging = "csv_import_" + name;
+            StringBuilder columns = new StringBuilder();
+            for (int i = 1; i < payloadFields.length; i += 2) {
+                columns.append(columns.isEmpty() ? "" : ", ").append(payloadFields[i]);
+            }
+            this.columns = columns.toString();
+        }
+
+        // change_log payload: the row as JSON with the entity's property names, like ChangeFeedService writes it
+        String payload(boolean postgres) {
+            StringBuilder json = new StringBuilder(postgres ? "json_build_object(" : "JSON_OBJECT(");
+            for (int i = 0; i < payloadFields.length; i += 2) {
+                json.append(i == 0 ? "" : ", ").append('\'').append(payloadFields[i]).append('\'')
+                        .append(postgres ? ", " : ": ").append(payloadFields[i + 1]);
+            }
+            return postgres ? json + ")::text" : "CAST(" + json + ") AS VARCHAR)";
+        }
+    }
+
+    // Per-file outcome
+    private static final class Result {
+        final Table table;
+        long loaded;
+        long rejected;
+        long conflicts;
+        long nanos;
+        String method;
+        final List<String> errors = new ArrayList<>();
+
+        Result(Table table) {
+            this.table = table;
+        }
+
+        long rowsPerSecond() {
+            return nanos == 0 ? 0 : Math.round(loaded * 1_000_000_000.0 / nanos);
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Result> results = new ArrayList<>();
+        long started = System.nanoTime();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!studentsFile.isBlank()) {
+                results.add(load(Table.STUDENTS, Path.of(studentsFile)));
+            }
+            if (!coursesFile.isBlank()) {
+                results.add(load(Table.COURSES, Path.of(coursesFile)));
+            }
+        });
+
+        long loaded = 0;
+        for (Result result : results) {
+            loaded += result.loaded;
+            log.info("{}: {} rows loaded via {}, {} rejected, {} conflicting, {} ms ({} rows/s)", result.table.name,
+                    result.loaded, result.method, result.rejected, result.conflicts, result.nanos / 1_000_000,
+                    result.rowsPerSecond());
+            result.errors.forEach(error -> log.warn("{}: {}", result.table.name, error));
+            long skipped = result.rejected + result.conflicts;
+            if (skipped > result.errors.size()) {
+                log.warn("{}: {} more skipped rows not shown", result.table.name, skipped - result.errors.size());
+            }
+            restartIdentity(result.table);
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("CSV import finished: {} rows in {}s ({} rows/s)", loaded, String.format("%.1f", seconds),
+                Math.round(loaded / seconds));
+
+        // Derived state that normally follows each service write
+        studentStatsService.rebuild();
+        courseOwnershipIndex.reload();
+        snapshotService.refresh();
+        tableVersions.bump(TableVersions.STUDENTS, TableVersions.COURSES);
+        leaderboardService.invalidate();
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private Result load(Table table, Path file) {
+        Result result = new Result(table);
+        long started = System.nanoTime();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            MappedCsvReader reader = new MappedCsvReader(file, header);
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            jdbcTemplate.execute("CREATE LOCAL TEMPORARY TABLE " + table.staging
+                    + " (line BIGINT NOT NULL, " + table.columnDefinitions + ") ON COMMIT DROP");
+            if (postgres) {
+                result.method = "COPY";
+                copy(table, reader, connection.unwrap(PGConnection.class), result);
+            } else {
+                result.method = "JDBC batch";
+                batchInsert(table, reader, result);
+            }
+            merge(table, postgres, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + file, e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load " + file + ": " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        result.nanos = System.nanoTime() - started;
+        return result;
+    }
+
+    // COPY text format straight from the mapped file into the staging table: tab separated, \N for null
+    private void copy(Table table, MappedCsvReader reader, PGConnection connection, Result result)
+            throws IOException, SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(
+                "COPY " + table.staging + " (line, " + table.columns + ") FROM STDIN");
+        CopyBuffer out = new CopyBuffer(1 << 16, (bytes, offset, length) -> {
+            try {
+                copyIn.writeToCopy(bytes, offset, length);
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        });
+        try {
+            reader.read(row -> {
+                if (accept(table, row, result)) {
+                    out.writeLong(row.lineNumber());
+                    out.write((byte) '\t');
+                    if (table == Table.STUDENTS) {
+                        out.writeLong(row.parseLong(0));
+                        out.write((byte) '\t');
+                        row.appendCopyText(1, out);
+                        out.write((byte) '\t');
+                        row.appendCopyText(2, out);
+                        out.write((byte) '\t');
+                        out.writeLong(row.parseLong(3));
+                    } else {
+                        out.writeLong(row.parseLong(0));
+                        out.write((byte) '\t');
+                        row.appendCopyText(1, out);
+                        out.write((byte) '\t');
+                        out.writeLong(row.parseLong(2));
+                        out.write((byte) '\t');
+                        if (row.length(3) == 0) {
+                            out.writeNull();
+                        } else {
+                            out.writeLong(row.parseLong(3));
+                        }
+                    }
+                    out.write((byte) '\n');
+                }
+            });
+            out.flush();
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void batchInsert(Table table, MappedCsvReader reader, Result result) throws IOException {
+        String sql = "INSERT INTO " + table.staging + " (line, " + table.columns + ") VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        reader.read(row -> {
+            if (accept(table, row, result)) {
+                batch.add(table == Table.STUDENTS
+                        ? new Object[]{row.lineNumber(), row.parseLong(0), row.string(1), row.string(2),
+                                       (int) row.parseLong(3)}
+                        : new Object[]{row.lineNumber(), row.parseLong(0), row.string(1), (int) row.parseLong(2),
+                                       row.length(3) == 0 ? null : row.parseLong(3)});
+                if (batch.size() >= batchSize) {
+                    jdbcTemplate.batchUpdate(sql, batch);
+                    batch.clear();
+                }
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    // Staged rows -> table. Rows that would violate the id or email/title uniqueness are reported and dropped
+    // first (against the table, then against earlier lines of the file), so one duplicate does not abort the
+    // import; the remaining rows are inserted with a change_log row each.
+    private void merge(Table table, boolean postgres, Result result) {
+        String staging = table.staging;
+        jdbcTemplate.execute("CREATE INDEX " + staging + "_id ON " + staging + " (" + table.idColumn + ", line)");
+        jdbcTemplate.execute("CREATE INDEX " + staging + "_unique ON " + staging + " (" + table.uniqueColumn + ", line)");
+        if (postgres) {
+            jdbcTemplate.execute("ANALYZE " + staging);  // temporary tables are never analyzed automatically
+        }
+
+        for (String column : List.of(table.idColumn, table.uniqueColumn)) {
+            dropConflicts(result, column, column + " %s already exists",
+                    "EXISTS (SELECT 1 FROM " + table.name + " t WHERE t." + column + " = s." + column + ")");
+            dropConflicts(result, column, "duplicate " + column + " %s (already on an earlier line)",
+                    "EXISTS (SELECT 1 FROM " + staging + " o WHERE o." + column + " = s." + column
+                            + " AND o.line < s.line)");
+        }
+
+        String changeLogColumns = "INSERT INTO change_log (entity_type, entity_id, operation, changed_at, payload) ";
+        String changeLogRow = "SELECT '" + table.entityType + "', " + table.idColumn + ", 'INSERT', CURRENT_TIMESTAMP, "
+                + table.payload(postgres);
+        String insert = "INSERT INTO " + table.name + " (" + table.columns + ") SELECT " + table.columns
+                + " FROM " + staging + " ORDER BY line";
+        long staged = count(staging);
+        if (postgres) {
+            // Rows committed by concurrent writers since the checks are skipped rather than failing the import
+            result.loaded = jdbcTemplate.update("WITH inserted AS (" + insert + " ON CONFLICT DO NOTHING RETURNING "
+                    + table.columns + ") " + changeLogColumns + changeLogRow + " FROM inserted");
+        } else {
+            result.loaded = jdbcTemplate.update(insert);
+            jdbcTemplate.update(changeLogColumns + changeLogRow + " FROM " + staging);
+        }
+        result.conflicts += staged - result.loaded;
+    }
+
+    // Reports (up to max-reported-errors) and deletes the staged rows matching the condition
+    private void dropConflicts(Result result, String column, String message, String condition) {
+        String staging = result.table.staging;
+        int reportable = maxReportedErrors - result.errors.size();
+        if (reportable > 0) {
+            jdbcTemplate.query("SELECT s.line, s." + column + " FROM " + staging + " s WHERE " + condition
+                    + " ORDER BY s.line LIMIT " + reportable, (RowCallbackHandler) rs ->
+                    result.errors.add("line " + rs.getLong(1) + ": " + String.format(message, rs.getString(2))));
+        }
+        result.conflicts += jdbcTemplate.update("DELETE FROM " + staging + " s WHERE " + condition);
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private boolean accept(Table table, MappedCsvReader.Row row, Result result) {
+        String error = table == Table.STUDENTS ? validateStudent(row) : validateCourse(row);
+        if (error == null) {
+            return true;
+        }
+        result.rejected++;
+        if (result.errors.size() < maxReportedErrors) {
+            result.errors.add("line " + row.lineNumber() + ": " + error);
+        }
+        return false;
+    }
+
+    // Mirrors the Student bean validation constraints
+    private static String validateStudent(MappedCsvReader.Row row) {
+        if (row.fieldCount() != 4) {
+            return "expected 4 fields (student_id,name,email,age), found " + row.fieldCount();
+        }
+        String error = validateId(row, 0, "student_id");
+        if (error != null) {
+            return error;
+        }
+        if (row.isBlank(1)) {
+            return "Name is required";
+        }
+        if (row.charLength(1) > MAX_TEXT_LENGTH) {
+            return "Name is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (row.isBlank(2)) {
+            return "Email is required";
+        }
+        int length = row.length(2);
+        if (row.charLength(2) > MAX_TEXT_LENGTH || row.count(2, (byte) '@') != 1
+                || row.byteAt(2, 0) == '@' || row.byteAt(2, length - 1) == '@' || row.count(2, (byte) ' ') > 0) {
+            return "Email should be valid";
+        }
+        try {
+            long age = row.parseLong(3);
+            if (age < 16 || age > 100) {
+                return "Age must be between 16 and 100";
+            }
+        } catch (IllegalArgumentException e) {
+            return "Age is required";
+        }
+        return null;
+    }
+
+    // Mirrors the Course bean validation constraints
+    private static String validateCourse(MappedCsvReader.Row row) {
+        if (row.fieldCount() != 4) {
+            return "expected 4 fields (course_id,title,credits,student_id), found " + row.fieldCount();
+        }
+        String error = validateId(row, 0, "course_id");
+        if (error != null) {
+            return error;
+        }
+        if (row.isBlank(1)) {
+            return "Title is required";
+        }
+        if (row.charLength(1) > MAX_TEXT_LENGTH) {
+            return "Title is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        try {
+            long credits = row.parseLong(2);
+            if (credits < 1 || credits > 6) {
+                return "Credits must be between 1 and 6";
+            }
+        } catch (IllegalArgumentException e) {
+            return "Credits are required";
+        }
+        return row.length(3) == 0 ? null : validateId(row, 3, "student_id");
+    }
+
+    private static String validateId(MappedCsvReader.Row row, int field, String name) {
+        try {
+            return row.parseLong(field) > 0 ? null : name + " must be positive";
+        } catch (IllegalArgumentException e) {
+            return name + " must be a number";
+        }
+    }
+
+    // Explicit ids bypass the identity sequence; move it past them so later inserts do not collide
+    private void restartIdentity(Table table) {
+        if (isPostgres()) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('" + table.name + "', '" + table.idColumn
+                    + "'), (SELECT max(" + table.idColumn + ") FROM " + table.name + "))", Long.class);
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>) connection -> connection.isWrapperFor(PGConnection.class));
+        return Boolean.TRUE.equals(postgres);
+    }
+}
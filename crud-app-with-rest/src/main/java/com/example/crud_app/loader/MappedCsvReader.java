@@ -0,0 +1,252 @@
+package com.example.crud_app.loader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Streams the rows of a CSV file straight out of a memory-mapped view of it.
+// The file is mapped in windows of up to 256 MB (a mapping is limited to 2 GB); a row that straddles a window
+// boundary is re-read at the start of the next one. Rows are handed out as field offsets into the mapping,
+// so numbers are parsed and text copied to the output without creating a String per field.
+// RFC 4180 style: comma separated, optional double quotes with "" as an escaped quote, LF or CRLF line ends.
+public class MappedCsvReader {
+
+    private static final long WINDOW_BYTES = 256L * 1024 * 1024;
+    private static final int MAX_FIELDS = 64;
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(Row row) throws IOException;
+    }
+
+    private final Path path;
+    private final boolean header;
+    private final long windowBytes;
+
+    public MappedCsvReader(Path path, boolean header) {
+        this(path, header, WINDOW_BYTES);
+    }
+
+    // Smaller windows let tests cover rows straddling a window boundary
+    MappedCsvReader(Path path, boolean header, long windowBytes) {
+        this.path = path;
+        this.header = header;
+        this.windowBytes = windowBytes;
+    }
+
+    // Calls the handler for every non-empty row (the Row is reused); returns the number of lines read
+    public long read(RowHandler handler) throws IOException {
+        Row row = new Row();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(windowBytes, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = readWindow(window, position + length == size, row, handler);
+                if (consumed == 0) {
+                    throw new IOException("Row at byte " + position + " is longer than " + windowBytes + " bytes");
+                }
+                position += consumed;
+            }
+        }
+        return row.line;
+    }
+
+    // Returns how many bytes were consumed: up to the end of the last complete row in the window
+    private int readWindow(MappedByteBuffer buffer, boolean last, Row row, RowHandler handler) throws IOException {
+        int limit = buffer.limit();
+        int lineStart = 0;
+        int index = 0;
+        boolean quoted = false;
+        row.buffer = buffer;
+        row.fields = 0;
+        row.fieldStart = 0;
+
+        while (index < limit) {
+            byte b = buffer.get(index);
+            if (quoted) {
+                if (b == '"') {
+                    if (index + 1 < limit && buffer.get(index + 1) == '"') {
+                        index++;  // escaped quote, stays inside the field
+                    } else {
+                        quoted = false;
+                    }
+                }
+            } else if (b == '"' && index == row.fieldStart) {
+                quoted = true;
+            } else if (b == ',') {
+                row.endField(index);
+            } else if (b == '\n') {
+                row.endField(index);
+                emit(row, handler);
+                lineStart = index + 1;
+                row.fields = 0;
+                row.fieldStart = lineStart;
+            }
+            index++;
+        }
+
+        if (!last) {
+            return lineStart;
+        }
+        // Final row without a trailing newline
+        if (lineStart < limit) {
+            row.endField(limit);
+            emit(row, handler);
+        }
+        return limit;
+    }
+
+    private void emit(Row row, RowHandler handler) throws IOException {
+        row.line++;
+        if (row.line == 1 && header) {
+            return;
+        }
+        if (row.fields == 1 && row.length(0) == 0) {
+            return;  // blank line
+        }
+        handler.row(row);
+    }
+
+    // Field view of the current row; only valid inside RowHandler.row
+    public static final class Row {
+
+        private MappedByteBuffer buffer;
+        private final int[] starts = new int[MAX_FIELDS];
+        private final int[] ends = new int[MAX_FIELDS];
+        private final boolean[] quotedFields = new boolean[MAX_FIELDS];
+        private int fields;
+        private int fieldStart;
+        private long line;
+
+        private void endField(int end) {
+            if (fields == MAX_FIELDS) {
+                fieldStart = end + 1;
+                return;
+            }
+            int start = fieldStart;
+            // CRLF line ends and surrounding quotes are not part of the value
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            boolean quoted = end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"';
+            starts[fields] = quoted ? start + 1 : start;
+            ends[fields] = quoted ? end - 1 : end;
+            quotedFields[fields] = quoted;
+            fields++;
+            fieldStart = end + 1;
+        }
+
+        public long lineNumber() {
+            return line;
+        }
+
+        public int fieldCount() {
+            return fields;
+        }
+
+        // Raw byte length (escaped quotes count twice)
+        public int length(int field) {
+            return ends[field] - starts[field];
+        }
+
+        // Length in characters, as VARCHAR(n) counts them (UTF-8 continuation bytes and the second quote of an
+        // escaped quote are not counted)
+        public int charLength(int field) {
+            int chars = 0;
+            for (int i = starts[field]; i < ends[field]; i++) {
+                byte b = buffer.get(i);
+                if ((b & 0xC0) != 0x80) {
+                    chars++;
+                }
+                if (b == '"' && quotedFields[field] && i + 1 < ends[field]) {
+                    i++;
+                }
+            }
+            return chars;
+        }
+
+        public boolean isBlank(int field) {
+            for (int i = starts[field]; i < ends[field]; i++) {
+                byte b = buffer.get(i);
+                if (b != ' ' && b != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public int count(int field, byte value) {
+            int count = 0;
+            for (int i = starts[field]; i < ends[field]; i++) {
+                if (buffer.get(i) == value) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public byte byteAt(int field, int offset) {
+            return buffer.get(starts[field] + offset);
+        }
+
+        // Decimal integer without allocation; throws IllegalArgumentException for anything else
+        public long parseLong(int field) {
+            int start = starts[field];
+            int end = ends[field];
+            boolean negative = end > start && buffer.get(start) == '-';
+            if (negative) {
+                start++;
+            }
+            if (start == end || end - start > 18) {
+                throw new IllegalArgumentException("not a number");
+            }
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException("not a number");
+                }
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+
+        // The value as a String (quotes unescaped); for the JDBC fallback and error messages
+        public String string(int field) {
+            byte[] bytes = new byte[length(field)];
+            int length = 0;
+            for (int i = starts[field]; i < ends[field]; i++) {
+                byte b = buffer.get(i);
+                bytes[length++] = b;
+                if (b == '"' && quotedFields[field] && i + 1 < ends[field]) {
+                    i++;
+                }
+            }
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        // Append the value in PostgreSQL COPY text format (backslash escapes for \, tab, CR and LF)
+        public void appendCopyText(int field, CopyBuffer out) throws IOException {
+            for (int i = starts[field]; i < ends[field]; i++) {
+                byte b = buffer.get(i);
+                switch (b) {
+                    case '\\' -> out.write((byte) '\\', (byte) '\\');
+                    case '\t' -> out.write((byte) '\\', (byte) 't');
+                    case '\n' -> out.write((byte) '\\', (byte) 'n');
+                    case '\r' -> out.write((byte) '\\', (byte) 'r');
+                    default -> {
+                        out.write(b);
+                        if (b == '"' && quotedFields[field] && i + 1 < ends[field]) {
+                            i++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.crud_app.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Transactional outbox row: written in the same transaction as the student/course change it describes
+@Entity
+@Table(name = "change_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long changeId;  // Assigned at insert time, so not in commit order
+
+    // Change feed cursor: assigned by ChangeLogSequencer after commit (null until then)
+    @Column(insertable = false, updatable = false)
+    private Long feedPosition;
+
+    @Column(nullable = false, length = 16)
+    private String entityType;  // STUDENT or COURSE
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false, length = 16)
+    private String operation;  // INSERT, UPDATE or DELETE
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    // Row state after the change as JSON (null for deletes)
+    @JsonRawValue
+    @Column(columnDefinition = "text")
+    private String payload;
+}
@@ -0,0 +1,25 @@
+package com.example.crud_app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Read model row: course count and credit total of one student, maintained by StudentStatsService
+@Entity
+@Table(name = "student_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentStats {
+    @Id
+    private Long studentId;  // Same id as the student (no generated key)
+
+    @Column(nullable = false)
+    private Integer totalCourses;
+
+    @Column(nullable = false)
+    private Integer totalCredits;
+}
@@ -0,0 +1,157 @@
+package com.example.crud_app.reactive;
+
+import com.example.crud_app.cache.TableVersions;
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.event.EntityChangedEvent.Operation;
+import com.example.crud_app.index.CourseOwnershipIndex;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import com.example.crud_app.service.ChangeFeedService;
+import com.example.crud_app.service.LeaderboardService;
+import com.example.crud_app.snapshot.SnapshotService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reactive writes go straight through the R2DBC repositories, so no EntityChangedEvent is published for them.
+// This gives them the effects the servlet services get from their listeners: the change_log row and the
+// student_stats adjustment are written in the caller's R2DBC transaction (like ChangeFeedService.recordChange and
+// StudentStatsService), and the after-commit listeners are called once that transaction commits.
+@Slf4j
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveChangeRecorder {
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final ChangeFeedService changeFeedService;
+    private final TableVersions tableVersions;
+    private final LeaderboardService leaderboardService;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final SnapshotService snapshotService;
+
+    public Mono<Void> studentChanged(Operation operation, Student before, Student after) {
+        return record(EntityChangedEvent.studentChanged(operation, before, after));
+    }
+
+    public Mono<Void> courseChanged(Operation operation, Course before, Course after) {
+        return record(EntityChangedEvent.courseChanged(operation, before, after));
+    }
+
+    private Mono<Void> record(EntityChangedEvent event) {
+        String payload = toJson(event.getAfter());
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(
+                        "INSERT INTO change_log (entity_type, entity_id, operation, changed_at, payload)"
+                                + " VALUES (:entityType, :entityId, :operation, :changedAt, :payload)")
+                .bind("entityType", event.getEntityType().name())
+                .bind("entityId", event.getEntityId())
+                .bind("operation", event.getOperation().name())
+                .bind("changedAt", OffsetDateTime.now());
+        return (payload != null ? insert.bind("payload", payload) : insert.bindNull("payload", String.class))
+                .then()
+                .then(adjustStudentStats(event))
+                .then(afterCommit(event));
+    }
+
+    // Same bookkeeping as StudentStatsService.entityChanged
+    private Mono<Void> adjustStudentStats(EntityChangedEvent event) {
+        if (event.isStudent()) {
+            if (event.getOperation() == Operation.INSERT) {
+                return databaseClient.sql("INSERT INTO student_stats (student_id, total_courses, total_credits)"
+                                + " VALUES (:studentId, 0, 0)")
+                        .bind("studentId", event.getEntityId())
+                        .then();
+            } else if (event.getOperation() == Operation.DELETE) {
+                return databaseClient.sql("DELETE FROM student_stats WHERE student_id = :studentId")
+                        .bind("studentId", event.getEntityId())
+                        .then();
+            }
+            return Mono.empty();
+        }
+
+        Course before = event.getCourseBefore();
+        Course after = event.getCourseAfter();
+        if (before != null && after != null && before.getStudentId() != null
+                && before.getStudentId().equals(after.getStudentId()) && before.getCredits().equals(after.getCredits())) {
+            return Mono.empty();
+        }
+        Mono<Void> adjustments = Mono.empty();
+        if (before != null && before.getStudentId() != null) {
+            adjustments = adjustments.then(adjust(before.getStudentId(), -1, -before.getCredits()));
+        }
+        if (after != null && after.getStudentId() != null) {
+            adjustments = adjustments.then(adjust(after.getStudentId(), 1, after.getCredits()));
+        }
+        return adjustments;
+    }
+
+    private Mono<Void> adjust(Long studentId, int courses, int credits) {
+        return databaseClient.sql("UPDATE student_stats SET total_courses = total_courses + :courses,"
+                        + " total_credits = total_credits + :credits WHERE student_id = :studentId")
+                .bind("courses", courses)
+                .bind("credits", credits)
+                .bind("studentId", studentId)
+                .then();
+    }
+
+    // Deferred to commit like a @TransactionalEventListener; applied at once outside a transaction (fallbackExecution)
+    private Mono<Void> afterCommit(EntityChangedEvent event) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronizations -> {
+                    if (!synchronizations.isSynchronizationActive()) {
+                        return committed(event);
+                    }
+                    synchronizations.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return committed(event);
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> committed(event));
+    }
+
+    // The listeners take locks and touch JDBC, so they run off the event loop; like after-commit listeners,
+    // a failing one is logged and does not fail the already committed write
+    private Mono<Void> committed(EntityChangedEvent event) {
+        List<Consumer<EntityChangedEvent>> listeners = List.of(tableVersions::entityChanged,
+                leaderboardService::entityChanged, courseOwnershipIndex::courseChanged, snapshotService::dataChanged,
+                changeFeedService::changeCommitted);
+        return Mono.fromRunnable(() -> listeners.forEach(listener -> {
+                    try {
+                        listener.accept(event);
+                    } catch (RuntimeException e) {
+                        log.warn("After-commit handling of {} {} {} failed: {}", event.getOperation(),
+                                event.getEntityType(), event.getEntityId(), e.getMessage());
+                    }
+                }))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private String toJson(Object state) {
+        if (state == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize change payload", e);
+        }
+    }
+}
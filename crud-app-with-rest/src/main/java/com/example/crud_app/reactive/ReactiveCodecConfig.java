@@ -0,0 +1,37 @@
+package com.example.crud_app.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+// Same binary formats as BinaryFormatConfig for the WebFlux controllers, with mappers from Boot's
+// Jackson2ObjectMapperBuilder (spring.jackson.*); the default Smile codecs are replaced, CBOR is added
+@Configuration
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCodecConfig implements WebFluxConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper smile = objectMapperBuilder.getObject().factory(new SmileFactory()).build();
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile));
+
+        ObjectMapper cbor = objectMapperBuilder.getObject().factory(new CBORFactory()).build();
+        configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborEncoder(cbor));
+        configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cbor));
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.crud_app.reactive;
+
+import com.example.crud_app.dto.CourseDTO;
+import com.example.crud_app.event.EntityChangedEvent.Operation;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// WebFlux counterpart of CourseController - same URLs, same payloads, no blocking calls
+@RestController
+@RequestMapping("/api/courses")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCourseController {
+
+    private final ReactiveCourseRepository courseRepository;
+    private final ReactiveStudentRepository studentRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveChangeRecorder changeRecorder;
+
+    // GET /api/courses - Get courses; all given filters are combined, as in CourseController
+    @GetMapping
+    public ResponseEntity<?> getAllCourses(
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Integer minCredits,
+            @RequestParam(required = false) Integer maxCredits,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false, defaultValue = "false") Boolean unassigned,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> fields) {
+
+        // Sorting and field selection are compiled by DynamicQueryRepository, which the reactive stack does not have
+        if (sort != null || fields != null) {
+            return error(HttpStatus.BAD_REQUEST, "sort and fields are not supported in the reactive profile");
+        }
+
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("studentId", studentId);
+        filters.put("unassigned", unassigned);
+        filters.put("title", title);
+        filters.put("minCredits", minCredits);
+        filters.put("maxCredits", maxCredits);
+
+        // A lone minCredits filter has always been returned highest credits first
+        String orderBy = minCredits != null && maxCredits == null ? "credits DESC" : null;
+        return ResponseEntity.ok(courseRepository.findMatching(filters, orderBy));
+    }
+
+    // GET /api/courses/dto - Get courses as DTO
+    @GetMapping("/dto")
+    public ResponseEntity<?> getAllCoursesAsDTO(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> fields) {
+        if (sort != null || fields != null) {
+            return error(HttpStatus.BAD_REQUEST, "sort and fields are not supported in the reactive profile");
+        }
+        return ResponseEntity.ok(courseRepository.findAllAsDTO());
+    }
+
+    // GET /api/courses/{id} - Get course by ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Course>> getCourseById(@PathVariable Long id) {
+        return courseRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/courses/{id}/dto - Get course DTO by ID
+    @GetMapping("/{id}/dto")
+    public Mono<ResponseEntity<CourseDTO>> getCourseDTOById(@PathVariable Long id) {
+        return courseRepository.findById(id)
+                .flatMap(this::toCourseDTO)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // POST /api/courses - Create new course
+    @PostMapping
+    public Mono<ResponseEntity<?>> createCourse(
+            @Valid @RequestBody Course course,
+            @RequestParam(required = false) Long studentId) {
+
+        // Title uniqueness is enforced by the uk_courses_title index
+        Mono<Course> saved = studentId == null
+                ? courseRepository.insert(course)
+                : requireStudent(studentId).then(Mono.defer(() -> {
+                    course.setStudentId(studentId);
+                    return courseRepository.insert(course);
+                }));
+        return saved
+                .flatMap(created -> changeRecorder.courseChanged(Operation.INSERT, null, created).thenReturn(created))
+                .as(transactionalOperator::transactional)
+                .<ResponseEntity<?>>map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created))
+                .onErrorResume(DataIntegrityViolationException.class,
+                        e -> Mono.<ResponseEntity<?>>just(conflict("Course with this title already exists", "title")))
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST, e.getMessage())));
+    }
+
+    // PUT /api/courses/{id} - Update course
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateCourse(@PathVariable Long id, @Valid @RequestBody Course courseDetails) {
+        return courseRepository.findById(id)
+                .flatMap(existing -> courseRepository.update(id, courseDetails)
+                        .then(courseRepository.findById(id))
+                        .flatMap(updated -> changeRecorder.courseChanged(Operation.UPDATE, existing, updated)
+                                .thenReturn(updated)))
+                .as(transactionalOperator::transactional)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(DataIntegrityViolationException.class,
+                        e -> Mono.<ResponseEntity<?>>just(conflict("Course with this title already exists", "title")))
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST,
+                        "Failed to update course: " + e.getMessage())))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // DELETE /api/courses/{id} - Delete course
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Map<String, String>>> deleteCourse(@PathVariable Long id) {
+        return courseRepository.findById(id)
+                .flatMap(course -> courseRepository.deleteById(id)
+                        .flatMap(deleted -> changeRecorder.courseChanged(Operation.DELETE, course, null)
+                                .thenReturn(deleted))
+                        .map(deleted -> {
+                            Map<String, String> response = new HashMap<>();
+                            response.put("message", "Course deleted successfully");
+                            response.put("deletedCourseId", id.toString());
+                            return ResponseEntity.ok(response);
+                        }))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .as(transactionalOperator::transactional);
+    }
+
+    // GET /api/courses/stats - Get course statistics
+    @GetMapping("/stats")
+    public Mono<Map<String, Object>> getCourseStatistics() {
+        Mono<Long> total = courseRepository.count();
+        Mono<Long> unassigned = courseRepository.countUnassigned();
+        Mono<List<Course>> topByCredits = courseRepository.findTop5ByOrderByCreditsDesc().collectList();
+
+        return Mono.zip(total, unassigned, topByCredits)
+                .map(tuple -> {
+                    Map<String, Object> stats = new HashMap<>();
+                    stats.put("totalCourses", tuple.getT1());
+                    stats.put("unassignedCoursesCount", tuple.getT2());
+                    stats.put("topCoursesByCredits", tuple.getT3());
+                    return stats;
+                });
+    }
+
+    // GET /api/courses/{courseId}/student - Get student taking a specific course
+    @GetMapping("/{courseId}/student")
+    public Mono<ResponseEntity<?>> getStudentForCourse(@PathVariable Long courseId) {
+        return requireCourse(courseId)
+                .flatMap(course -> course.getStudentId() == null
+                        ? Mono.<ResponseEntity<?>>just(notAssigned(courseId))
+                        : studentRepository.findById(course.getStudentId())
+                                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                                .defaultIfEmpty(notAssigned(courseId)))
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST, e.getMessage())));
+    }
+
+    // PUT /api/courses/{courseId}/student/{studentId} - Reassign course to different student
+    @PutMapping("/{courseId}/student/{studentId}")
+    public Mono<ResponseEntity<?>> reassignCourse(@PathVariable Long courseId, @PathVariable Long studentId) {
+        return requireCourse(courseId)
+                .flatMap(course -> requireStudent(studentId)
+                        .then(courseRepository.updateStudentId(courseId, studentId))
+                        .then(changeRecorder.courseChanged(Operation.UPDATE, course, withStudent(course, studentId))))
+                .as(transactionalOperator::transactional)
+                .<ResponseEntity<?>>then(Mono.fromSupplier(() -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("message", "Course reassigned successfully");
+                    response.put("courseId", courseId.toString());
+                    response.put("newStudentId", studentId.toString());
+                    return ResponseEntity.ok(response);
+                }))
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST, e.getMessage())));
+    }
+
+    // DELETE /api/courses/{courseId}/student - Unassign course from any student
+    @DeleteMapping("/{courseId}/student")
+    public Mono<ResponseEntity<?>> unassignCourse(@PathVariable Long courseId) {
+        return requireCourse(courseId)
+                .flatMap(course -> courseRepository.updateStudentId(courseId, null)
+                        .then(changeRecorder.courseChanged(Operation.UPDATE, course, withStudent(course, null))))
+                .as(transactionalOperator::transactional)
+                .<ResponseEntity<?>>then(Mono.fromSupplier(() -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("message", "Course unassigned successfully");
+                    response.put("courseId", courseId.toString());
+                    return ResponseEntity.ok(response);
+                }))
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST, e.getMessage())));
+    }
+
+    // GET /api/courses/students - Get all students who are taking courses
+    @GetMapping("/students")
+    public Flux<Student> getStudentsTakingCourses() {
+        return courseRepository.findDistinctStudentIds()
+                .collectList()
+                .flatMapMany(studentRepository::findAllById);
+    }
+
+    private Mono<CourseDTO> toCourseDTO(Course course) {
+        Mono<String> studentName = course.getStudentId() == null
+                ? Mono.empty()
+                : studentRepository.findById(course.getStudentId())
+                        .map(Student::getName)
+                        .defaultIfEmpty("Unknown Student");
+
+        return studentName
+                .map(name -> buildCourseDTO(course, name))
+                .defaultIfEmpty(buildCourseDTO(course, null));
+    }
+
+    private CourseDTO buildCourseDTO(Course course, String studentName) {
+        return CourseDTO.builder()
+                .courseId(course.getCourseId())
+                .title(course.getTitle())
+                .credits(course.getCredits())
+                .studentId(course.getStudentId())
+                .studentName(studentName)
+                .build();
+    }
+
+    private static Course withStudent(Course course, Long studentId) {
+        return Course.builder()
+                .courseId(course.getCourseId())
+                .title(course.getTitle())
+                .credits(course.getCredits())
+                .studentId(studentId)
+                .build();
+    }
+
+    private Mono<Student> requireStudent(Long studentId) {
+        return studentRepository.findById(studentId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Student not found with id: " + studentId)));
+    }
+
+    private Mono<Course> requireCourse(Long courseId) {
+        return courseRepository.findById(courseId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Course not found with id: " + courseId)));
+    }
+
+    private ResponseEntity<?> notAssigned(Long courseId) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Course is not assigned to any student");
+        response.put("courseId", courseId.toString());
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<?> conflict(String message, String field) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        error.put("field", field);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
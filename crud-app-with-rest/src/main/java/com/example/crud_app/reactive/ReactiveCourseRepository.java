@@ -0,0 +1,191 @@
+package com.example.crud_app.reactive;
+
+import com.example.crud_app.dto.CourseDTO;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.repository.QueryConditions;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCourseRepository {
+
+    private static final String SELECT_COURSES = "SELECT course_id, title, credits, student_id FROM courses";
+
+    // SQL for each of QueryConditions.COURSE
+    private static final Map<String, String> CONDITIONS = Map.of(
+            "studentId", "student_id = :studentId",
+            "unassigned", "student_id IS NULL",
+            "title", "UPPER(title) LIKE UPPER(:title)",
+            "minCredits", "credits >= :minCredits",
+            "maxCredits", "credits <= :maxCredits");
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Course> findAll() {
+        return databaseClient.sql(SELECT_COURSES)
+                .map((row, metadata) -> toCourse(row))
+                .all();
+    }
+
+    public Mono<Course> findById(Long id) {
+        return databaseClient.sql(SELECT_COURSES + " WHERE course_id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toCourse(row))
+                .one();
+    }
+
+    public Flux<Course> findByStudentId(Long studentId) {
+        return databaseClient.sql(SELECT_COURSES + " WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .map((row, metadata) -> toCourse(row))
+                .all();
+    }
+
+    public Flux<Long> findDistinctStudentIds() {
+        return databaseClient.sql("SELECT DISTINCT student_id FROM courses WHERE student_id IS NOT NULL")
+                .map((row, metadata) -> row.get("student_id", Long.class))
+                .all();
+    }
+
+    // Any subset of the list filters, combined with AND like DynamicQueryRepository does for QueryConditions.COURSE
+    // (same names, same binders); null values and flags other than TRUE are left out
+    public Flux<Course> findMatching(Map<String, Object> filters, String orderBy) {
+        List<String> clauses = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        filters.forEach((name, value) -> {
+            QueryConditions.Condition condition = QueryConditions.COURSE.get(name);
+            if (condition == null) {
+                throw new IllegalArgumentException("Unknown filter: " + name);
+            }
+            if (value != null && (!condition.isFlag() || Boolean.TRUE.equals(value))) {
+                clauses.add(CONDITIONS.get(name));
+                if (!condition.isFlag()) {
+                    parameters.put(name, condition.binder().apply(value));
+                }
+            }
+        });
+        String sql = SELECT_COURSES + (clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses))
+                + (orderBy == null ? "" : " ORDER BY " + orderBy);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map((row, metadata) -> toCourse(row)).all();
+    }
+
+    public Flux<Course> findTop5ByOrderByCreditsDesc() {
+        return databaseClient.sql(SELECT_COURSES + " ORDER BY credits DESC LIMIT 5")
+                .map((row, metadata) -> toCourse(row))
+                .all();
+    }
+
+    // Courses with the owning student's name in one joined query (same names as CourseService.convertToDTO)
+    public Flux<CourseDTO> findAllAsDTO() {
+        return databaseClient.sql("SELECT c.course_id, c.title, c.credits, c.student_id, s.name AS student_name"
+                        + " FROM courses c LEFT JOIN students s ON s.student_id = c.student_id")
+                .map((row, metadata) -> {
+                    Long studentId = row.get("student_id", Long.class);
+                    String studentName = row.get("student_name", String.class);
+                    return CourseDTO.builder()
+                            .courseId(row.get("course_id", Long.class))
+                            .title(row.get("title", String.class))
+                            .credits(row.get("credits", Integer.class))
+                            .studentId(studentId)
+                            .studentName(studentId != null && studentName == null ? "Unknown Student" : studentName)
+                            .build();
+                })
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM courses")
+                .map((row, metadata) -> row.get("total", Long.class))
+                .one();
+    }
+
+    public Mono<Long> countUnassigned() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM courses WHERE student_id IS NULL")
+                .map((row, metadata) -> row.get("total", Long.class))
+                .one();
+    }
+
+    public Mono<Boolean> existsByTitle(String title) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM courses WHERE title = :title")
+                .bind("title", title)
+                .map((row, metadata) -> row.get("total", Long.class))
+                .one()
+                .map(total -> total > 0);
+    }
+
+    public Mono<Course> insert(Course course) {
+        return bindStudentId(databaseClient.sql(
+                        "INSERT INTO courses (title, credits, student_id) VALUES (:title, :credits, :studentId)")
+                        .bind("title", course.getTitle())
+                        .bind("credits", course.getCredits()), course.getStudentId())
+                .filter(statement -> statement.returnGeneratedValues("course_id"))
+                .map((row, metadata) -> row.get("course_id", Long.class))
+                .one()
+                .map(id -> Course.builder()
+                        .courseId(id)
+                        .title(course.getTitle())
+                        .credits(course.getCredits())
+                        .studentId(course.getStudentId())
+                        .build());
+    }
+
+    public Mono<Long> update(Long id, Course course) {
+        return bindStudentId(databaseClient.sql(
+                        "UPDATE courses SET title = :title, credits = :credits, student_id = :studentId WHERE course_id = :id")
+                        .bind("title", course.getTitle())
+                        .bind("credits", course.getCredits())
+                        .bind("id", id), course.getStudentId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> updateStudentId(Long courseId, Long studentId) {
+        return bindStudentId(databaseClient.sql("UPDATE courses SET student_id = :studentId WHERE course_id = :id")
+                        .bind("id", courseId), studentId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM courses WHERE course_id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByStudentId(Long studentId) {
+        return databaseClient.sql("DELETE FROM courses WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindStudentId(DatabaseClient.GenericExecuteSpec spec, Long studentId) {
+        return studentId != null ? spec.bind("studentId", studentId) : spec.bindNull("studentId", Long.class);
+    }
+
+    private Course toCourse(Row row) {
+        return Course.builder()
+                .courseId(row.get("course_id", Long.class))
+                .title(row.get("title", String.class))
+                .credits(row.get("credits", Integer.class))
+                .studentId(row.get("student_id", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.crud_app.reactive;
+
+import com.example.crud_app.dto.StudentSummaryDTO;
+import com.example.crud_app.dto.StudentWithCoursesDTO;
+import com.example.crud_app.event.EntityChangedEvent.Operation;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// WebFlux counterpart of StudentController - same URLs, same payloads, no blocking calls
+@RestController
+@RequestMapping("/api/students")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStudentController {
+
+    private final ReactiveStudentRepository studentRepository;
+    private final ReactiveCourseRepository courseRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveChangeRecorder changeRecorder;
+
+    private static final int MAX_IDS = 1000;
+
+    // GET /api/students - Get students; all given filters are combined, as in StudentController
+    // ?ids=1,2,3 is a multi-get: those students in the given order, unknown ids skipped
+    @GetMapping
+    public ResponseEntity<?> getAllStudents(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false, defaultValue = "false") Boolean withoutCourses,
+            @RequestParam(required = false) Integer minCourses,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> fields) {
+
+        // Sorting and field selection are compiled by DynamicQueryRepository, which the reactive stack does not have
+        if (sort != null || fields != null) {
+            return error(HttpStatus.BAD_REQUEST, "sort and fields are not supported in the reactive profile");
+        }
+
+        if (ids != null) {
+            if (ids.size() > MAX_IDS) {
+                return error(HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids may be requested at once");
+            }
+            Flux<Student> students = studentRepository.findAllById(ids.stream().filter(Objects::nonNull).distinct().toList())
+                    .collectMap(Student::getStudentId)
+                    .flatMapMany(found -> Flux.fromIterable(ids).filter(Objects::nonNull).mapNotNull(found::get));
+            return ResponseEntity.ok(students);
+        }
+
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("email", email);
+        filters.put("search", search);
+        // A lone minAge has always meant "older than"; next to maxAge it is the inclusive lower bound of the range
+        filters.put(maxAge == null ? "olderThan" : "minAge", minAge);
+        filters.put("maxAge", maxAge);
+        filters.put("withoutCourses", withoutCourses);
+        filters.put("minCourses", minCourses);
+        return ResponseEntity.ok(studentRepository.findMatching(filters));
+    }
+
+    // GET /api/students/dto - Get students as DTO with course information
+    @GetMapping("/dto")
+    public ResponseEntity<?> getStudentsWithCourseStats(
+            @RequestParam(required = false, defaultValue = "false") Boolean withoutCourses,
+            @RequestParam(required = false) Integer minCourses,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> fields) {
+
+        if (sort != null || fields != null) {
+            return error(HttpStatus.BAD_REQUEST, "sort and fields are not supported in the reactive profile");
+        }
+
+        Flux<StudentWithCoursesDTO> students;
+        if (withoutCourses) {
+            students = studentRepository.findWithCourseTotals(null, 0);
+        } else if (minCourses != null) {
+            students = studentRepository.findWithCourseTotals(minCourses, null);
+        } else {
+            students = studentRepository.findWithCourseTotals(null, null);
+        }
+        return ResponseEntity.ok(students);
+    }
+
+    // GET /api/students/summary - Get student summaries
+    @GetMapping("/summary")
+    public ResponseEntity<?> getAllStudentSummaries(@RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return error(HttpStatus.BAD_REQUEST, "fields is not supported in the reactive profile");
+        }
+        return ResponseEntity.ok(studentRepository.findAll()
+                .map(student -> StudentSummaryDTO.builder()
+                        .studentId(student.getStudentId())
+                        .name(student.getName())
+                        .email(student.getEmail())
+                        .build()));
+    }
+
+    // GET /api/students/{id} - Get student by ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Student>> getStudentById(@PathVariable Long id) {
+        return studentRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // POST /api/students - Create new student
+    @PostMapping
+    public Mono<ResponseEntity<?>> createStudent(@Valid @RequestBody Student student) {
+        // Email uniqueness is enforced by the uk_students_email index
+        return studentRepository.insert(student)
+                .flatMap(saved -> changeRecorder.studentChanged(Operation.INSERT, null, saved).thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .<ResponseEntity<?>>map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(saved))
+                .onErrorResume(DataIntegrityViolationException.class,
+                        e -> Mono.<ResponseEntity<?>>just(conflict("Email already exists", "email")))
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST,
+                        "Failed to create student: " + e.getMessage())));
+    }
+
+    // PUT /api/students/{id} - Update student
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateStudent(@PathVariable Long id, @Valid @RequestBody Student studentDetails) {
+        return studentRepository.findById(id)
+                .flatMap(existing -> studentRepository.update(id, studentDetails)
+                        .then(studentRepository.findById(id))
+                        .flatMap(updated -> changeRecorder.studentChanged(Operation.UPDATE, existing, updated)
+                                .thenReturn(updated)))
+                .as(transactionalOperator::transactional)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(DataIntegrityViolationException.class,
+                        e -> Mono.<ResponseEntity<?>>just(conflict("Email already exists", "email")))
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST,
+                        "Failed to update student: " + e.getMessage())))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // DELETE /api/students/{id} - Delete student and associated courses (one transaction, like the servlet variant)
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Map<String, String>>> deleteStudent(@PathVariable Long id) {
+        return studentRepository.findById(id)
+                .flatMap(student -> courseRepository.findByStudentId(id).collectList()
+                        .flatMap(courses -> courseRepository.deleteByStudentId(id)
+                                .thenMany(Flux.fromIterable(courses))
+                                .concatMap(course -> changeRecorder.courseChanged(Operation.DELETE, course, null))
+                                .then())
+                        .then(studentRepository.deleteById(id))
+                        .flatMap(deleted -> changeRecorder.studentChanged(Operation.DELETE, student, null)
+                                .thenReturn(deleted))
+                        .map(deleted -> {
+                            Map<String, String> response = new HashMap<>();
+                            response.put("message", "Student and associated courses deleted successfully");
+                            response.put("deletedStudentId", id.toString());
+                            return ResponseEntity.ok(response);
+                        }))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .as(transactionalOperator::transactional);
+    }
+
+    // GET /api/students/stats - Get student statistics
+    @GetMapping("/stats")
+    public Mono<Map<String, Object>> getStudentStatistics() {
+        Mono<Long> total = studentRepository.count();
+        Mono<Long> withCourses = courseRepository.findDistinctStudentIds().count();
+        Mono<List<Student>> topByAge = studentRepository.findTop5ByOrderByAgeDesc().collectList();
+        Mono<Double> averageAge = studentRepository.averageAge();
+
+        return Mono.zip(total, withCourses, topByAge, averageAge)
+                .map(tuple -> {
+                    Map<String, Object> stats = new HashMap<>();
+                    stats.put("totalStudents", tuple.getT1());
+                    stats.put("studentsWithCoursesCount", tuple.getT2());
+                    stats.put("studentsWithoutCoursesCount", tuple.getT1() - tuple.getT2());
+                    stats.put("topStudentsByAge", tuple.getT3());
+                    stats.put("averageAge", Math.round(tuple.getT4() * 10.0) / 10.0);
+                    return stats;
+                });
+    }
+
+    // POST /api/students/{studentId}/courses/{courseId} - Assign course to student
+    @PostMapping("/{studentId}/courses/{courseId}")
+    public Mono<ResponseEntity<?>> assignCourseToStudent(@PathVariable Long studentId, @PathVariable Long courseId) {
+        return requireStudent(studentId)
+                .then(requireCourse(courseId))
+                .flatMap(course -> {
+                    if (course.getStudentId() != null) {
+                        return Mono.<ResponseEntity<?>>error(
+                                new IllegalStateException("Course is already assigned to another student"));
+                    }
+                    return courseRepository.updateStudentId(courseId, studentId)
+                            .then(changeRecorder.courseChanged(Operation.UPDATE, course, withStudent(course, studentId)))
+                            .<ResponseEntity<?>>thenReturn(
+                                    courseMessage("Course assigned to student successfully", studentId, courseId));
+                })
+                .as(transactionalOperator::transactional)
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST, e.getMessage())));
+    }
+
+    // DELETE /api/students/{studentId}/courses/{courseId} - Remove course from student
+    @DeleteMapping("/{studentId}/courses/{courseId}")
+    public Mono<ResponseEntity<?>> removeCourseFromStudent(@PathVariable Long studentId, @PathVariable Long courseId) {
+        return requireStudent(studentId)
+                .then(requireCourse(courseId))
+                .flatMap(course -> {
+                    if (!studentId.equals(course.getStudentId())) {
+                        return Mono.<ResponseEntity<?>>error(
+                                new IllegalStateException("Course is not assigned to this student"));
+                    }
+                    return courseRepository.updateStudentId(courseId, null)
+                            .then(changeRecorder.courseChanged(Operation.UPDATE, course, withStudent(course, null)))
+                            .<ResponseEntity<?>>thenReturn(
+                                    courseMessage("Course removed from student successfully", studentId, courseId));
+                })
+                .as(transactionalOperator::transactional)
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST, e.getMessage())));
+    }
+
+    // GET /api/students/{studentId}/courses - Get all courses for a specific student
+    @GetMapping("/{studentId}/courses")
+    public Mono<ResponseEntity<?>> getStudentCourses(@PathVariable Long studentId) {
+        return requireStudent(studentId)
+                .thenMany(courseRepository.findByStudentId(studentId))
+                .collectList()
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST, e.getMessage())));
+    }
+
+    // GET /api/students/{studentId}/total-credits - Get total credits for a student
+    @GetMapping("/{studentId}/total-credits")
+    public Mono<ResponseEntity<?>> getStudentTotalCredits(@PathVariable Long studentId) {
+        return requireStudent(studentId)
+                .thenMany(courseRepository.findByStudentId(studentId))
+                .map(Course::getCredits)
+                .reduce(0, Integer::sum)
+                .<ResponseEntity<?>>map(totalCredits -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("studentId", studentId);
+                    response.put("totalCredits", totalCredits);
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.<ResponseEntity<?>>just(error(HttpStatus.BAD_REQUEST, e.getMessage())));
+    }
+
+    private Mono<Student> requireStudent(Long studentId) {
+        return studentRepository.findById(studentId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Student not found with id: " + studentId)));
+    }
+
+    private Mono<Course> requireCourse(Long courseId) {
+        return courseRepository.findById(courseId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Course not found with id: " + courseId)));
+    }
+
+    private static Course withStudent(Course course, Long studentId) {
+        return Course.builder()
+                .courseId(course.getCourseId())
+                .title(course.getTitle())
+                .credits(course.getCredits())
+                .studentId(studentId)
+                .build();
+    }
+
+    private ResponseEntity<?> courseMessage(String message, Long studentId, Long courseId) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", message);
+        response.put("studentId", studentId.toString());
+        response.put("courseId", courseId.toString());
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<?> conflict(String message, String field) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        error.put("field", field);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
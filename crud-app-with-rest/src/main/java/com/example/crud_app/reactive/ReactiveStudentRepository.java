@@ -0,0 +1,174 @@
+package com.example.crud_app.reactive;
+
+import com.example.crud_app.dto.StudentWithCoursesDTO;
+import com.example.crud_app.model.Student;
+import com.example.crud_app.repository.QueryConditions;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStudentRepository {
+
+    private static final String SELECT_STUDENTS = "SELECT student_id, name, email, age FROM students";
+
+    // SQL for each of QueryConditions.STUDENT
+    private static final Map<String, String> CONDITIONS = Map.of(
+            "email", "email = :email",
+            "search", "(UPPER(name) LIKE UPPER(:search) OR UPPER(email) LIKE UPPER(:search))",
+            "minAge", "age >= :minAge",
+            "olderThan", "age > :olderThan",
+            "maxAge", "age <= :maxAge",
+            "withoutCourses", "NOT EXISTS (SELECT 1 FROM courses c WHERE c.student_id = students.student_id)",
+            "minCourses", "(SELECT COUNT(*) FROM courses c WHERE c.student_id = students.student_id) >= :minCourses");
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Student> findAll() {
+        return databaseClient.sql(SELECT_STUDENTS)
+                .map((row, metadata) -> toStudent(row))
+                .all();
+    }
+
+    public Mono<Student> findById(Long id) {
+        return databaseClient.sql(SELECT_STUDENTS + " WHERE student_id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toStudent(row))
+                .one();
+    }
+
+    public Flux<Student> findAllById(Iterable<Long> ids) {
+        return Flux.fromIterable(ids).collectList()
+                .flatMapMany(idList -> idList.isEmpty()
+                        ? Flux.empty()
+                        : databaseClient.sql(SELECT_STUDENTS + " WHERE student_id IN (:ids)")
+                                .bind("ids", idList)
+                                .map((row, metadata) -> toStudent(row))
+                                .all());
+    }
+
+    // Any subset of the list filters, combined with AND like DynamicQueryRepository does for QueryConditions.STUDENT
+    // (same names, same binders); null values and flags other than TRUE are left out
+    public Flux<Student> findMatching(Map<String, Object> filters) {
+        List<String> clauses = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        filters.forEach((name, value) -> {
+            QueryConditions.Condition condition = QueryConditions.STUDENT.get(name);
+            if (condition == null) {
+                throw new IllegalArgumentException("Unknown filter: " + name);
+            }
+            if (value != null && (!condition.isFlag() || Boolean.TRUE.equals(value))) {
+                clauses.add(CONDITIONS.get(name));
+                if (!condition.isFlag()) {
+                    parameters.put(name, condition.binder().apply(value));
+                }
+            }
+        });
+        String sql = SELECT_STUDENTS + (clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses));
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map((row, metadata) -> toStudent(row)).all();
+    }
+
+    public Flux<Student> findTop5ByOrderByAgeDesc() {
+        return databaseClient.sql(SELECT_STUDENTS + " ORDER BY age DESC LIMIT 5")
+                .map((row, metadata) -> toStudent(row))
+                .all();
+    }
+
+    // Students with their course count and credit total in one joined query; either bound may be null
+    public Flux<StudentWithCoursesDTO> findWithCourseTotals(Integer minCourses, Integer maxCourses) {
+        return databaseClient.sql("SELECT s.student_id, s.name, s.email, s.age,"
+                        + " COUNT(c.course_id) AS total_courses, COALESCE(SUM(c.credits), 0) AS total_credits"
+                        + " FROM students s LEFT JOIN courses c ON c.student_id = s.student_id"
+                        + " GROUP BY s.student_id, s.name, s.email, s.age"
+                        + " HAVING COUNT(c.course_id) >= :minCourses AND COUNT(c.course_id) <= :maxCourses"
+                        + " ORDER BY s.student_id")
+                .bind("minCourses", minCourses != null ? minCourses : 0)
+                .bind("maxCourses", maxCourses != null ? maxCourses : Integer.MAX_VALUE)
+                .map((row, metadata) -> StudentWithCoursesDTO.builder()
+                        .studentId(row.get("student_id", Long.class))
+                        .name(row.get("name", String.class))
+                        .email(row.get("email", String.class))
+                        .age(row.get("age", Integer.class))
+                        .totalCourses(row.get("total_courses", Long.class).intValue())
+                        .totalCredits(row.get("total_credits", Long.class).intValue())
+                        .build())
+                .all();
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM students WHERE email = :email")
+                .bind("email", email)
+                .map((row, metadata) -> row.get("total", Long.class))
+                .one()
+                .map(total -> total > 0);
+    }
+
+    public Mono<Double> averageAge() {
+        return databaseClient.sql("SELECT COALESCE(AVG(age), 0) AS average FROM students")
+                .map((row, metadata) -> row.get("average", Double.class))
+                .one();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM students")
+                .map((row, metadata) -> row.get("total", Long.class))
+                .one();
+    }
+
+    public Mono<Student> insert(Student student) {
+        return databaseClient.sql("INSERT INTO students (name, email, age) VALUES (:name, :email, :age)")
+                .bind("name", student.getName())
+                .bind("email", student.getEmail())
+                .bind("age", student.getAge())
+                .filter(statement -> statement.returnGeneratedValues("student_id"))
+                .map((row, metadata) -> row.get("student_id", Long.class))
+                .one()
+                .map(id -> Student.builder()
+                        .studentId(id)
+                        .name(student.getName())
+                        .email(student.getEmail())
+                        .age(student.getAge())
+                        .build());
+    }
+
+    public Mono<Long> update(Long id, Student student) {
+        return databaseClient.sql("UPDATE students SET name = :name, email = :email, age = :age WHERE student_id = :id")
+                .bind("name", student.getName())
+                .bind("email", student.getEmail())
+                .bind("age", student.getAge())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM students WHERE student_id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Student toStudent(Row row) {
+        return Student.builder()
+                .studentId(row.get("student_id", Long.class))
+                .name(row.get("name", String.class))
+                .email(row.get("email", String.class))
+                .age(row.get("age", Integer.class))
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.crud_app.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// @Valid failures answer with the same body as the servlet stack's /error page (timestamp, status, error, path)
+@RestControllerAdvice(assignableTypes = {ReactiveStudentController.class, ReactiveCourseController.class})
+@Profile("reactive")
+public class ReactiveValidationAdvice {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleValidation(WebExchangeBindException e, ServerWebExchange exchange) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("timestamp", new Date());
+        error.put("status", HttpStatus.BAD_REQUEST.value());
+        error.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+        error.put("path", exchange.getRequest().getPath().value());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.crud_app.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Numeric columns the analytics queries may aggregate. Table/column names come only from here,
+// never from the request, so they can be spliced into SQL safely.
+public enum AnalyticsMetric {
+
+    // Default buckets reproduce the old 16-20 / 21-25 / 26-30 / 31+ age groups
+    AGE("students", "age", 16, "", List.of(21, 26, 31)),
+
+    // Default buckets reproduce the old 1-2 / 3-4 / 5+ credit groups
+    CREDITS("courses", "credits", 1, " credits", List.of(3, 5));
+
+    private final String table;
+    private final String column;
+    private final int minimumValue;  // Lowest valid value (entity @Min) - labels the first bucket
+    private final String unit;
+    private final List<Integer> defaultBoundaries;
+
+    AnalyticsMetric(String table, String column, int minimumValue, String unit, List<Integer> defaultBoundaries) {
+        this.table = table;
+        this.column = column;
+        this.minimumValue = minimumValue;
+        this.unit = unit;
+        this.defaultBoundaries = defaultBoundaries;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public int getMinimumValue() {
+        return minimumValue;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public List<Integer> getDefaultBoundaries() {
+        return defaultBoundaries;
+    }
+
+    public static AnalyticsMetric fromName(String name) {
+        return Arrays.stream(values())
+                .filter(metric -> metric.name().equals(name.toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown metric: " + name
+                        + " (expected one of " + Arrays.toString(values()).toLowerCase(Locale.ROOT) + ")"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.crud_app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Aggregations computed in PostgreSQL; only the aggregate rows travel back to the JVM
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // count / avg / min / max plus one percentile_cont per requested fraction (aliases p0, p1, ...)
+    public Map<String, Object> summarize(AnalyticsMetric metric, List<Double> percentiles) {
+        String column = metric.getColumn();
+        StringBuilder sql = new StringBuilder("SELECT count(").append(column).append(") AS count, ")
+                .append("avg(").append(column).append(") AS average, ")
+                .append("min(").append(column).append(") AS minimum, ")
+                .append("max(").append(column).append(") AS maximum");
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        for (int i = 0; i < percentiles.size(); i++) {
+            sql.append(", percentile_cont(CAST(:p").append(i).append(" AS double precision)) WITHIN GROUP (ORDER BY ")
+                    .append(column).append(") AS p").append(i);
+            params.addValue("p" + i, percentiles.get(i));
+        }
+        sql.append(" FROM ").append(metric.getTable());
+
+        return jdbcTemplate.queryForMap(sql.toString(), params);
+    }
+
+    // Rows per distinct value (both metrics are small integer ranges). Used where percentile_cont cannot run over
+    // all rows in one query - the sharded profile merges these per-shard counts and summarizes them with summarize(counts)
+    public Map<Integer, Long> valueCounts(AnalyticsMetric metric) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        jdbcTemplate.query("SELECT " + metric.getColumn() + " AS metric_value, count(*) AS total FROM " + metric.getTable()
+                + " WHERE " + metric.getColumn() + " IS NOT NULL GROUP BY " + metric.getColumn(), Map.of(), row -> {
+            counts.put(row.getInt("metric_value"), row.getLong("total"));
+        });
+        return counts;
+    }
+
+    // Same keys as summarize(metric, percentiles), computed from value -> row count; percentiles interpolate
+    // linearly between the two nearest ranks, like percentile_cont
+    public static Map<String, Object> summarize(Map<Integer, Long> valueCounts, List<Double> percentiles) {
+        TreeMap<Integer, Long> sorted = new TreeMap<>(valueCounts);
+        long count = 0;
+        long sum = 0;
+        for (Map.Entry<Integer, Long> entry : sorted.entrySet()) {
+            count += entry.getValue();
+            sum += (long) entry.getKey() * entry.getValue();
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("count", count);
+        summary.put("average", count == 0 ? null : (double) sum / count);
+        summary.put("minimum", count == 0 ? null : sorted.firstKey());
+        summary.put("maximum", count == 0 ? null : sorted.lastKey());
+        for (int i = 0; i < percentiles.size(); i++) {
+            Double value = null;
+            if (count > 0) {
+                double rank = percentiles.get(i) * (count - 1);
+                int lower = valueAtRank(sorted, (long) Math.floor(rank));
+                int upper = valueAtRank(sorted, (long) Math.ceil(rank));
+                value = lower + (upper - lower) * (rank - Math.floor(rank));
+            }
+            summary.put("p" + i, value);
+        }
+        return summary;
+    }
+
+    private static int valueAtRank(TreeMap<Integer, Long> sorted, long rank) {
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : sorted.entrySet()) {
+            seen += entry.getValue();
+            if (rank < seen) {
+                return entry.getKey();
+            }
+        }
+        return sorted.lastKey();
+    }
+
+    // Row counts per width_bucket over the given ascending boundaries:
+    // bucket 0 is below boundaries[0], bucket i is [boundaries[i-1], boundaries[i]), the last is >= the last boundary.
+    // Empty buckets are not returned.
+    public Map<Integer, Long> histogram(AnalyticsMetric metric, List<Integer> boundaries) {
+        StringBuilder thresholds = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        for (int i = 0; i < boundaries.size(); i++) {
+            thresholds.append(i == 0 ? "" : ", ").append(":b").append(i);
+            params.addValue("b" + i, boundaries.get(i));
+        }
+
+        String sql = "SELECT width_bucket(" + metric.getColumn() + ", CAST(ARRAY[" + thresholds + "] AS integer[])) AS bucket, "
+                + "count(*) AS total FROM " + metric.getTable()
+                + " WHERE " + metric.getColumn() + " IS NOT NULL GROUP BY bucket ORDER BY bucket";
+
+        Map<Integer, Long> counts = new TreeMap<>();
+        jdbcTemplate.query(sql, params, row -> {
+            counts.put(row.getInt("bucket"), row.getLong("total"));
+        });
+        return counts;
+    }
+
+    // Student totals: all students, and those holding at least one course
+    public Map<String, Object> studentCounts() {
+        return jdbcTemplate.queryForMap("SELECT count(*) AS total, "
+                + "count(*) FILTER (WHERE EXISTS (SELECT 1 FROM courses c WHERE c.student_id = s.student_id)) AS with_courses "
+                + "FROM students s", Map.of());
+    }
+
+    // Course totals: all courses and assigned ones (count(student_id) skips NULLs)
+    public Map<String, Object> courseCounts() {
+        return jdbcTemplate.queryForMap("SELECT count(*) AS total, count(student_id) AS assigned FROM courses", Map.of());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Next batch of sequenced changes after a cursor (feed position), oldest first
+    List<ChangeLogEntry> findByFeedPositionGreaterThanOrderByFeedPositionAsc(Long cursor, Pageable pageable);
+}
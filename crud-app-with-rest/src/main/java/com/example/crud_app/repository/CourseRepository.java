@@ -1,7 +1,10 @@
 package com.example.crud_app.repository;
 
+import com.example.crud_app.cache.CachedQuery;
+import com.example.crud_app.cache.TableVersions;
 import com.example.crud_app.model.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -31,6 +34,7 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByStudentId(Long studentId);
 
     // Find courses where student ID is null (unassigned courses)
+    @CachedQuery(tables = TableVersions.COURSES)
     List<Course> findByStudentIdIsNull();
 
     // Find courses where student ID is not null (assigned courses)
@@ -62,4 +66,8 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     // Delete courses by student ID
     void deleteByStudentId(Long studentId);
+
+    // All (courseId, studentId) assignment pairs - two columns, no entity hydration
+    @Query("SELECT c.courseId, c.studentId FROM Course c WHERE c.studentId IS NOT NULL")
+    List<Object[]> findCourseAssignments();
 }
@@ -0,0 +1,123 @@
+package com.example.crud_app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+public class DynamicQueryRepository {
+
+    private final EntityManager entityManager;
+
+    // Compiled JPQL per query shape (view + selected fields + active filters + sort), least recently used evicted first.
+    // Reusing the exact same JPQL string also lets Hibernate hit its own query plan cache.
+    private final Map<String, String> shapeCache;
+
+    public DynamicQueryRepository(EntityManager entityManager,
+                                  @Value("${app.query-shapes.cache-size:256}") int cacheSize) {
+        this.entityManager = entityManager;
+        this.shapeCache = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    // All filters combined into one query, returning managed entities
+    public <T> List<T> findEntities(ProjectionView view, Class<T> type, Map<String, Object> filters, String sort) {
+        List<String> active = activeFilters(view, filters);
+        String jpql = shapeCache.computeIfAbsent(shapeKey(view, null, active, sort),
+                key -> "SELECT " + view.getAlias() + " FROM " + view.getFrom() + whereClause(view, active) + orderBy(view, sort));
+
+        TypedQuery<T> query = entityManager.createQuery(jpql, type);
+        bind(query, view, active, filters);
+        return query.getResultList();
+    }
+
+    // All filters combined into one tuple query that selects only the requested columns - no managed entities
+    public List<Map<String, Object>> findFields(ProjectionView view, List<String> fields,
+                                                Map<String, Object> filters, String sort) {
+        List<String> active = activeFilters(view, filters);
+        String jpql = shapeCache.computeIfAbsent(shapeKey(view, fields, active, sort),
+                key -> "SELECT " + selectClause(view, fields) + " FROM " + view.getFrom()
+                        + whereClause(view, active) + orderBy(view, sort));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        bind(query, view, active, filters);
+        return query.getResultList()
+                .stream()
+                .map(tuple -> toRow(tuple, fields))
+                .collect(Collectors.toList());
+    }
+
+    public List<Map<String, Object>> findFields(ProjectionView view, List<String> fields) {
+        return findFields(view, fields, Map.of(), null);
+    }
+
+    // Filters with a value (flags only when TRUE), validated against the view
+    private List<String> activeFilters(ProjectionView view, Map<String, Object> filters) {
+        List<String> active = new ArrayList<>();
+        filters.forEach((name, value) -> {
+            QueryConditions.Condition condition = view.conditionFor(name);
+            if (value != null && (!condition.isFlag() || Boolean.TRUE.equals(value))) {
+                active.add(name);
+            }
+        });
+        Collections.sort(active);
+        return active;
+    }
+
+    private String shapeKey(ProjectionView view, List<String> fields, List<String> active, String sort) {
+        return view.name() + '|' + (fields == null ? "*" : String.join(",", fields))
+                + '|' + String.join(",", active) + '|' + (sort == null ? "" : sort);
+    }
+
+    private String selectClause(ProjectionView view, List<String> fields) {
+        return fields.stream()
+                .map(field -> view.expressionFor(field) + " AS " + field)
+                .collect(Collectors.joining(", "));
+    }
+
+    private String whereClause(ProjectionView view, List<String> active) {
+        if (active.isEmpty()) {
+            return "";
+        }
+        return active.stream()
+                .map(name -> view.conditionFor(name).jpql())
+                .collect(Collectors.joining(" AND ", " WHERE ", ""));
+    }
+
+    private String orderBy(ProjectionView view, String sort) {
+        if (sort == null || sort.isBlank()) {
+            return "";
+        }
+        return " ORDER BY " + view.orderByClause(sort);
+    }
+
+    private void bind(TypedQuery<?> query, ProjectionView view, List<String> active, Map<String, Object> filters) {
+        for (String name : active) {
+            QueryConditions.Condition condition = view.conditionFor(name);
+            if (!condition.isFlag()) {
+                query.setParameter(name, condition.binder().apply(filters.get(name)));
+            }
+        }
+    }
+
+    private Map<String, Object> toRow(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+}
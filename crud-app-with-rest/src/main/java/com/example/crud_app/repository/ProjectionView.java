@@ -0,0 +1,124 @@
+package com.example.crud_app.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Read-only list views that can be filtered, sorted and narrowed with ?fields=... (field name -> JPQL select expression)
+public enum ProjectionView {
+
+    STUDENT("Student", "s", QueryConditions.STUDENT, Map.of(
+            "studentId", "s.studentId",
+            "name", "s.name",
+            "email", "s.email",
+            "age", "s.age")),
+
+    STUDENT_SUMMARY("Student", "s", QueryConditions.STUDENT, Map.of(
+            "studentId", "s.studentId",
+            "name", "s.name",
+            "email", "s.email")),
+
+    STUDENT_WITH_COURSES("Student", "s", QueryConditions.STUDENT, Map.of(
+            "studentId", "s.studentId",
+            "name", "s.name",
+            "email", "s.email",
+            "age", "s.age",
+            "totalCourses", "(SELECT COUNT(c) FROM Course c WHERE c.studentId = s.studentId)",
+            "totalCredits", "(SELECT COALESCE(SUM(c.credits), 0) FROM Course c WHERE c.studentId = s.studentId)")),
+
+    COURSE("Course", "c", QueryConditions.COURSE, Map.of(
+            "courseId", "c.courseId",
+            "title", "c.title",
+            "credits", "c.credits",
+            "studentId", "c.studentId")),
+
+    COURSE_DTO("Course", "c", QueryConditions.COURSE, Map.of(
+            "courseId", "c.courseId",
+            "title", "c.title",
+            "credits", "c.credits",
+            "studentId", "c.studentId",
+            // Same fallback as CourseService.convertToCourseDTO for dangling student ids
+            "studentName", "CASE WHEN c.studentId IS NULL THEN NULL"
+                    + " ELSE COALESCE((SELECT st.name FROM Student st WHERE st.studentId = c.studentId), 'Unknown Student') END"));
+
+    private final String entity;
+    private final String alias;
+    private final Map<String, QueryConditions.Condition> conditions;
+    private final Map<String, String> expressions;
+
+    ProjectionView(String entity, String alias, Map<String, QueryConditions.Condition> conditions,
+                   Map<String, String> expressions) {
+        this.entity = entity;
+        this.alias = alias;
+        this.conditions = conditions;
+        this.expressions = expressions;
+    }
+
+    public String getFrom() {
+        return entity + " " + alias;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    public QueryConditions.Condition conditionFor(String filter) {
+        QueryConditions.Condition condition = conditions.get(filter);
+        if (condition == null) {
+            throw new IllegalArgumentException("Unknown filter '" + filter + "', allowed filters: " + conditions.keySet());
+        }
+        return condition;
+    }
+
+    public Set<String> getFieldNames() {
+        return Collections.unmodifiableSet(expressions.keySet());
+    }
+
+    public String expressionFor(String field) {
+        String expression = expressions.get(field);
+        if (expression == null) {
+            throw new IllegalArgumentException("Unknown field '" + field + "', allowed fields: " + expressions.keySet());
+        }
+        return expression;
+    }
+
+    // Trim, drop blanks and duplicates from a ?fields=a,b,c parameter
+    public static List<String> normalize(List<String> fields) {
+        List<String> normalized = fields.stream()
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        return normalized;
+    }
+
+    // Turn ?sort=age,desc,name into "s.age DESC, s.name ASC" (sortable = any field of the view)
+    public String orderByClause(String sort) {
+        List<String> tokens = Arrays.stream(sort.split(","))
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+
+        List<String> orderings = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String expression = expressionFor(tokens.get(i));
+            String direction = "ASC";
+            if (i + 1 < tokens.size() && isDirection(tokens.get(i + 1))) {
+                direction = tokens.get(++i).toUpperCase();
+            }
+            orderings.add(expression + " " + direction);
+        }
+        return String.join(", ", orderings);
+    }
+
+    private static boolean isDirection(String token) {
+        return token.equalsIgnoreCase("asc") || token.equalsIgnoreCase("desc");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.crud_app.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Filter parameters the list endpoints understand, as JPQL predicates over the view alias (s = Student, c = Course)
+public final class QueryConditions {
+
+    // A predicate with one named parameter, or a flag predicate (no parameter) applied when the value is TRUE
+    public record Condition(String jpql, Function<Object, Object> binder) {
+
+        static Condition param(String jpql) {
+            return new Condition(jpql, Function.identity());
+        }
+
+        static Condition contains(String jpql) {
+            return new Condition(jpql, value -> "%" + value + "%");
+        }
+
+        static Condition flag(String jpql) {
+            return new Condition(jpql, null);
+        }
+
+        public boolean isFlag() {
+            return binder == null;
+        }
+    }
+
+    public static final Map<String, Condition> STUDENT;
+    public static final Map<String, Condition> COURSE;
+
+    static {
+        Map<String, Condition> student = new LinkedHashMap<>();
+        student.put("email", Condition.param("s.email = :email"));
+        student.put("search", Condition.contains("(UPPER(s.name) LIKE UPPER(:search) OR UPPER(s.email) LIKE UPPER(:search))"));
+        student.put("minAge", Condition.param("s.age >= :minAge"));
+        student.put("olderThan", Condition.param("s.age > :olderThan"));
+        student.put("maxAge", Condition.param("s.age <= :maxAge"));
+        student.put("withoutCourses", Condition.flag("NOT EXISTS (SELECT c FROM Course c WHERE c.studentId = s.studentId)"));
+        student.put("minCourses", Condition.param("(SELECT COUNT(c) FROM Course c WHERE c.studentId = s.studentId) >= :minCourses"));
+        STUDENT = Collections.unmodifiableMap(student);
+
+        Map<String, Condition> course = new LinkedHashMap<>();
+        course.put("studentId", Condition.param("c.studentId = :studentId"));
+        course.put("unassigned", Condition.flag("c.studentId IS NULL"));
+        course.put("title", Condition.contains("UPPER(c.title) LIKE UPPER(:title)"));
+        course.put("minCredits", Condition.param("c.credits >= :minCredits"));
+        course.put("maxCredits", Condition.param("c.credits <= :maxCredits"));
+        COURSE = Collections.unmodifiableMap(course);
+    }
+
+    private QueryConditions() {
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.crud_app.repository;
 
+import com.example.crud_app.cache.CachedQuery;
+import com.example.crud_app.cache.TableVersions;
 import com.example.crud_app.model.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -16,6 +18,7 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByAgeGreaterThan(Integer age);
 
     // Find students by age between range
+    @CachedQuery(tables = TableVersions.STUDENTS)
     List<Student> findByAgeBetween(Integer minAge, Integer maxAge);
 
     // Find students by email containing pattern (case-insensitive)
@@ -0,0 +1,61 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.dto.StudentWithCoursesDTO;
+import com.example.crud_app.model.StudentStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentStatsRepository extends JpaRepository<StudentStats, Long> {
+
+    // Reads - students joined with their read model row, straight into the DTO. Outer joins, so a student whose
+    // row has not been written yet (raw SQL, bulk loads before a rebuild) is still listed, with zero totals.
+
+    @Query("SELECT new com.example.crud_app.dto.StudentWithCoursesDTO(s.studentId, s.name, s.email, s.age, COALESCE(st.totalCourses, 0), COALESCE(st.totalCredits, 0)) " +
+           "FROM Student s LEFT JOIN StudentStats st ON st.studentId = s.studentId ORDER BY s.studentId")
+    List<StudentWithCoursesDTO> findAllWithStudent();
+
+    @Query("SELECT new com.example.crud_app.dto.StudentWithCoursesDTO(s.studentId, s.name, s.email, s.age, COALESCE(st.totalCourses, 0), COALESCE(st.totalCredits, 0)) " +
+           "FROM Student s LEFT JOIN StudentStats st ON st.studentId = s.studentId " +
+           "WHERE COALESCE(st.totalCourses, 0) = 0 ORDER BY s.studentId")
+    List<StudentWithCoursesDTO> findWithoutCourses();
+
+    @Query("SELECT new com.example.crud_app.dto.StudentWithCoursesDTO(s.studentId, s.name, s.email, s.age, COALESCE(st.totalCourses, 0), COALESCE(st.totalCredits, 0)) " +
+           "FROM Student s LEFT JOIN StudentStats st ON st.studentId = s.studentId " +
+           "WHERE COALESCE(st.totalCourses, 0) >= :minCourses ORDER BY s.studentId")
+    List<StudentWithCoursesDTO> findWithMinimumCourses(@Param("minCourses") Integer minCourses);
+
+    // Incremental maintenance - relative updates, so concurrent writers never lose each other's changes
+
+    @Modifying
+    @Query(value = "INSERT INTO student_stats (student_id, total_courses, total_credits) VALUES (:studentId, 0, 0)",
+           nativeQuery = true)
+    int insertEmpty(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("DELETE FROM StudentStats st WHERE st.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("UPDATE StudentStats st SET st.totalCourses = st.totalCourses + :courses, " +
+           "st.totalCredits = st.totalCredits + :credits WHERE st.studentId = :studentId")
+    int adjust(@Param("studentId") Long studentId, @Param("courses") int courses, @Param("credits") int credits);
+
+    // Full rebuild
+
+    @Modifying
+    @Query(value = "DELETE FROM student_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO student_stats (student_id, total_courses, total_credits) " +
+                   "SELECT s.student_id, count(c.course_id), coalesce(sum(c.credits), 0) " +
+                   "FROM students s LEFT JOIN courses c ON c.student_id = s.student_id " +
+                   "GROUP BY s.student_id", nativeQuery = true)
+    int insertAllFromCourses();
+}
@@ -0,0 +1,160 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.DistributionDTO;
+import com.example.crud_app.dto.HistogramBucketDTO;
+import com.example.crud_app.repository.AnalyticsMetric;
+import com.example.crud_app.repository.AnalyticsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    public static final List<Double> DEFAULT_PERCENTILES = List.of(0.5, 0.9, 0.99);
+    private static final int MAX_PERCENTILES = 10;
+    private static final int MAX_BOUNDARIES = 50;
+
+    private final AnalyticsRepository analyticsRepository;
+
+    // Full distribution of one metric; null percentiles/boundaries fall back to the metric defaults
+    public DistributionDTO getDistribution(AnalyticsMetric metric, List<Double> percentiles, List<Integer> boundaries) {
+        List<Double> fractions = validatePercentiles(percentiles == null ? DEFAULT_PERCENTILES : percentiles);
+        List<Integer> bounds = validateBoundaries(boundaries == null ? metric.getDefaultBoundaries() : boundaries);
+
+        Map<String, Object> summary = analyticsRepository.summarize(metric, fractions);
+        Map<String, Double> percentileValues = new LinkedHashMap<>();
+        for (int i = 0; i < fractions.size(); i++) {
+            Number value = (Number) summary.get("p" + i);
+            percentileValues.put(percentileKey(fractions.get(i)), value == null ? null : value.doubleValue());
+        }
+
+        Number average = (Number) summary.get("average");
+        Number minimum = (Number) summary.get("minimum");
+        Number maximum = (Number) summary.get("maximum");
+
+        return DistributionDTO.builder()
+                .metric(metric.name().toLowerCase(Locale.ROOT))
+                .count(((Number) summary.get("count")).longValue())
+                .average(average == null ? null : round(average.doubleValue()))
+                .minimum(minimum == null ? null : minimum.intValue())
+                .maximum(maximum == null ? null : maximum.intValue())
+                .percentiles(percentileValues)
+                .histogram(buildHistogram(metric, bounds))
+                .build();
+    }
+
+    // Histogram as label -> count, in bucket order (the shape the Thymeleaf pages chart)
+    public Map<String, Long> getHistogram(AnalyticsMetric metric, List<Integer> boundaries) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        buildHistogram(metric, validateBoundaries(boundaries == null ? metric.getDefaultBoundaries() : boundaries))
+                .forEach(bucket -> histogram.put(bucket.getLabel(), bucket.getCount()));
+        return histogram;
+    }
+
+    public double getAverage(AnalyticsMetric metric) {
+        Number average = (Number) analyticsRepository.summarize(metric, List.of()).get("average");
+        return average == null ? 0.0 : round(average.doubleValue());
+    }
+
+    // totalStudents, studentsWithCourses, studentsWithoutCourses
+    public Map<String, Long> getStudentCounts() {
+        Map<String, Object> row = analyticsRepository.studentCounts();
+        long total = ((Number) row.get("total")).longValue();
+        long withCourses = ((Number) row.get("with_courses")).longValue();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("totalStudents", total);
+        counts.put("studentsWithCourses", withCourses);
+        counts.put("studentsWithoutCourses", total - withCourses);
+        return counts;
+    }
+
+    // totalCourses, assignedCourses, unassignedCourses
+    public Map<String, Long> getCourseCounts() {
+        Map<String, Object> row = analyticsRepository.courseCounts();
+        long total = ((Number) row.get("total")).longValue();
+        long assigned = ((Number) row.get("assigned")).longValue();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("totalCourses", total);
+        counts.put("assignedCourses", assigned);
+        counts.put("unassignedCourses", total - assigned);
+        return counts;
+    }
+
+    // One entry per bucket (including empty ones), labelled like the old hard-coded groups: "16-20", "21-25", "31+"
+    private List<HistogramBucketDTO> buildHistogram(AnalyticsMetric metric, List<Integer> bounds) {
+        Map<Integer, Long> counts = analyticsRepository.histogram(metric, bounds);
+        List<HistogramBucketDTO> buckets = new ArrayList<>(bounds.size() + 1);
+
+        for (int bucket = 0; bucket <= bounds.size(); bucket++) {
+            Integer lower = bucket == 0 ? null : bounds.get(bucket - 1);
+            Integer upper = bucket == bounds.size() ? null : bounds.get(bucket);
+            long count = counts.getOrDefault(bucket, 0L);
+
+            // Nothing can fall below the metric's minimum value, so skip an empty leading bucket there
+            if (bucket == 0 && upper <= metric.getMinimumValue() && count == 0) {
+                continue;
+            }
+            buckets.add(HistogramBucketDTO.builder()
+                    .label(label(metric, lower, upper))
+                    .lowerBound(lower)
+                    .upperBound(upper)
+                    .count(count)
+                    .build());
+        }
+        return buckets;
+    }
+
+    private static String label(AnalyticsMetric metric, Integer lower, Integer upper) {
+        if (upper == null) {
+            return lower + "+" + metric.getUnit();
+        }
+        int from = lower == null ? Math.min(metric.getMinimumValue(), upper - 1) : lower;
+        int to = upper - 1;
+        return (from == to ? String.valueOf(from) : from + "-" + to) + metric.getUnit();
+    }
+
+    private static List<Double> validatePercentiles(List<Double> percentiles) {
+        if (percentiles.size() > MAX_PERCENTILES) {
+            throw new IllegalArgumentException("At most " + MAX_PERCENTILES + " percentiles may be requested");
+        }
+        for (Double p : percentiles) {
+            if (p == null || p < 0.0 || p > 1.0) {
+                throw new IllegalArgumentException("Percentiles must be fractions between 0 and 1, got " + p);
+            }
+        }
+        return percentiles;
+    }
+
+    private static List<Integer> validateBoundaries(List<Integer> boundaries) {
+        if (boundaries.isEmpty() || boundaries.size() > MAX_BOUNDARIES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BOUNDARIES + " bucket boundaries are required");
+        }
+        for (int i = 0; i < boundaries.size(); i++) {
+            if (boundaries.get(i) == null || (i > 0 && boundaries.get(i) <= boundaries.get(i - 1))) {
+                throw new IllegalArgumentException("Bucket boundaries must be strictly ascending: " + boundaries);
+            }
+        }
+        return boundaries;
+    }
+
+    // 0.5 -> "p50", 0.999 -> "p99.9"
+    private static String percentileKey(double fraction) {
+        return "p" + BigDecimal.valueOf(fraction * 100).stripTrailingZeros().toPlainString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
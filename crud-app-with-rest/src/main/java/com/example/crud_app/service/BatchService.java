@@ -0,0 +1,200 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.BatchOperationDTO;
+import com.example.crud_app.dto.BatchResultDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Executes a list of /api/students and /api/courses calls for one client round trip.
+// Each operation is dispatched in-process through the DispatcherServlet, so it goes through exactly the same
+// controllers, validation and error handling as a direct call, without a loopback connection or a second pass
+// through the servlet filters. Consecutive GETs run concurrently; a write waits for everything before it and
+// blocks everything after it, so results match sequential order.
+@Service
+public class BatchService {
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "DELETE");
+    private static final List<String> ALLOWED_PREFIXES = List.of("/api/students", "/api/courses");
+
+    private final DispatcherServlet dispatcherServlet;
+    private final ObjectMapper objectMapper;
+    private final int maxOperations;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+
+    public BatchService(DispatcherServlet dispatcherServlet,
+                        ObjectMapper objectMapper,
+                        @Value("${app.batch.max-operations:20}") int maxOperations,
+                        @Value("${app.batch.timeout-ms:10000}") long timeoutMillis,
+                        @Value("${app.batch.threads:8}") int threads) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.objectMapper = objectMapper;
+        this.maxOperations = maxOperations;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "batch-operation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Validate the whole batch up front; an invalid operation rejects the batch before anything runs
+    public void validate(List<BatchOperationDTO> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one operation");
+        }
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("Batch may contain at most " + maxOperations + " operations");
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO operation = operations.get(i);
+            String method = methodOf(operation);
+            if (!METHODS.contains(method)) {
+                throw new IllegalArgumentException("Operation " + i + ": unsupported method " + operation.getMethod());
+            }
+            if (!isAllowedPath(operation.getPath())) {
+                throw new IllegalArgumentException("Operation " + i
+                        + ": path must be a plain path under /api/students or /api/courses");
+            }
+        }
+    }
+
+    // The operations run as the batch request's client (remote address, session), each with its own response
+    public CompletableFuture<List<BatchResultDTO>> execute(List<BatchOperationDTO> operations,
+                                                           HttpServletRequest batchRequest,
+                                                           HttpServletResponse batchResponse) {
+        validate(operations);
+
+        List<CompletableFuture<BatchResultDTO>> results = new ArrayList<>(operations.size());
+        // Everything issued so far; a write starts only after all of it has finished
+        CompletableFuture<Void> issued = CompletableFuture.completedFuture(null);
+        // The last write; reads start only after it has finished
+        CompletableFuture<Void> lastWrite = issued;
+
+        for (BatchOperationDTO operation : operations) {
+            CompletableFuture<BatchResultDTO> result;
+            if ("GET".equals(methodOf(operation))) {
+                result = lastWrite.thenCompose(ignored -> send(operation, batchRequest, batchResponse));
+            } else {
+                result = issued.thenCompose(ignored -> send(operation, batchRequest, batchResponse));
+                lastWrite = result.thenApply(ignored -> null);
+            }
+            results.add(result);
+            issued = CompletableFuture.allOf(issued, result);
+        }
+
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    private CompletableFuture<BatchResultDTO> send(BatchOperationDTO operation,
+                                                   HttpServletRequest batchRequest,
+                                                   HttpServletResponse batchResponse) {
+        return CompletableFuture.supplyAsync(() -> dispatch(operation, batchRequest, batchResponse), executor)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                // A failed operation is reported in its own slot instead of failing the whole batch
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    HttpStatus status = cause instanceof TimeoutException
+                            ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.INTERNAL_SERVER_ERROR;
+                    return result(operation, status.value(), errorBody("Sub-request failed: " + cause));
+                });
+    }
+
+    private BatchResultDTO dispatch(BatchOperationDTO operation,
+                                    HttpServletRequest batchRequest,
+                                    HttpServletResponse batchResponse) {
+        try {
+            byte[] body = operation.getBody() == null ? new byte[0] : objectMapper.writeValueAsBytes(operation.getBody());
+            BatchSubRequest request = new BatchSubRequest(batchRequest, methodOf(operation), operation.getPath(), body);
+            BatchSubResponse response = new BatchSubResponse(batchResponse);
+            dispatcherServlet.service(request, response);
+
+            if (response.getErrorMessage() != null || (response.getStatus() >= 400 && response.getBody().length == 0)) {
+                // sendError: the container would render its error page here
+                HttpStatus status = HttpStatus.resolve(response.getStatus());
+                String message = response.getErrorMessage() != null ? response.getErrorMessage()
+                        : status != null ? status.getReasonPhrase() : "Error";
+                return result(operation, response.getStatus(), errorBody(message));
+            }
+            return result(operation, response.getStatus(), parseBody(response.getBody()));
+        } catch (Exception e) {
+            // Exceptions no handler resolved (ServletException wraps them), as the /error page would report them
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return result(operation, HttpStatus.INTERNAL_SERVER_ERROR.value(), errorBody(cause.getMessage()));
+        }
+    }
+
+    private BatchResultDTO result(BatchOperationDTO operation, int status, JsonNode body) {
+        return BatchResultDTO.builder()
+                .id(operation.getId())
+                .status(status)
+                .body(body)
+                .build();
+    }
+
+    private JsonNode errorBody(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return objectMapper.valueToTree(error);
+    }
+
+    private JsonNode parseBody(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return TextNode.valueOf(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String methodOf(BatchOperationDTO operation) {
+        return operation.getMethod() == null ? "GET" : operation.getMethod().toUpperCase(Locale.ROOT);
+    }
+
+    // Only plain, already-normalized paths: no dot segments, encodings (%2e%2e), matrix parameters (;) or
+    // backslashes that a path matcher could resolve to somewhere else, e.g. an /admin/** endpoint
+    private static boolean isAllowedPath(String path) {
+        if (path == null || path.contains("#")) {
+            return false;
+        }
+        int query = path.indexOf('?');
+        String pathOnly = query < 0 ? path : path.substring(0, query);
+        if (pathOnly.contains("..") || pathOnly.contains("//") || pathOnly.contains("%")
+                || pathOnly.contains(";") || pathOnly.contains("\\") || pathOnly.startsWith("/admin")) {
+            return false;
+        }
+        return ALLOWED_PREFIXES.stream().anyMatch(prefix ->
+                pathOnly.equals(prefix) || pathOnly.startsWith(prefix + "/"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.ChangeBatchDTO;
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.model.ChangeLogEntry;
+import com.example.crud_app.repository.ChangeLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final long MAX_WAIT_MILLIS = 25_000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogSequencer changeLogSequencer;
+    private final ObjectMapper objectMapper;
+
+    // Long-poll requests waiting for changes after their cursor
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(r -> new Thread(r, "change-feed-notifier"));
+    private final AtomicBoolean passScheduled = new AtomicBoolean();
+
+    // Outbox write - runs synchronously inside the service transaction that made the change
+    @EventListener
+    public void recordChange(EntityChangedEvent event) {
+        changeLogRepository.save(ChangeLogEntry.builder()
+                .entityType(event.getEntityType().name())
+                .entityId(event.getEntityId())
+                .operation(event.getOperation().name())
+                .changedAt(Instant.now())
+                .payload(toJson(event.getAfter()))
+                .build());
+    }
+
+    // Once the change is committed (and visible), give it a feed position and wake up long-polling consumers.
+    // A burst of commits costs one pass.
+    @TransactionalEventListener
+    public void changeCommitted(EntityChangedEvent event) {
+        schedulePass();
+    }
+
+    // Rows committed without a local event - other instances, bulk loads, raw SQL - are sequenced by this periodic
+    // pass. Readers never sequence, so GET /api/changes and long-poll wakeups stay plain reads.
+    @Scheduled(fixedDelayString = "${app.change-feed.sequence-interval-ms:1000}")
+    public void sequenceInBackground() {
+        schedulePass();
+    }
+
+    private void schedulePass() {
+        if (passScheduled.compareAndSet(false, true)) {
+            notifier.execute(() -> {
+                passScheduled.set(false);
+                changeLogSequencer.sequencePending();
+                // Also after an empty pass: another instance may have sequenced rows these waiters are after
+                if (!waiters.isEmpty()) {
+                    wakeWaiters();
+                }
+            });
+        }
+    }
+
+    // The cursor is a feed position: changes are served in the order they became visible, never by change_id.
+    // Committed rows show up here once the next sequencing pass has given them a position.
+    public ChangeBatchDTO getChanges(Long cursor, int limit) {
+        return toBatch(fetchAfter(cursor, limit), cursor, limit, false);
+    }
+
+    // Fetches one extra row to know whether more changes are waiting
+    private List<ChangeLogEntry> fetchAfter(Long cursor, int limit) {
+        return changeLogRepository.findByFeedPositionGreaterThanOrderByFeedPositionAsc(
+                cursor, PageRequest.of(0, batchSize(limit) + 1));
+    }
+
+    // truncated: entries is a prefix of what is available, so there are more changes even if it fits the batch
+    private ChangeBatchDTO toBatch(List<ChangeLogEntry> entries, Long cursor, int limit, boolean truncated) {
+        int batchSize = batchSize(limit);
+        boolean hasMore = entries.size() > batchSize || truncated;
+        List<ChangeLogEntry> batch = hasMore ? entries.subList(0, batchSize) : entries;
+        Long nextCursor = batch.isEmpty() ? cursor : batch.get(batch.size() - 1).getFeedPosition();
+
+        return ChangeBatchDTO.builder()
+                .changes(batch)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private int batchSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_BATCH_SIZE));
+    }
+
+    // Long poll: answer immediately if changes exist, otherwise wait up to waitMillis for the next commit
+    public CompletableFuture<ChangeBatchDTO> awaitChanges(Long cursor, int limit, long waitMillis) {
+        ChangeBatchDTO batch = getChanges(cursor, limit);
+        if (!batch.getChanges().isEmpty() || waitMillis <= 0) {
+            return CompletableFuture.completedFuture(batch);
+        }
+
+        Waiter waiter = new Waiter(cursor, limit, new CompletableFuture<>());
+        waiters.add(waiter);
+        waiter.result
+                .completeOnTimeout(batch, Math.min(waitMillis, MAX_WAIT_MILLIS), TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> waiters.remove(waiter));
+
+        // A commit may have slipped in between the first read and the registration
+        notifier.execute(this::wakeWaiters);
+        return waiter.result;
+    }
+
+    // One read from the oldest waiting cursor, fanned out to every waiter; only a waiter whose cursor lies beyond
+    // that page gets a read of its own
+    private void wakeWaiters() {
+        List<Waiter> pending = new ArrayList<>();
+        long oldestCursor = Long.MAX_VALUE;
+        for (Waiter waiter : waiters) {
+            if (!waiter.result.isDone()) {
+                pending.add(waiter);
+                oldestCursor = Math.min(oldestCursor, waiter.cursor);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<ChangeLogEntry> page;
+        try {
+            page = fetchAfter(oldestCursor, MAX_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            pending.forEach(waiter -> waiter.result.completeExceptionally(e));
+            return;
+        }
+        boolean pageComplete = page.size() <= MAX_BATCH_SIZE;
+
+        for (Waiter waiter : pending) {
+            try {
+                List<ChangeLogEntry> entries = page.stream()
+                        .filter(entry -> entry.getFeedPosition() > waiter.cursor)
+                        .toList();
+                boolean truncated = !pageComplete;
+                if (entries.isEmpty() && truncated) {
+                    entries = fetchAfter(waiter.cursor, waiter.limit);
+                    truncated = false;
+                }
+                if (!entries.isEmpty()) {
+                    waiter.result.complete(toBatch(entries, waiter.cursor, waiter.limit, truncated));
+                }
+            } catch (RuntimeException e) {
+                waiter.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private String toJson(Object state) {
+        if (state == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize change payload", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private record Waiter(Long cursor, int limit, CompletableFuture<ChangeBatchDTO> result) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.crud_app.service;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Hands out feed positions (change_log.feed_position) to committed change_log rows.
+// change_id is assigned when a row is inserted, but transactions commit in any order: a consumer that had already
+// read id N+1 would never see id N committing after it. Positions are only given to rows that are already visible,
+// by one sequencer at a time (advisory lock across instances), so every new position is larger than any position
+// a consumer may have read before. The change feed cursor and the snapshot watermark are feed positions.
+@Component
+public class ChangeLogSequencer {
+
+    // pg_advisory_xact_lock key shared by every instance on the same database
+    private static final long LOCK_KEY = 0x6368616e67656c6fL;
+    private static final int MAX_ROWS_PER_PASS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate sequencerTransaction;
+    private final Object localLock = new Object();
+
+    public ChangeLogSequencer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequencerTransaction = new TransactionTemplate(transactionManager);
+        this.sequencerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Sequences every change_log row committed so far; returns how many rows got a position
+    public int sequencePending() {
+        int total = 0;
+        int sequenced;
+        do {
+            sequenced = sequenceOnce();
+            total += sequenced;
+        } while (sequenced == MAX_ROWS_PER_PASS);
+        return total;
+    }
+
+    private int sequenceOnce() {
+        // Cheap check outside the lock: nothing committed since the last pass
+        if (unsequenced(1).isEmpty()) {
+            return 0;
+        }
+        synchronized (localLock) {
+            Integer sequenced = sequencerTransaction.execute(status -> {
+                if (isPostgres()) {
+                    // Held until commit, so the positions of two passes never interleave
+                    jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, LOCK_KEY);
+                }
+                // Re-read under the lock; statements run in change_id order, so positions follow it within a pass
+                List<Long> ids = unsequenced(MAX_ROWS_PER_PASS);
+                jdbcTemplate.batchUpdate("UPDATE change_log SET feed_position = nextval('change_log_feed_position_seq')"
+                        + " WHERE change_id = ? AND feed_position IS NULL", ids, ids.size(),
+                        (statement, id) -> statement.setLong(1, id));
+                return ids.size();
+            });
+            return sequenced != null ? sequenced : 0;
+        }
+    }
+
+    private List<Long> unsequenced(int limit) {
+        return jdbcTemplate.queryForList("SELECT change_id FROM change_log WHERE feed_position IS NULL"
+                + " ORDER BY change_id LIMIT ?", Long.class, limit);
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>) connection -> connection.isWrapperFor(PGConnection.class));
+        return Boolean.TRUE.equals(postgres);
+    }
+}
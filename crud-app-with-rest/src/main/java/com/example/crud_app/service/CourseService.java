@@ -1,17 +1,27 @@
 package com.example.crud_app.service;
 
 import com.example.crud_app.dto.CourseDTO;
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.index.CourseOwnershipIndex;
+import com.example.crud_app.event.EntityChangedEvent.Operation;
 import com.example.crud_app.model.Course;
 import com.example.crud_app.model.Student;
 import com.example.crud_app.repository.CourseRepository;
+import com.example.crud_app.repository.DynamicQueryRepository;
+import com.example.crud_app.repository.ProjectionView;
 import com.example.crud_app.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @Transactional
@@ -20,33 +30,51 @@ public class CourseService {
 
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
+    private final DynamicQueryRepository dynamicQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final StudentBatchLoader studentBatchLoader;
+    private final LeaderboardService leaderboardService;
 
     // Basic CRUD operations
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Course> getCourseById(Long id) {
         return courseRepository.findById(id);
     }
 
     public Course saveCourse(Course course) {
-        return courseRepository.save(course);
+        Course before = course.getCourseId() == null ? null
+                : courseRepository.findById(course.getCourseId()).map(EntityChangedEvent::copyOf).orElse(null);
+        Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(EntityChangedEvent.courseChanged(
+                before == null ? Operation.INSERT : Operation.UPDATE, before, saved));
+        return saved;
     }
 
     public void deleteCourseById(Long id) {
+        Optional<Course> course = courseRepository.findById(id);
         courseRepository.deleteById(id);
+        course.ifPresent(deleted -> eventPublisher.publishEvent(
+                EntityChangedEvent.courseChanged(Operation.DELETE, deleted, null)));
     }
 
     public Course updateCourse(Long id, Course courseDetails) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+        Course before = EntityChangedEvent.copyOf(course);
 
         course.setTitle(courseDetails.getTitle());
         course.setCredits(courseDetails.getCredits());
         course.setStudentId(courseDetails.getStudentId());
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(EntityChangedEvent.courseChanged(Operation.UPDATE, before, saved));
+        return saved;
     }
 
     public Course createCourseForStudent(Long studentId, Course course) {
@@ -55,14 +83,35 @@ public class CourseService {
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
 
         course.setStudentId(studentId);
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(EntityChangedEvent.courseChanged(Operation.INSERT, null, saved));
+        return saved;
     }
 
     // DTO conversion methods
     public CourseDTO convertToCourseDTO(Course course) {
+        Optional<Student> student = course.getStudentId() == null ? Optional.empty()
+                : studentBatchLoader.find(course.getStudentId());
+        return convertToCourseDTO(course, student);
+    }
+
+    // Lists: look every student up at once, then build the DTOs
+    public List<CourseDTO> convertToCourseDTOs(List<Course> courses) {
+        Map<Long, Student> students = studentBatchLoader.findAsMap(courses.stream()
+                .map(Course::getStudentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<CourseDTO> dtos = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            dtos.add(convertToCourseDTO(course, Optional.ofNullable(students.get(course.getStudentId()))));
+        }
+        return dtos;
+    }
+
+    private CourseDTO convertToCourseDTO(Course course, Optional<Student> student) {
         String studentName = null;
         if (course.getStudentId() != null) {
-            Optional<Student> student = studentRepository.findById(course.getStudentId());
             studentName = student.map(Student::getName).orElse("Unknown Student");
         }
 
@@ -77,17 +126,24 @@ public class CourseService {
 
     // DTO-based service methods
     public List<CourseDTO> getAllCourseDTOs() {
-        return courseRepository.findAll()
-                .stream()
-                .map(this::convertToCourseDTO)
-                .collect(Collectors.toList());
+        return convertToCourseDTOs(courseRepository.findAll());
     }
 
     public List<CourseDTO> getCoursesByStudent(Long studentId) {
-        return courseRepository.findByStudentId(studentId)
-                .stream()
-                .map(this::convertToCourseDTO)
-                .collect(Collectors.toList());
+        return convertToCourseDTOs(courseRepository.findByStudentId(studentId));
+    }
+
+    // Composable filtering - any subset of the list filters (plus sort) compiled into a single query
+    @Transactional(readOnly = true)
+    public List<Course> findCourses(Map<String, Object> filters, String sort) {
+        return dynamicQueryRepository.findEntities(ProjectionView.COURSE, Course.class, filters, sort);
+    }
+
+    // Sparse fieldsets - read only the requested columns, without hydrating managed entities
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getCourseFields(ProjectionView view, List<String> fields,
+                                                  Map<String, Object> filters, String sort) {
+        return dynamicQueryRepository.findFields(view, ProjectionView.normalize(fields), filters, sort);
     }
 
     // Methods using derived queries
@@ -95,6 +151,7 @@ public class CourseService {
         return courseRepository.findByCreditsGreaterThanEqualOrderByCreditsDesc(minCredits);
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getUnassignedCourses() {
         return courseRepository.findByStudentIdIsNull();
     }
@@ -103,6 +160,7 @@ public class CourseService {
         return courseRepository.findByStudentIdIsNotNull();
     }
 
+    @Transactional(readOnly = true)
     public List<Course> searchCoursesByTitle(String titlePattern) {
         return courseRepository.findByTitleContainingIgnoreCase(titlePattern);
     }
@@ -111,6 +169,7 @@ public class CourseService {
         return courseRepository.findByCreditsBetween(minCredits, maxCredits);
     }
 
+    @Transactional(readOnly = true)
     public Integer getTotalCreditsByStudentId(Long studentId) {
         return courseRepository.findByStudentId(studentId)
                 .stream()
@@ -119,15 +178,16 @@ public class CourseService {
     }
 
     public Long countCoursesByStudent(Long studentId) {
-        return courseRepository.countByStudentId(studentId);
+        return (long) courseOwnershipIndex.courseCount(studentId);
     }
 
     public Long countUnassignedCourses() {
         return courseRepository.countByStudentIdIsNull();
     }
 
+    // Served from the in-memory leaderboard (app.leaderboards.courses.*)
     public List<Course> getTopCoursesByCredits() {
-        return courseRepository.findTop5ByOrderByCreditsDesc();
+        return leaderboardService.getTopCourses();
     }
 
     public boolean existsByTitle(String title) {
@@ -136,10 +196,7 @@ public class CourseService {
 
     // Advanced DTO methods with aggregated data
     public List<CourseDTO> getCoursesWithStudentInfo() {
-        return courseRepository.findByStudentIdIsNotNull()
-                .stream()
-                .map(this::convertToCourseDTO)
-                .collect(Collectors.toList());
+        return convertToCourseDTOs(courseRepository.findByStudentIdIsNotNull());
     }
 
     // Additional methods needed for the updated controller
@@ -152,6 +209,7 @@ public class CourseService {
                 .map(this::convertToCourseDTO);
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByStudentId(Long studentId) {
         return courseRepository.findByStudentId(studentId);
     }
@@ -165,7 +223,7 @@ public class CourseService {
     }
 
     public Long countCoursesByStudentId(Long studentId) {
-        return courseRepository.countByStudentId(studentId);
+        return (long) courseOwnershipIndex.courseCount(studentId);
     }
 
     public Long countCoursesByCredits(Integer credits) {
@@ -181,16 +239,14 @@ public class CourseService {
             return null; // Course is not assigned to any student
         }
 
-        return studentRepository.findById(course.getStudentId())
+        return studentBatchLoader.find(course.getStudentId())
                 .orElse(null); // Student might have been deleted
     }
 
     public List<Student> getStudentsTakingCourses() {
-        // Get all students who have at least one course assigned
-        List<Long> studentIds = courseRepository.findAll().stream()
-                .map(Course::getStudentId)
-                .filter(id -> id != null)
-                .distinct()
+        // Get all students who have at least one course assigned (ids straight from the ownership index)
+        List<Long> studentIds = LongStream.of(courseOwnershipIndex.studentsWithCourses())
+                .boxed()
                 .collect(Collectors.toList());
 
         return studentRepository.findAllById(studentIds);
@@ -204,15 +260,19 @@ public class CourseService {
         studentRepository.findById(newStudentId)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + newStudentId));
 
+        Course before = EntityChangedEvent.copyOf(course);
         course.setStudentId(newStudentId);
         courseRepository.save(course);
+        eventPublisher.publishEvent(EntityChangedEvent.courseChanged(Operation.UPDATE, before, course));
     }
 
     public void unassignCourse(Long courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
 
+        Course before = EntityChangedEvent.copyOf(course);
         course.setStudentId(null);
         courseRepository.save(course);
+        eventPublisher.publishEvent(EntityChangedEvent.courseChanged(Operation.UPDATE, before, course));
     }
 }
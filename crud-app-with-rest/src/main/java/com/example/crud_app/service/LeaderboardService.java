@@ -0,0 +1,107 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.leaderboard.Leaderboard;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import com.example.crud_app.repository.CourseRepository;
+import com.example.crud_app.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Top-K students and courses (index page, /api/students/stats, /api/courses/stats) kept in memory and
+// updated from committed student/course changes, instead of sorting the tables on every call.
+// K, the sort key and its direction are configurable per leaderboard (app.leaderboards.*). Sort keys are numeric
+// columns only: text would be ordered by Java here but by the database collation in the refill query.
+@Service
+public class LeaderboardService {
+
+    private final Leaderboard<Student> students;
+    private final Leaderboard<Course> courses;
+
+    public LeaderboardService(StudentRepository studentRepository,
+                              CourseRepository courseRepository,
+                              @Value("${app.leaderboards.headroom:4}") int headroom,
+                              @Value("${app.leaderboards.students.size:5}") int studentsSize,
+                              @Value("${app.leaderboards.students.sort:age}") String studentsSort,
+                              @Value("${app.leaderboards.students.direction:desc}") String studentsDirection,
+                              @Value("${app.leaderboards.courses.size:5}") int coursesSize,
+                              @Value("${app.leaderboards.courses.sort:credits}") String coursesSort,
+                              @Value("${app.leaderboards.courses.direction:desc}") String coursesDirection) {
+        Sort.Direction studentsOrder = Sort.Direction.fromString(studentsDirection);
+        Sort.Direction coursesOrder = Sort.Direction.fromString(coursesDirection);
+
+        // Same order in memory and in the refill query: sort key, then id ascending
+        this.students = new Leaderboard<>("students", studentsSize, studentsSize * headroom,
+                direction(studentComparator(studentsSort), studentsOrder), Student::getStudentId,
+                EntityChangedEvent::copyOf,
+                limit -> studentRepository.findAll(PageRequest.of(0, limit,
+                        Sort.by(studentsOrder, studentsSort).and(Sort.by("studentId")))).getContent());
+        this.courses = new Leaderboard<>("courses", coursesSize, coursesSize * headroom,
+                direction(courseComparator(coursesSort), coursesOrder), Course::getCourseId,
+                EntityChangedEvent::copyOf,
+                limit -> courseRepository.findAll(PageRequest.of(0, limit,
+                        Sort.by(coursesOrder, coursesSort).and(Sort.by("courseId")))).getContent());
+    }
+
+    public synchronized List<Student> getTopStudents() {
+        return students.top();
+    }
+
+    public synchronized List<Course> getTopCourses() {
+        return courses.top();
+    }
+
+    // Applied after commit, so the leaderboards only ever reflect committed rows
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void entityChanged(EntityChangedEvent event) {
+        if (event.isStudent()) {
+            if (event.getOperation() == EntityChangedEvent.Operation.DELETE) {
+                students.delete(event.getEntityId());
+            } else {
+                students.upsert(event.getStudentAfter());
+            }
+        } else if (event.getOperation() == EntityChangedEvent.Operation.DELETE) {
+            courses.delete(event.getEntityId());
+        } else {
+            courses.upsert(event.getCourseAfter());
+        }
+    }
+
+    // Reload from the database on next use (after bulk writes that bypassed the services)
+    public synchronized void invalidate() {
+        students.invalidate();
+        courses.invalidate();
+    }
+
+    public synchronized Map<String, Object> describe() {
+        return Map.of("students", students.describe(), "courses", courses.describe());
+    }
+
+    private static Comparator<Student> studentComparator(String sort) {
+        return switch (sort) {
+            case "age" -> Comparator.comparing(Student::getAge);
+            case "studentId" -> Comparator.comparing(Student::getStudentId);
+            default -> throw new IllegalArgumentException("Unsupported student leaderboard sort key: " + sort);
+        };
+    }
+
+    private static Comparator<Course> courseComparator(String sort) {
+        return switch (sort) {
+            case "credits" -> Comparator.comparing(Course::getCredits);
+            case "courseId" -> Comparator.comparing(Course::getCourseId);
+            default -> throw new IllegalArgumentException("Unsupported course leaderboard sort key: " + sort);
+        };
+    }
+
+    private static <T> Comparator<T> direction(Comparator<T> comparator, Sort.Direction direction) {
+        return direction.isDescending() ? comparator.reversed() : comparator;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.cache.TableVersions;
+import com.example.crud_app.dto.ReportDTO;
+import com.example.crud_app.snapshot.DataSnapshot;
+import com.example.crud_app.snapshot.SnapshotService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Generates the /reports data set on a small bounded executor instead of the request thread, from the in-memory
+// snapshot (brought up to date first) rather than by re-reading the tables.
+// Callers get a job id to poll; a finished report is reused by later submissions until a student or course
+// change bumps the students/courses table versions, and a submission while a job for the current version is queued or running
+// joins that job. A full queue is reported to the caller (RejectedExecutionException) rather than growing.
+@Slf4j
+@Service
+public class ReportJobService {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final SnapshotService snapshotService;
+    private final TableVersions tableVersions;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private volatile Job latest;
+
+    public ReportJobService(SnapshotService snapshotService,
+                            TableVersions tableVersions,
+                            @Value("${app.reports.threads:2}") int threads,
+                            @Value("${app.reports.queue-capacity:16}") int queueCapacity,
+                            @Value("${app.reports.retention-minutes:30}") long retentionMinutes) {
+        this.snapshotService = snapshotService;
+        this.tableVersions = tableVersions;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> new Thread(r, "report-job-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final long dataVersion;
+        private final Instant submittedAt = Instant.now();
+        private volatile Status status = Status.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile ReportDTO report;
+        private volatile String error;
+
+        private Job(long dataVersion) {
+            this.dataVersion = dataVersion;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public ReportDTO getReport() {
+            return report;
+        }
+
+        public Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("jobId", id);
+            description.put("status", status);
+            description.put("dataVersion", dataVersion);
+            description.put("submittedAt", submittedAt);
+            description.put("startedAt", startedAt);
+            description.put("finishedAt", finishedAt);
+            if (error != null) {
+                description.put("error", error);
+            }
+            return description;
+        }
+    }
+
+    // Job for the current data: the finished or in-flight one if there is one, otherwise a newly queued job
+    // (throws RejectedExecutionException when the queue is full)
+    public synchronized Job submit() {
+        long version = tableVersions.version(TableVersions.STUDENTS, TableVersions.COURSES);
+        Job current = latest;
+        if (current != null && current.dataVersion == version && current.status != Status.FAILED) {
+            return current;
+        }
+
+        expireOldJobs();
+        Job job = new Job(version);
+        executor.execute(() -> generate(job));
+        jobs.put(job.id, job);
+        latest = job;
+        return job;
+    }
+
+    public Optional<Job> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void generate(Job job) {
+        job.startedAt = Instant.now();
+        job.status = Status.RUNNING;
+        long started = System.nanoTime();
+        try {
+            DataSnapshot snapshot = snapshotService.upToDate();
+            job.report = ReportDTO.builder()
+                    .dataVersion(job.dataVersion)
+                    .generatedAt(Instant.now())
+                    .studentSummaries(snapshot.studentSummaries())
+                    .studentsWithStats(snapshot.studentsWithCourseStats())
+                    .courseDTOs(snapshot.courseDTOs())
+                    .generationMillis((System.nanoTime() - started) / 1_000_000)
+                    .build();
+            job.status = Status.COMPLETED;
+        } catch (RuntimeException e) {
+            log.warn("Report job {} failed", job.id, e);
+            job.error = e.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    // Finished jobs are kept for the retention period, except the latest one (its report may still be reused)
+    private void expireOldJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job != latest && job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.crud_app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+public class SingleFlightService {
+
+    // How long a finished result may be handed out again before it is recomputed (0 = only share in-flight calls)
+    private final long freshnessMillis;
+
+    // One entry per key: either still computing or holding a recently completed result
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    public SingleFlightService(@Value("${app.single-flight.freshness-ms:0}") long freshnessMillis) {
+        this.freshnessMillis = freshnessMillis;
+    }
+
+    // Build a cache key from the endpoint and its query parameters (sorted, so parameter order does not matter)
+    public static String key(String endpoint, Map<String, ?> params) {
+        if (params == null || params.isEmpty()) {
+            return endpoint;
+        }
+        StringBuilder key = new StringBuilder(endpoint).append('?');
+        new TreeMap<>(params).forEach((name, value) -> {
+            if (value != null) {
+                key.append(name).append('=').append(value).append('&');
+            }
+        });
+        return key.toString();
+    }
+
+    // Run the supplier once for all concurrent callers of the same key and share its result
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> supplier) {
+        while (true) {
+            Flight flight = flights.get(key);
+
+            if (flight == null || flight.isStale(freshnessMillis)) {
+                Flight ownFlight = new Flight();
+                boolean leader = flight == null
+                        ? flights.putIfAbsent(key, ownFlight) == null
+                        : flights.replace(key, flight, ownFlight);
+                if (!leader) {
+                    continue; // Another caller started the computation first - join it instead
+                }
+                return (T) ownFlight.run(key, supplier);
+            }
+
+            try {
+                return (T) flight.result.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return e;
+    }
+
+    private class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long completedAt = -1;
+
+        private Object run(String key, Supplier<?> supplier) {
+            try {
+                Object value = supplier.get();
+                completedAt = System.currentTimeMillis();
+                result.complete(value);
+                if (freshnessMillis <= 0) {
+                    flights.remove(key, this);
+                }
+                return value;
+            } catch (RuntimeException | Error e) {
+                // Failures are never cached: waiting callers see the error, the next caller retries
+                flights.remove(key, this);
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        private boolean isStale(long freshnessMillis) {
+            long finished = completedAt;
+            return finished >= 0 && System.currentTimeMillis() - finished > freshnessMillis;
+        }
+    }
+}
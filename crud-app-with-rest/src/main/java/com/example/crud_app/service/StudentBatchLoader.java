@@ -0,0 +1,176 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.model.Student;
+import com.example.crud_app.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// DataLoader-style batching of student lookups by id across threads and requests.
+// Ids requested with load() within a short window (or until the batch is full) are resolved together with one
+// findAllById on a dispatcher thread; every caller's future is completed from that single query. The same id
+// requested twice in one window shares one future.
+// Blocking lookups (find, findAll, findAsMap) do not wait for the window or the dispatcher: the caller takes the
+// whole pending batch and resolves it itself, completing everyone else's futures in it too. The query then runs
+// on the caller's own connection (its transaction, if any), so a caller that already holds a pooled connection
+// never waits for a second one - with enough such callers the pool would otherwise run dry.
+// Loaded students are detached and may be shared between callers - treat them as read-only.
+@Service
+public class StudentBatchLoader {
+
+    private final StudentRepository studentRepository;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService dispatcher;
+
+    private final Object lock = new Object();
+    // Batch currently collecting ids; replaced (never cleared) when dispatched
+    private Map<Long, CompletableFuture<Optional<Student>>> pending = new HashMap<>();
+
+    public StudentBatchLoader(StudentRepository studentRepository,
+                              @Value("${app.student-loader.window-micros:2000}") long windowMicros,
+                              @Value("${app.student-loader.max-batch-size:100}") int maxBatchSize,
+                              @Value("${app.student-loader.threads:4}") int threads) {
+        this.studentRepository = studentRepository;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger counter = new AtomicInteger();
+        this.dispatcher = Executors.newScheduledThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "student-batch-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<Optional<Student>> load(Long id) {
+        if (id == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        CompletableFuture<Optional<Student>> future;
+        Map<Long, CompletableFuture<Optional<Student>>> full = null;
+        synchronized (lock) {
+            future = pending.get(id);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                if (pending.isEmpty()) {
+                    // First id of a new batch starts the window
+                    Map<Long, CompletableFuture<Optional<Student>>> batch = pending;
+                    dispatcher.schedule(() -> dispatchIfPending(batch), windowMicros, TimeUnit.MICROSECONDS);
+                }
+                pending.put(id, future);
+                if (pending.size() >= maxBatchSize) {
+                    full = pending;
+                    pending = new HashMap<>();
+                }
+            }
+        }
+
+        if (full != null) {
+            Map<Long, CompletableFuture<Optional<Student>>> batch = full;
+            dispatcher.execute(() -> resolve(batch));
+        }
+        return future;
+    }
+
+    // Blocking single lookup - same contract as studentRepository.findById
+    public Optional<Student> find(Long id) {
+        return id == null ? Optional.empty() : resolveNow(List.of(id)).get(id);
+    }
+
+    // Blocking multi-get in the requested order; unknown ids are skipped
+    public List<Student> findAll(Collection<Long> ids) {
+        Map<Long, Optional<Student>> found = resolveNow(ids);
+        List<Student> students = new ArrayList<>(ids.size());
+        ids.forEach(id -> {
+            if (id != null) {
+                found.get(id).ifPresent(students::add);
+            }
+        });
+        return students;
+    }
+
+    // Blocking multi-get by id; unknown (and null) ids are left out
+    public Map<Long, Student> findAsMap(Collection<Long> ids) {
+        Map<Long, Student> students = new HashMap<>();
+        resolveNow(ids).forEach((id, student) -> student.ifPresent(found -> students.put(id, found)));
+        return students;
+    }
+
+    // Adds the ids to the pending batch, takes the batch over and resolves it on the calling thread
+    private Map<Long, Optional<Student>> resolveNow(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Optional<Student>>> awaited = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<Optional<Student>>> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new HashMap<>(); // the scheduled dispatch of the old batch finds nothing to do
+            for (Long id : ids) {
+                if (id != null) {
+                    awaited.put(id, batch.computeIfAbsent(id, key -> new CompletableFuture<>()));
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            resolve(batch);
+        }
+
+        Map<Long, Optional<Student>> found = new LinkedHashMap<>();
+        awaited.forEach((id, future) -> found.put(id, join(future)));
+        return found;
+    }
+
+    private void dispatchIfPending(Map<Long, CompletableFuture<Optional<Student>>> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return; // Already dispatched because it filled up
+            }
+            pending = new HashMap<>();
+        }
+        resolve(batch);
+    }
+
+    private void resolve(Map<Long, CompletableFuture<Optional<Student>>> batch) {
+        try {
+            Map<Long, Student> found = new HashMap<>();
+            // A taken-over batch can exceed the batch size; keep every IN list within it
+            List<Long> ids = new ArrayList<>(batch.keySet());
+            for (int from = 0; from < ids.size(); from += maxBatchSize) {
+                studentRepository.findAllById(ids.subList(from, Math.min(from + maxBatchSize, ids.size())))
+                        .forEach(student -> found.put(student.getStudentId(), student));
+            }
+            batch.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+}
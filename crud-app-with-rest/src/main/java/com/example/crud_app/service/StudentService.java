@@ -2,15 +2,22 @@ package com.example.crud_app.service;
 
 import com.example.crud_app.dto.StudentSummaryDTO;
 import com.example.crud_app.dto.StudentWithCoursesDTO;
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.index.CourseOwnershipIndex;
+import com.example.crud_app.event.EntityChangedEvent.Operation;
 import com.example.crud_app.model.Student;
 import com.example.crud_app.model.Course;
 import com.example.crud_app.repository.StudentRepository;
 import com.example.crud_app.repository.CourseRepository;
+import com.example.crud_app.repository.DynamicQueryRepository;
+import com.example.crud_app.repository.ProjectionView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,36 +28,64 @@ public class StudentService {
 
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final DynamicQueryRepository dynamicQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final StudentBatchLoader studentBatchLoader;
+    private final StudentStatsService studentStatsService;
+    private final LeaderboardService leaderboardService;
 
     // Basic CRUD operations
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentById(Long id) {
         return studentRepository.findById(id);
     }
 
+    // Multi-get in request order (unknown ids skipped); shares lookup batches with concurrent single-id loads
+    public List<Student> getStudentsByIds(List<Long> ids) {
+        return studentBatchLoader.findAll(ids);
+    }
+
     public Student saveStudent(Student student) {
-        return studentRepository.save(student);
+        Student before = student.getStudentId() == null ? null
+                : studentRepository.findById(student.getStudentId()).map(EntityChangedEvent::copyOf).orElse(null);
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(EntityChangedEvent.studentChanged(
+                before == null ? Operation.INSERT : Operation.UPDATE, before, saved));
+        return saved;
     }
 
     public void deleteStudent(Long id) {
         // First delete associated courses
+        List<Course> courses = courseRepository.findByStudentId(id);
         courseRepository.deleteByStudentId(id);
+        courses.forEach(course -> eventPublisher.publishEvent(
+                EntityChangedEvent.courseChanged(Operation.DELETE, course, null)));
+
         // Then delete student
+        Optional<Student> student = studentRepository.findById(id);
         studentRepository.deleteById(id);
+        student.ifPresent(deleted -> eventPublisher.publishEvent(
+                EntityChangedEvent.studentChanged(Operation.DELETE, deleted, null)));
     }
 
     public Student updateStudent(Long id, Student studentDetails) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        Student before = EntityChangedEvent.copyOf(student);
 
         student.setName(studentDetails.getName());
         student.setEmail(studentDetails.getEmail());
         student.setAge(studentDetails.getAge());
 
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(EntityChangedEvent.studentChanged(Operation.UPDATE, before, saved));
+        return saved;
     }
 
     // DTO conversion methods
@@ -86,11 +121,22 @@ public class StudentService {
                 .collect(Collectors.toList());
     }
 
+    // Course counts and credit totals come from the student_stats read model
     public List<StudentWithCoursesDTO> getStudentsWithCourseStats() {
-        return studentRepository.findAll()
-                .stream()
-                .map(this::convertToWithCoursesDTO)
-                .collect(Collectors.toList());
+        return studentStatsService.getAll();
+    }
+
+    // Composable filtering - any subset of the list filters (plus sort) compiled into a single query
+    @Transactional(readOnly = true)
+    public List<Student> findStudents(Map<String, Object> filters, String sort) {
+        return dynamicQueryRepository.findEntities(ProjectionView.STUDENT, Student.class, filters, sort);
+    }
+
+    // Sparse fieldsets - read only the requested columns, without hydrating managed entities
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getStudentFields(ProjectionView view, List<String> fields,
+                                                  Map<String, Object> filters, String sort) {
+        return dynamicQueryRepository.findFields(view, ProjectionView.normalize(fields), filters, sort);
     }
 
     // Methods using derived queries
@@ -98,6 +144,7 @@ public class StudentService {
         return studentRepository.findByAgeGreaterThan(age);
     }
 
+    @Transactional(readOnly = true)
     public List<Student> searchStudents(String pattern) {
         return studentRepository.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(pattern, pattern);
     }
@@ -107,33 +154,24 @@ public class StudentService {
     }
 
     public List<StudentWithCoursesDTO> getStudentsWithoutCourses() {
-        List<Student> allStudents = studentRepository.findAll();
-        return allStudents.stream()
-                .filter(student -> courseRepository.countByStudentId(student.getStudentId()) == 0)
-                .map(this::convertToWithCoursesDTO)
-                .collect(Collectors.toList());
+        return studentStatsService.getWithoutCourses();
     }
 
     public List<StudentWithCoursesDTO> getStudentsWithMinimumCourses(Integer minCourses) {
-        List<Student> allStudents = studentRepository.findAll();
-        return allStudents.stream()
-                .filter(student -> courseRepository.countByStudentId(student.getStudentId()) >= minCourses)
-                .map(this::convertToWithCoursesDTO)
-                .collect(Collectors.toList());
+        return studentStatsService.getWithMinimumCourses(minCourses);
     }
 
     public Long countStudentsWithCourses() {
-        return studentRepository.findAll().stream()
-                .filter(student -> courseRepository.countByStudentId(student.getStudentId()) > 0)
-                .count();
+        return (long) courseOwnershipIndex.studentsWithCoursesCount();
     }
 
     public boolean existsByEmail(String email) {
         return studentRepository.existsByEmail(email);
     }
 
+    // Served from the in-memory leaderboard (app.leaderboards.students.*)
     public List<Student> getTopStudentsByAge() {
-        return studentRepository.findTop5ByOrderByAgeDesc();
+        return leaderboardService.getTopStudents();
     }
 
     public Optional<Student> findByEmail(String email) {
@@ -156,8 +194,10 @@ public class StudentService {
         }
 
         // Assign course to student
+        Course before = EntityChangedEvent.copyOf(course);
         course.setStudentId(studentId);
         courseRepository.save(course);
+        eventPublisher.publishEvent(EntityChangedEvent.courseChanged(Operation.UPDATE, before, course));
     }
 
     public void removeCourseFromStudent(Long studentId, Long courseId) {
@@ -174,10 +214,13 @@ public class StudentService {
         }
 
         // Remove assignment
+        Course before = EntityChangedEvent.copyOf(course);
         course.setStudentId(null);
         courseRepository.save(course);
+        eventPublisher.publishEvent(EntityChangedEvent.courseChanged(Operation.UPDATE, before, course));
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesForStudent(Long studentId) {
         // Verify student exists
         studentRepository.findById(studentId)
@@ -186,6 +229,7 @@ public class StudentService {
         return courseRepository.findByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public int getTotalCreditsForStudent(Long studentId) {
         List<Course> courses = getCoursesForStudent(studentId);
         return courses.stream()
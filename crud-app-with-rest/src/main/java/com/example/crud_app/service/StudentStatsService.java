@@ -0,0 +1,83 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.StudentWithCoursesDTO;
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.repository.StudentStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Maintains the student_stats read model (course count and credit total per student).
+// Updates run synchronously inside the service transaction that changed the student or course, so the
+// read model commits or rolls back together with the change it reflects.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentStatsService {
+
+    private final StudentStatsRepository studentStatsRepository;
+
+    @Transactional(readOnly = true)
+    public List<StudentWithCoursesDTO> getAll() {
+        return studentStatsRepository.findAllWithStudent();
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudentWithCoursesDTO> getWithoutCourses() {
+        return studentStatsRepository.findWithoutCourses();
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudentWithCoursesDTO> getWithMinimumCourses(Integer minCourses) {
+        return studentStatsRepository.findWithMinimumCourses(minCourses);
+    }
+
+    @EventListener
+    public void entityChanged(EntityChangedEvent event) {
+        if (event.isStudent()) {
+            if (event.getOperation() == EntityChangedEvent.Operation.INSERT) {
+                studentStatsRepository.insertEmpty(event.getEntityId());
+            } else if (event.getOperation() == EntityChangedEvent.Operation.DELETE) {
+                studentStatsRepository.deleteByStudentId(event.getEntityId());
+            }
+            return;
+        }
+
+        // A course update is a removal from its old student plus an addition to its new one
+        Course before = event.getCourseBefore();
+        Course after = event.getCourseAfter();
+        if (before != null && after != null && before.getStudentId() != null
+                && before.getStudentId().equals(after.getStudentId()) && before.getCredits().equals(after.getCredits())) {
+            return;
+        }
+        if (before != null && before.getStudentId() != null) {
+            studentStatsRepository.adjust(before.getStudentId(), -1, -before.getCredits());
+        }
+        if (after != null && after.getStudentId() != null) {
+            studentStatsRepository.adjust(after.getStudentId(), 1, after.getCredits());
+        }
+    }
+
+    // Recompute every row from students + courses (after bulk loads, or writes that bypassed the services)
+    @Transactional
+    public Map<String, Object> rebuild() {
+        long started = System.nanoTime();
+        int deleted = studentStatsRepository.deleteAllRows();
+        int inserted = studentStatsRepository.insertAllFromCourses();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Rebuilt student_stats: {} rows replaced by {} in {} ms", deleted, inserted, millis);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Read model rebuilt");
+        result.put("rows", inserted);
+        result.put("durationMillis", millis);
+        return result;
+    }
+}
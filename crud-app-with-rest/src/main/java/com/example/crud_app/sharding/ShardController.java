@@ -0,0 +1,59 @@
+package com.example.crud_app.sharding;
+
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/shards")
+@CrossOrigin(origins = "*")
+@Profile("sharded")
+@RequiredArgsConstructor
+public class ShardController {
+
+    private final ShardedStore shardedStore;
+
+    // GET /api/shards/stats - Totals merged from every shard, plus per-shard row counts
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        return ResponseEntity.ok(shardedStore.getStatistics());
+    }
+
+    // GET /api/shards/students - All students (scatter-gather)
+    @GetMapping("/students")
+    public ResponseEntity<List<Student>> getAllStudents(@RequestParam(required = false) String search) {
+        List<Student> students = search != null
+                ? shardedStore.searchStudents(search)
+                : shardedStore.findAllStudents();
+        return ResponseEntity.ok(students);
+    }
+
+    // GET /api/shards/students/{id} - Single-shard lookup
+    @GetMapping("/students/{id}")
+    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
+        return shardedStore.findStudent(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/shards/students/{id}/courses - Courses are co-located with their student
+    @GetMapping("/students/{id}/courses")
+    public ResponseEntity<List<Course>> getStudentCourses(@PathVariable Long id) {
+        return ResponseEntity.ok(shardedStore.findCoursesByStudent(id));
+    }
+
+    // GET /api/shards/courses - All courses (scatter-gather)
+    @GetMapping("/courses")
+    public ResponseEntity<List<Course>> getAllCourses(@RequestParam(required = false) String title) {
+        List<Course> courses = title != null
+                ? shardedStore.searchCourses(title)
+                : shardedStore.findAllCourses();
+        return ResponseEntity.ok(courses);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.crud_app.sharding;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// The physical per-shard pools, in shard order (kept out of the DataSource bean type so JPA only sees the router)
+public record ShardDataSources(List<DataSource> dataSources) {
+
+    public int count() {
+        return dataSources.size();
+    }
+
+    public DataSource get(int shard) {
+        return dataSources.get(shard);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.crud_app.sharding;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+@Component
+@Profile("sharded")
+public class ShardRouter {
+
+    private final int shardCount;
+    private final TransactionTemplate shardTransaction;
+    private final ExecutorService scatterPool;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardRouter(ShardDataSources shardDataSources, PlatformTransactionManager transactionManager,
+                       ShardingProperties properties) {
+        this.shardCount = shardDataSources.count();
+        // Every shard call gets its own transaction (and so its own connection from the chosen shard)
+        this.shardTransaction = new TransactionTemplate(transactionManager);
+        this.shardTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.scatterPool = Executors.newFixedThreadPool(properties.getScatterThreads(), r -> {
+            Thread thread = new Thread(r, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // Shard owning a student and its courses. Identity ranges are interleaved per shard (see sharding/schema.sql),
+    // so the id itself encodes the shard that generated it.
+    public int shardForStudent(Long studentId) {
+        return (int) Math.floorMod(studentId - 1, (long) shardCount);
+    }
+
+    // Placement for rows without an owner yet (new students, unassigned courses)
+    public int nextShard() {
+        return Math.floorMod(nextShard.getAndIncrement(), shardCount);
+    }
+
+    // Run repository work against one shard, in its own transaction. The caller's transaction (a service's
+    // @Transactional, holding a shard-0 connection) is suspended, not joined: the shard work commits on return
+    // even if the service later rolls back. See ShardRoutingAspect for what that costs.
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return shardTransaction.execute(status -> work.get());
+        } finally {
+            if (previous != null) {
+                ShardContext.set(previous);
+            } else {
+                ShardContext.clear();
+            }
+        }
+    }
+
+    public void runOnShard(int shard, Runnable work) {
+        onShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Run the same query on every shard in parallel and concatenate the results in shard order
+    public <T> List<T> scatter(IntFunction<List<T>> perShard) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> onShard(target, () -> perShard.apply(target)), scatterPool));
+        }
+
+        List<T> merged = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            try {
+                merged.addAll(future.join());
+            } catch (CompletionException e) {
+                // Surface the shard's own exception (e.g. DataIntegrityViolationException), as a local call would
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scatterPool.shutdownNow();
+    }
+}
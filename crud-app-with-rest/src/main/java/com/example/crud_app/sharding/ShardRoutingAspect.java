@@ -0,0 +1,421 @@
+package com.example.crud_app.sharding;
+
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import com.example.crud_app.repository.AnalyticsMetric;
+import com.example.crud_app.repository.AnalyticsRepository;
+import com.example.crud_app.repository.ProjectionView;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Routes the repository calls of the regular services (StudentService, CourseService, StudentStatsService, ...)
+// in the sharded profile. Calls keyed by a student id go to that student's shard; course writes and lookups by
+// course id go through ShardedStore; every other read is scatter-gathered and merged (lists concatenated and
+// re-sorted by the derived query's ORDER BY / ?sort=, Top-N re-applied, pages cut from the merged rows,
+// counts summed, exists OR-ed).
+// Calls already running on a shard (ShardContext set, e.g. inside ShardedStore) are not routed again.
+//
+// Transactions: each routed call commits on its own (ShardRouter.onShard), so the sharded profile gives up the
+// atomicity of a service's @Transactional unit. A service method that makes several repository calls (e.g.
+// deleteStudent: the courses, then the student; a course write plus its student_stats adjustments) can stop
+// half-way. Deletes are keyed and idempotent, so repeating the request finishes them; student_stats totals that
+// missed an adjustment are repaired by POST /admin/read-model/rebuild. The change_log outbox row is written by
+// the service transaction itself, which runs on shard 0, so it is not atomic with the data either: a service that
+// fails after a routed write leaves that write without a change_log row (and without the after-commit cache and
+// leaderboard updates). Consumers of /api/changes should resync with a full read after such failures; the
+// single-database profiles keep the outbox guarantee.
+@Aspect
+@Component
+@Profile("sharded")
+// Innermost of the repository aspects: TracingAspect, QueryResultCacheAspect and RequestQueryMemoAspect declare
+// LOWEST_PRECEDENCE - 30/-20/-10, so the caches only ever see merged results. Keep this one the lowest.
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+    private final ShardRouter router;
+    private final ShardedStore shardedStore;
+
+    // ShardedStore uses the advised repositories itself; the lazy proxy keeps this aspect from being created
+    // before them (which would leave them unadvised)
+    public ShardRoutingAspect(ShardRouter router, @Lazy ShardedStore shardedStore) {
+        this.router = router;
+        this.shardedStore = shardedStore;
+    }
+
+    @Around("execution(* com.example.crud_app.repository.StudentRepository.*(..))")
+    public Object routeStudents(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.get() != null) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        return switch (joinPoint.getSignature().getName()) {
+            case "save" -> shardedStore.saveStudent((Student) args[0]);
+            case "findById" -> shardedStore.findStudent((Long) args[0]);
+            case "existsById" -> shardedStore.findStudent((Long) args[0]).isPresent();
+            case "deleteById" -> {
+                shardedStore.deleteStudentRow((Long) args[0]);
+                yield null;
+            }
+            case "delete" -> {
+                shardedStore.deleteStudentRow(((Student) args[0]).getStudentId());
+                yield null;
+            }
+            default -> scatterRead(joinPoint, Student.class, "studentId");
+        };
+    }
+
+    @Around("execution(* com.example.crud_app.repository.CourseRepository.*(..))")
+    public Object routeCourses(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.get() != null) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        String method = joinPoint.getSignature().getName();
+        switch (method) {
+            case "save":
+                return shardedStore.saveCourse((Course) args[0]);
+            case "findById":
+                return shardedStore.findCourse((Long) args[0]);
+            case "existsById":
+                return shardedStore.findCourse((Long) args[0]).isPresent();
+            case "deleteById":
+                shardedStore.deleteCourse((Long) args[0]);
+                return null;
+            case "delete":
+                shardedStore.deleteCourse(((Course) args[0]).getCourseId());
+                return null;
+            case "deleteByStudentId":
+                if (args[0] != null) {
+                    shardedStore.deleteCoursesOfStudent((Long) args[0]);
+                    return null;
+                }
+                return scatterRead(joinPoint, Course.class, "courseId");
+            case "findByStudentId":
+            case "countByStudentId":
+                // Courses live on their student's shard
+                if (args[0] != null) {
+                    return proceedOn(router.shardForStudent((Long) args[0]), joinPoint);
+                }
+                return scatterRead(joinPoint, Course.class, "courseId");
+            default:
+                return scatterRead(joinPoint, Course.class, "courseId");
+        }
+    }
+
+    // student_stats rows live next to their student
+    @Around("execution(* com.example.crud_app.repository.StudentStatsRepository.*(..))")
+    public Object routeStudentStats(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.get() != null) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        return switch (joinPoint.getSignature().getName()) {
+            case "insertEmpty", "deleteByStudentId", "adjust" ->
+                    proceedOn(router.shardForStudent((Long) args[0]), joinPoint);
+            // Full rebuild: every shard recomputes its own rows
+            case "deleteAllRows", "insertAllFromCourses" -> router.scatter(shard -> List.of((Integer) proceed(joinPoint)))
+                    .stream()
+                    .mapToInt(Integer::intValue)
+                    .sum();
+            default -> scatterRead(joinPoint, null, "studentId");
+        };
+    }
+
+    // Database-side aggregates (/api/analytics): counts and histogram buckets are summed over the shards.
+    // Percentiles cannot be combined from per-shard percentiles, so summaries merge every shard's value counts instead.
+    @Around("execution(* com.example.crud_app.repository.AnalyticsRepository.*(..))")
+    public Object routeAnalytics(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.get() != null) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        return switch (joinPoint.getSignature().getName()) {
+            case "summarize" -> {
+                AnalyticsRepository repository = (AnalyticsRepository) joinPoint.getThis();
+                AnalyticsMetric metric = (AnalyticsMetric) args[0];
+                @SuppressWarnings("unchecked")
+                List<Double> percentiles = (List<Double>) args[1];
+                yield AnalyticsRepository.summarize(
+                        sumPerKey(router.scatter(shard -> List.of(repository.valueCounts(metric)))), percentiles);
+            }
+            // Courses live on their student's shard, so "students with courses" is shard-local too
+            case "histogram", "valueCounts", "studentCounts", "courseCounts" ->
+                    sumPerKey(router.scatter(shard -> List.of(proceed(joinPoint))));
+            default -> throw new UnsupportedOperationException(joinPoint.getSignature().toShortString()
+                    + " is not routed in the sharded profile");
+        };
+    }
+
+    // Dynamic list queries (?filters, ?sort=, ?fields=). Course counts per student are shard-local, so every
+    // filter can run per shard; only the ordering has to be redone on the merged rows.
+    @Around("execution(* com.example.crud_app.repository.DynamicQueryRepository.find*(..))")
+    public Object routeDynamicQueries(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.get() != null) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        ProjectionView view = (ProjectionView) args[0];
+        String sort = args.length == 4 ? (String) args[3] : null;
+        List<SortKey> sortKeys = sortKeys(sort);
+        String idField = "s".equals(view.getAlias()) ? "studentId" : "courseId";
+
+        if (!"findFields".equals(joinPoint.getSignature().getName())) {
+            List<Object> rows = scatterList(joinPoint, args);
+            rows.sort(comparator(sortKeys, idField, false));
+            return rows;
+        }
+
+        // Sort fields that were not asked for are selected as well, so the merged rows can be ordered, then dropped
+        @SuppressWarnings("unchecked")
+        List<String> fields = (List<String>) args[1];
+        List<String> selected = new ArrayList<>(fields);
+        sortKeys.stream().map(SortKey::field).filter(field -> !selected.contains(field)).forEach(selected::add);
+        if (view.getFieldNames().contains(idField) && !selected.contains(idField)) {
+            selected.add(idField);
+        }
+        Object[] widened = args.clone();
+        widened[1] = selected;
+
+        List<Object> rows = scatterList(joinPoint, widened);
+        rows.sort(comparator(sortKeys, idField, true));
+        if (selected.size() > fields.size()) {
+            rows.forEach(row -> ((Map<?, ?>) row).keySet().retainAll(fields));
+        }
+        return rows;
+    }
+
+    private Object scatterRead(ProceedingJoinPoint joinPoint, Class<?> domainType, String idProperty) {
+        String method = joinPoint.getSignature().getName();
+        if (!isRead(method)) {
+            throw new UnsupportedOperationException(joinPoint.getSignature().toShortString()
+                    + " is not routed in the sharded profile");
+        }
+
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (Page.class.isAssignableFrom(returnType)) {
+            return scatterPage(joinPoint, idProperty);
+        }
+        List<Object> partials = router.scatter(shard -> Collections.singletonList(proceed(joinPoint)));
+
+        if (List.class.isAssignableFrom(returnType)) {
+            List<Object> rows = new ArrayList<>();
+            partials.forEach(partial -> rows.addAll((List<?>) partial));
+            return sortAndLimit(rows, method, domainType, idProperty);
+        }
+        if (Optional.class.equals(returnType)) {
+            return partials.stream()
+                    .map(partial -> (Optional<?>) partial)
+                    .filter(Optional::isPresent)
+                    .findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (Long.class.equals(returnType) || long.class.equals(returnType)) {
+            return partials.stream().filter(Objects::nonNull).mapToLong(partial -> (Long) partial).sum();
+        }
+        if (Boolean.class.equals(returnType) || boolean.class.equals(returnType)) {
+            return partials.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        throw new UnsupportedOperationException("Cannot merge " + returnType.getSimpleName() + " results of "
+                + joinPoint.getSignature().toShortString() + " across shards");
+    }
+
+    // Derived finders carry their ordering and Top-N in the method name; everything else is ordered by id
+    private List<Object> sortAndLimit(List<Object> rows, String method, Class<?> domainType, String idProperty) {
+        if (rows.isEmpty() || rows.get(0) instanceof Object[]) {
+            return rows;
+        }
+        List<SortKey> sortKeys = new ArrayList<>();
+        Integer maxResults = null;
+        if (domainType != null) {
+            try {
+                PartTree tree = new PartTree(method, domainType);
+                for (Sort.Order order : tree.getSort()) {
+                    sortKeys.add(new SortKey(order.getProperty(), order.isDescending()));
+                }
+                maxResults = tree.getMaxResults();
+            } catch (PropertyReferenceException | IllegalArgumentException e) {
+                // @Query / non-derived method: no ordering in the name
+            }
+        }
+        rows.sort(comparator(sortKeys, idProperty, false));
+        return maxResults != null && rows.size() > maxResults ? new ArrayList<>(rows.subList(0, maxResults)) : rows;
+    }
+
+    // findAll(Pageable) and other Page finders: every shard returns its first offset + size rows in the requested
+    // order, the merged rows are re-sorted (id breaks ties) and the page is cut from them; totals are summed
+    private Page<Object> scatterPage(ProceedingJoinPoint joinPoint, String idProperty) {
+        Object[] args = joinPoint.getArgs();
+        int index = 0;
+        while (index < args.length && !(args[index] instanceof Pageable)) {
+            index++;
+        }
+        if (index == args.length) {
+            throw new UnsupportedOperationException("Cannot merge Page results of "
+                    + joinPoint.getSignature().toShortString() + " without a Pageable argument");
+        }
+        Pageable pageable = (Pageable) args[index];
+        Object[] widened = args.clone();
+        if (pageable.isPaged()) {
+            widened[index] = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()),
+                    pageable.getSort());
+        }
+
+        List<Page<?>> pages = router.scatter(shard -> {
+            try {
+                return List.of((Page<?>) joinPoint.proceed(widened));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        List<Object> rows = new ArrayList<>();
+        long total = 0;
+        for (Page<?> page : pages) {
+            rows.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+
+        List<SortKey> sortKeys = pageable.getSort().stream()
+                .map(order -> new SortKey(order.getProperty(), order.isDescending()))
+                .collect(Collectors.toList());
+        rows.sort(comparator(sortKeys, idProperty, false));
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return new PageImpl<>(new ArrayList<>(rows.subList(from, to)), pageable, total);
+    }
+
+    // Per-shard maps of counts (bucket -> rows, column -> total) added up key by key. Column labels are lower-cased:
+    // the per-shard rows are case-insensitive maps, and H2 reports labels in upper case.
+    @SuppressWarnings("unchecked")
+    private static <K> Map<K, Long> sumPerKey(List<?> partials) {
+        Map<K, Long> totals = new TreeMap<>();
+        for (Object partial : partials) {
+            ((Map<K, ?>) partial).forEach((key, total) -> totals.merge(
+                    key instanceof String column ? (K) column.toLowerCase(Locale.ROOT) : key,
+                    ((Number) total).longValue(), Long::sum));
+        }
+        return totals;
+    }
+
+    private List<Object> scatterList(ProceedingJoinPoint joinPoint, Object[] args) {
+        return router.scatter(shard -> {
+            try {
+                return new ArrayList<Object>((List<?>) joinPoint.proceed(args));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    // ?sort=age,desc,name -> [age DESC, name ASC] (same grammar as ProjectionView.orderByClause)
+    private List<SortKey> sortKeys(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = Arrays.stream(sort.split(","))
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+        List<SortKey> keys = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean descending = false;
+            if (i + 1 < tokens.size() && isDirection(tokens.get(i + 1))) {
+                descending = tokens.get(i + 1).equalsIgnoreCase("desc");
+                keys.add(new SortKey(tokens.get(i++), descending));
+            } else {
+                keys.add(new SortKey(tokens.get(i), false));
+            }
+        }
+        return keys;
+    }
+
+    private boolean isDirection(String token) {
+        return token.equalsIgnoreCase("asc") || token.equalsIgnoreCase("desc");
+    }
+
+    // Sort keys first, then id as the tie-breaker (rows without the id property keep their shard order)
+    private Comparator<Object> comparator(List<SortKey> sortKeys, String idProperty, boolean rowsAreMaps) {
+        Comparator<Object> comparator = (a, b) -> 0;
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        keys.add(new SortKey(idProperty, false));
+        for (SortKey key : keys) {
+            Comparator<Object> byKey = (a, b) ->
+                    compareNullsLast(value(a, key.field(), rowsAreMaps), value(b, key.field(), rowsAreMaps));
+            comparator = comparator.thenComparing(key.descending() ? byKey.reversed() : byKey);
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareNullsLast(Comparable a, Comparable b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        return a.compareTo(b);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Comparable value(Object row, String field, boolean rowIsMap) {
+        if (rowIsMap) {
+            return (Comparable) ((Map<?, ?>) row).get(field);
+        }
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        return wrapper.isReadableProperty(field) ? (Comparable) wrapper.getPropertyValue(field) : null;
+    }
+
+    private boolean isRead(String method) {
+        return method.startsWith("find") || method.startsWith("count")
+                || method.startsWith("exists") || method.startsWith("get");
+    }
+
+    private Object proceedOn(int shard, ProceedingJoinPoint joinPoint) {
+        return router.onShard(shard, () -> proceed(joinPoint));
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record SortKey(String field, boolean descending) {
+    }
+}
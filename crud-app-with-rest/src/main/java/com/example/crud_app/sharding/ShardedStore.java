@@ -0,0 +1,302 @@
+package com.example.crud_app.sharding;
+
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import com.example.crud_app.repository.CourseRepository;
+import com.example.crud_app.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// StudentRepository/CourseRepository operations routed by studentId. Courses live on their student's shard,
+// so per-student work touches one database; cross-shard reads are scatter-gathered in parallel.
+// students.email and courses.title stay globally unique: the uk_* indexes only see one shard, so every value
+// is first claimed in unique_claims on shard 0 (the directory shard) and released when it is no longer used.
+@Service
+@Profile("sharded")
+@RequiredArgsConstructor
+public class ShardedStore {
+
+    private static final int DIRECTORY_SHARD = 0;
+    private static final String EMAIL = "email";
+    private static final String TITLE = "title";
+
+    private final ShardRouter router;
+    private final JdbcTemplate jdbcTemplate; // over the routing DataSource: joins the shard transaction of router.onShard
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+
+    // Students
+
+    public Student saveStudent(Student student) {
+        Long studentId = student.getStudentId();
+        int shard = studentId == null ? router.nextShard() : router.shardForStudent(studentId);
+        String previousEmail = studentId == null ? null
+                : router.onShard(shard, () -> studentRepository.findById(studentId)).map(Student::getEmail).orElse(null);
+        return withClaim(EMAIL, previousEmail, student.getEmail(),
+                () -> router.onShard(shard, () -> studentRepository.save(student)));
+    }
+
+    public Optional<Student> findStudent(Long studentId) {
+        return router.onShard(router.shardForStudent(studentId), () -> studentRepository.findById(studentId));
+    }
+
+    public List<Student> findAllStudents() {
+        return sortedById(router.scatter(shard -> studentRepository.findAll()), Student::getStudentId);
+    }
+
+    public List<Student> searchStudents(String pattern) {
+        return sortedById(router.scatter(shard ->
+                studentRepository.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(pattern, pattern)),
+                Student::getStudentId);
+    }
+
+    // Student and its courses share a shard, so this stays a single local transaction
+    public void deleteStudent(Long studentId) {
+        router.onShard(router.shardForStudent(studentId), () -> {
+            List<Claim> claims = new ArrayList<>(deleteCourseRows(studentId));
+            claims.addAll(deleteStudentRowOnShard(studentId));
+            return claims;
+        }).forEach(this::release);
+    }
+
+    // Only the student row (StudentRepository.deleteById from the services, which delete the courses first)
+    public void deleteStudentRow(Long studentId) {
+        router.onShard(router.shardForStudent(studentId), () -> deleteStudentRowOnShard(studentId))
+                .forEach(this::release);
+    }
+
+    // Courses
+
+    public Course saveCourse(Course course) {
+        String previousTitle = null;
+        Optional<Integer> current = Optional.empty();
+        if (course.getCourseId() != null) {
+            current = locateCourse(course.getCourseId());
+            if (current.isPresent()) {
+                int shard = current.get();
+                previousTitle = router.onShard(shard, () -> courseRepository.findById(course.getCourseId()))
+                        .map(Course::getTitle).orElse(null);
+            }
+        }
+
+        Optional<Integer> located = current;
+        return withClaim(TITLE, previousTitle, course.getTitle(), () -> {
+            if (located.isPresent() && course.getStudentId() != null
+                    && located.get() != router.shardForStudent(course.getStudentId())) {
+                return moveCourse(course, located.get());
+            }
+            if (located.isPresent()) {
+                return router.onShard(located.get(), () -> courseRepository.save(course));
+            }
+            int shard = course.getStudentId() != null ? router.shardForStudent(course.getStudentId()) : router.nextShard();
+            return router.onShard(shard, () -> courseRepository.save(course));
+        });
+    }
+
+    public List<Course> findCoursesByStudent(Long studentId) {
+        return router.onShard(router.shardForStudent(studentId), () -> courseRepository.findByStudentId(studentId));
+    }
+
+    // Courses may have moved with reassignment, so a lookup by course id asks every shard
+    public Optional<Course> findCourse(Long courseId) {
+        return preferOwnerCopies(router.scatter(shard -> located(shard,
+                courseRepository.findById(courseId).map(List::of).orElse(List.of()))))
+                .stream()
+                .findFirst();
+    }
+
+    public List<Course> findAllCourses() {
+        return sortedById(preferOwnerCopies(router.scatter(shard -> located(shard, courseRepository.findAll()))),
+                Course::getCourseId);
+    }
+
+    public List<Course> searchCourses(String titlePattern) {
+        return sortedById(preferOwnerCopies(router.scatter(shard -> located(shard,
+                courseRepository.findByTitleContainingIgnoreCase(titlePattern)))), Course::getCourseId);
+    }
+
+    public void deleteCourse(Long courseId) {
+        // Every copy is removed (a move that failed to clean up after itself may have left two)
+        router.scatter(shard -> courseRepository.findById(courseId)
+                        .map(course -> {
+                            courseRepository.deleteById(courseId);
+                            return List.of(new Claim(TITLE, course.getTitle()));
+                        })
+                        .orElse(List.of()))
+                .stream()
+                .distinct()
+                .forEach(this::release);
+    }
+
+    // All courses of one student (CourseRepository.deleteByStudentId from the services)
+    public void deleteCoursesOfStudent(Long studentId) {
+        router.onShard(router.shardForStudent(studentId), () -> deleteCourseRows(studentId))
+                .forEach(this::release);
+    }
+
+    public Course reassignCourse(Long courseId, Long newStudentId) {
+        Course course = findCourse(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+        findStudent(newStudentId)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + newStudentId));
+
+        course.setStudentId(newStudentId);
+        return saveCourse(course);
+    }
+
+    // Aggregates: each shard computes partial sums, merged here
+    public Map<String, Object> getStatistics() {
+        List<long[]> partials = router.scatter(shard -> {
+            long[] partial = new long[4];
+            jdbcTemplate.query("SELECT COUNT(*), COALESCE(SUM(age), 0) FROM students", rs -> {
+                partial[0] = rs.getLong(1);
+                partial[1] = rs.getLong(2);
+            });
+            jdbcTemplate.query("SELECT COUNT(*), COUNT(*) FILTER (WHERE student_id IS NULL) FROM courses", rs -> {
+                partial[2] = rs.getLong(1);
+                partial[3] = rs.getLong(2);
+            });
+            return List.of(partial);
+        });
+
+        long students = 0, ageSum = 0, courses = 0, unassigned = 0;
+        Map<String, Object> perShard = new HashMap<>();
+        for (int shard = 0; shard < partials.size(); shard++) {
+            long[] partial = partials.get(shard);
+            students += partial[0];
+            ageSum += partial[1];
+            courses += partial[2];
+            unassigned += partial[3];
+            perShard.put("shard" + shard, Map.of("students", partial[0], "courses", partial[2]));
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("shardCount", router.getShardCount());
+        stats.put("totalStudents", students);
+        stats.put("totalCourses", courses);
+        stats.put("unassignedCourses", unassigned);
+        stats.put("averageAge", students > 0 ? Math.round((double) ageSum / students * 10.0) / 10.0 : 0.0);
+        stats.put("shards", perShard);
+        return stats;
+    }
+
+    private Optional<Integer> locateCourse(Long courseId) {
+        List<Located> copies = router.scatter(shard ->
+                courseRepository.findById(courseId).map(course -> List.of(new Located(shard, course))).orElse(List.of()));
+        return copies.stream()
+                .min(Comparator.comparing((Located copy) -> !isOwnerShard(copy)))
+                .map(Located::shard);
+    }
+
+    // Cross-shard reassignment: copy the row (same id) to the new owner's shard, then remove the old copy.
+    // Both steps are idempotent (upsert, delete), so an interrupted move can simply be retried; if the old copy
+    // cannot be removed, the new one is taken back out. A duplicate that survives even that is hidden by
+    // preferOwnerCopies and cleaned up by the next deleteCourse.
+    private Course moveCourse(Course course, int fromShard) {
+        int toShard = router.shardForStudent(course.getStudentId());
+        router.runOnShard(toShard, () -> {
+            int updated = jdbcTemplate.update("UPDATE courses SET title = ?, credits = ?, student_id = ? WHERE course_id = ?",
+                    course.getTitle(), course.getCredits(), course.getStudentId(), course.getCourseId());
+            if (updated == 0) {
+                jdbcTemplate.update("INSERT INTO courses (course_id, title, credits, student_id) VALUES (?, ?, ?, ?)",
+                        course.getCourseId(), course.getTitle(), course.getCredits(), course.getStudentId());
+            }
+        });
+        try {
+            router.runOnShard(fromShard, () -> courseRepository.deleteById(course.getCourseId()));
+        } catch (RuntimeException e) {
+            router.runOnShard(toShard, () -> jdbcTemplate.update("DELETE FROM courses WHERE course_id = ?", course.getCourseId()));
+            throw e;
+        }
+        return course;
+    }
+
+    // Deletes a student's courses on the current shard; returns the titles to release
+    private List<Claim> deleteCourseRows(Long studentId) {
+        List<Claim> claims = courseRepository.findByStudentId(studentId).stream()
+                .map(course -> new Claim(TITLE, course.getTitle()))
+                .collect(Collectors.toList());
+        courseRepository.deleteByStudentId(studentId);
+        return claims;
+    }
+
+    private List<Claim> deleteStudentRowOnShard(Long studentId) {
+        return studentRepository.findById(studentId)
+                .map(student -> {
+                    studentRepository.deleteById(studentId);
+                    return List.of(new Claim(EMAIL, student.getEmail()));
+                })
+                .orElse(List.of());
+    }
+
+    // Claims the new value before the write and releases the old one after it; a failed write hands the claim back.
+    // A taken value fails the claim with DuplicateKeyException, as the uk_* index would on a single database.
+    private <T> T withClaim(String kind, String previous, String value, Supplier<T> write) {
+        boolean changed = value != null && !value.equals(previous);
+        if (changed) {
+            router.runOnShard(DIRECTORY_SHARD, () -> jdbcTemplate.update(
+                    "INSERT INTO unique_claims (kind, claim_value) VALUES (?, ?)", kind, value));
+        }
+        T result;
+        try {
+            result = write.get();
+        } catch (RuntimeException e) {
+            if (changed) {
+                release(new Claim(kind, value));
+            }
+            throw e;
+        }
+        if (changed && previous != null) {
+            release(new Claim(kind, previous));
+        }
+        return result;
+    }
+
+    private void release(Claim claim) {
+        router.runOnShard(DIRECTORY_SHARD, () -> jdbcTemplate.update(
+                "DELETE FROM unique_claims WHERE kind = ? AND claim_value = ?", claim.kind(), claim.value()));
+    }
+
+    // One course per id, taking the copy on its owner's shard when an interrupted move left two
+    private List<Course> preferOwnerCopies(List<Located> copies) {
+        Map<Long, Located> byId = new LinkedHashMap<>();
+        for (Located copy : copies) {
+            byId.merge(copy.course().getCourseId(), copy, (kept, other) -> isOwnerShard(kept) ? kept : other);
+        }
+        return byId.values().stream().map(Located::course).collect(Collectors.toList());
+    }
+
+    private boolean isOwnerShard(Located copy) {
+        Long studentId = copy.course().getStudentId();
+        return studentId != null && router.shardForStudent(studentId) == copy.shard();
+    }
+
+    private List<Located> located(int shard, List<Course> courses) {
+        return courses.stream().map(course -> new Located(shard, course)).collect(Collectors.toList());
+    }
+
+    private <T> List<T> sortedById(List<T> rows, Function<T, Long> id) {
+        return rows.stream()
+                .sorted(Comparator.comparing(id))
+                .collect(Collectors.toList());
+    }
+
+    private record Claim(String kind, String value) {
+    }
+
+    private record Located(int shard, Course course) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.crud_app.sharding;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@Profile("sharded")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("The sharded profile needs at least one app.sharding.shards[n].url");
+        }
+        List<DataSource> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            shards.add(DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build());
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            createSchema(shards.get(i), i, shards.size());
+        }
+        return new ShardDataSources(shards);
+    }
+
+    // JPA sees a single DataSource; the shard is picked per connection from ShardContext.
+    // The lazy proxy delays fetching the connection until the first statement, i.e. after the shard is chosen.
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shardDataSources.count(); i++) {
+            targets.put(i, shardDataSources.get(i));
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shardDataSources.get(0));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private void createSchema(DataSource shard, int index, int shardCount) {
+        try (InputStream in = new ClassPathResource("sharding/schema.sql").getInputStream();
+             Connection connection = shard.getConnection()) {
+            String sql = new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("${start}", String.valueOf(index + 1))
+                    .replace("${increment}", String.valueOf(shardCount));
+            ScriptUtils.executeSqlScript(connection, new ByteArrayResource(sql.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("Failed to create schema on shard " + index, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.crud_app.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    // One entry per shard database, in shard order (shard index = list index)
+    private List<Shard> shards = new ArrayList<>();
+
+    // Threads used for scatter-gather reads across shards
+    private int scatterThreads = 8;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
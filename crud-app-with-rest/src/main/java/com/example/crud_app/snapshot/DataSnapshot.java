@@ -0,0 +1,307 @@
+package com.example.crud_app.snapshot;
+
+import com.example.crud_app.dto.CourseDTO;
+import com.example.crud_app.dto.StudentSummaryDTO;
+import com.example.crud_app.dto.StudentWithCoursesDTO;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+// Immutable column-oriented copy of the students and courses tables.
+// Each table is a set of parallel arrays sorted by id (row i of every column is the same row);
+// per-student course counts/credit totals are derived once when the snapshot is built.
+// Aggregations are parallel fork/join loops over primitive columns - no entities, no database.
+public final class DataSnapshot {
+
+    // Below this many rows a sequential loop is faster than splitting work across the common pool
+    private static final int PARALLEL_THRESHOLD = 8_192;
+
+    // students
+    final long[] studentIds;
+    final String[] names;
+    final String[] emails;
+    final int[] ages;
+
+    // courses
+    final long[] courseIds;
+    final String[] titles;
+    final int[] credits;
+    final long[] courseStudentIds;  // 0 = unassigned
+
+    // derived, indexed like studentIds
+    final int[] courseCounts;
+    final int[] creditTotals;
+
+    final long watermark;       // change_log feed position the snapshot is consistent with
+    final long builtAtMillis;
+
+    DataSnapshot(long[] studentIds, String[] names, String[] emails, int[] ages,
+                 long[] courseIds, String[] titles, int[] credits, long[] courseStudentIds,
+                 long watermark, long builtAtMillis) {
+        this.studentIds = studentIds;
+        this.names = names;
+        this.emails = emails;
+        this.ages = ages;
+        this.courseIds = courseIds;
+        this.titles = titles;
+        this.credits = credits;
+        this.courseStudentIds = courseStudentIds;
+        this.watermark = watermark;
+        this.builtAtMillis = builtAtMillis;
+
+        this.courseCounts = new int[studentIds.length];
+        this.creditTotals = new int[studentIds.length];
+        for (int c = 0; c < courseIds.length; c++) {
+            int s = studentPosition(courseStudentIds[c]);
+            if (s >= 0) {
+                courseCounts[s]++;
+                creditTotals[s] += credits[c];
+            }
+        }
+    }
+
+    public static DataSnapshot empty() {
+        return new DataSnapshot(new long[0], new String[0], new String[0], new int[0],
+                new long[0], new String[0], new int[0], new long[0], 0, System.currentTimeMillis());
+    }
+
+    // New snapshot with committed changes applied on top of this one (rows keyed by id; null row = deleted).
+    // Used to catch a persisted snapshot up with the change_log instead of re-reading both tables.
+    DataSnapshot withChanges(Map<Long, Student> studentChanges, Map<Long, Course> courseChanges, long newWatermark) {
+        TreeMap<Long, Student> students = new TreeMap<>();
+        for (int i = 0; i < studentIds.length; i++) {
+            if (!studentChanges.containsKey(studentIds[i])) {
+                students.put(studentIds[i], student(i));
+            }
+        }
+        studentChanges.forEach((id, row) -> {
+            if (row != null) {
+                students.put(id, row);
+            }
+        });
+
+        TreeMap<Long, Course> courses = new TreeMap<>();
+        for (int i = 0; i < courseIds.length; i++) {
+            if (!courseChanges.containsKey(courseIds[i])) {
+                courses.put(courseIds[i], course(i));
+            }
+        }
+        courseChanges.forEach((id, row) -> {
+            if (row != null) {
+                courses.put(id, row);
+            }
+        });
+
+        int s = 0;
+        long[] newStudentIds = new long[students.size()];
+        String[] newNames = new String[students.size()];
+        String[] newEmails = new String[students.size()];
+        int[] newAges = new int[students.size()];
+        for (Student student : students.values()) {
+            newStudentIds[s] = student.getStudentId();
+            newNames[s] = student.getName();
+            newEmails[s] = student.getEmail();
+            newAges[s++] = student.getAge() == null ? 0 : student.getAge();
+        }
+
+        int c = 0;
+        long[] newCourseIds = new long[courses.size()];
+        String[] newTitles = new String[courses.size()];
+        int[] newCredits = new int[courses.size()];
+        long[] newCourseStudentIds = new long[courses.size()];
+        for (Course course : courses.values()) {
+            newCourseIds[c] = course.getCourseId();
+            newTitles[c] = course.getTitle();
+            newCredits[c] = course.getCredits() == null ? 0 : course.getCredits();
+            newCourseStudentIds[c++] = course.getStudentId() == null ? 0 : course.getStudentId();
+        }
+
+        return new DataSnapshot(newStudentIds, newNames, newEmails, newAges,
+                newCourseIds, newTitles, newCredits, newCourseStudentIds, newWatermark, System.currentTimeMillis());
+    }
+
+    // Size and freshness
+
+    public int studentCount() {
+        return studentIds.length;
+    }
+
+    public int courseCount() {
+        return courseIds.length;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public long ageMillis() {
+        return System.currentTimeMillis() - builtAtMillis;
+    }
+
+    // Approximate heap footprint of the primitive columns (strings excluded)
+    public long primitiveBytes() {
+        return (long) studentIds.length * (8 + 4 + 4 + 4) + (long) courseIds.length * (8 + 4 + 8);
+    }
+
+    // Aggregations
+
+    public double averageAge() {
+        return range(ages.length).mapToLong(i -> ages[i]).average().orElse(0.0);
+    }
+
+    public double averageCredits() {
+        return range(credits.length).mapToLong(i -> credits[i]).average().orElse(0.0);
+    }
+
+    public int studentsWithCourses() {
+        return (int) range(courseCounts.length).filter(i -> courseCounts[i] > 0).count();
+    }
+
+    public int unassignedCourses() {
+        return (int) range(courseStudentIds.length).filter(i -> courseStudentIds[i] == 0).count();
+    }
+
+    public int assignedCourses() {
+        return courseCount() - unassignedCourses();
+    }
+
+    // Positions of the k oldest students / highest-credit courses, best first
+    public int[] topStudentsByAge(int k) {
+        return topK(ages, k);
+    }
+
+    public int[] topCoursesByCredits(int k) {
+        return topK(credits, k);
+    }
+
+    // Row materialisation (only for the handful of rows a response actually returns)
+
+    public Student student(int position) {
+        return Student.builder()
+                .studentId(studentIds[position])
+                .name(names[position])
+                .email(emails[position])
+                .age(ages[position])
+                .build();
+    }
+
+    public Course course(int position) {
+        return Course.builder()
+                .courseId(courseIds[position])
+                .title(titles[position])
+                .credits(credits[position])
+                .studentId(courseStudentIds[position] == 0 ? null : courseStudentIds[position])
+                .build();
+    }
+
+    public List<Student> students(int[] positions) {
+        return Arrays.stream(positions).mapToObj(this::student).toList();
+    }
+
+    public List<Course> courses(int[] positions) {
+        return Arrays.stream(positions).mapToObj(this::course).toList();
+    }
+
+    public List<StudentSummaryDTO> studentSummaries() {
+        return IntStream.range(0, studentIds.length)
+                .mapToObj(i -> StudentSummaryDTO.builder()
+                        .studentId(studentIds[i])
+                        .name(names[i])
+                        .email(emails[i])
+                        .build())
+                .toList();
+    }
+
+    public List<StudentWithCoursesDTO> studentsWithCourseStats() {
+        return IntStream.range(0, studentIds.length)
+                .mapToObj(i -> StudentWithCoursesDTO.builder()
+                        .studentId(studentIds[i])
+                        .name(names[i])
+                        .email(emails[i])
+                        .age(ages[i])
+                        .totalCourses(courseCounts[i])
+                        .totalCredits(creditTotals[i])
+                        .build())
+                .toList();
+    }
+
+    public List<CourseDTO> courseDTOs() {
+        return IntStream.range(0, courseIds.length)
+                .mapToObj(c -> {
+                    long studentId = courseStudentIds[c];
+                    int s = studentPosition(studentId);
+                    return CourseDTO.builder()
+                            .courseId(courseIds[c])
+                            .title(titles[c])
+                            .credits(credits[c])
+                            .studentId(studentId == 0 ? null : studentId)
+                            .studentName(studentId == 0 ? null : s >= 0 ? names[s] : "Unknown Student")
+                            .build();
+                })
+                .toList();
+    }
+
+    // Position of a student id in the student columns, or -1
+    public int studentPosition(long studentId) {
+        return studentId == 0 ? -1 : Math.max(-1, Arrays.binarySearch(studentIds, studentId));
+    }
+
+    private static IntStream range(int length) {
+        IntStream range = IntStream.range(0, length);
+        return length >= PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+
+    // Parallel top-k: each fork/join chunk keeps its own small TopK, chunks are merged pairwise
+    private static int[] topK(int[] column, int k) {
+        return range(column.length)
+                .collect(() -> new TopK(column, k), TopK::offer, TopK::merge)
+                .positions();
+    }
+
+    // Bounded, descending-by-value list of row positions (k is small, so insertion is cheap)
+    private static final class TopK {
+        private final int[] column;
+        private final int[] positions;
+        private int size;
+
+        TopK(int[] column, int k) {
+            this.column = column;
+            this.positions = new int[Math.max(0, k)];
+        }
+
+        void offer(int position) {
+            if (positions.length == 0) {
+                return;
+            }
+            int value = column[position];
+            if (size == positions.length && value <= column[positions[size - 1]]) {
+                return;
+            }
+            int i = size == positions.length ? size - 1 : size++;
+            while (i > 0 && column[positions[i - 1]] < value) {
+                positions[i] = positions[i - 1];
+                i--;
+            }
+            positions[i] = position;
+        }
+
+        void merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.positions[i]);
+            }
+        }
+
+        int[] positions() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.crud_app.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+// Binary, memory-mapped persistence of a DataSnapshot, so a restart can skip the full table scan.
+//
+// Layout (little endian):
+//   header   magic "CSNP" | format version (int) | watermark (long) | builtAt millis (long)
+//            | student rows (int) | course rows (int) | payload length (long) | payload CRC32 (long)
+//   payload  student ids, ages, names, emails | course ids, credits, student ids, titles
+//            (primitive columns back to back; strings as int byte length + UTF-8, -1 for null)
+//
+// Derived columns (per-student course counts / credits) are not stored - they are rebuilt in one pass on load.
+// The file is written to a temporary sibling and atomically moved into place, so readers never see a torn file.
+final class SnapshotFile {
+
+    static final int MAGIC = 0x504E5343; // "CSNP" read little endian
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 8 + 8;
+
+    private SnapshotFile() {
+    }
+
+    static void write(DataSnapshot snapshot, Path file) throws IOException {
+        byte[][] names = encode(snapshot.names);
+        byte[][] emails = encode(snapshot.emails);
+        byte[][] titles = encode(snapshot.titles);
+        int students = snapshot.studentCount();
+        int courses = snapshot.courseCount();
+
+        long payloadBytes = (long) students * (8 + 4) + stringBytes(names) + stringBytes(emails)
+                + (long) courses * (8 + 4 + 8) + stringBytes(titles);
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payloadBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.position(HEADER_BYTES);
+            for (long id : snapshot.studentIds) buffer.putLong(id);
+            for (int age : snapshot.ages) buffer.putInt(age);
+            putStrings(buffer, names);
+            putStrings(buffer, emails);
+            for (long id : snapshot.courseIds) buffer.putLong(id);
+            for (int credit : snapshot.credits) buffer.putInt(credit);
+            for (long id : snapshot.courseStudentIds) buffer.putLong(id);
+            putStrings(buffer, titles);
+
+            buffer.position(0);
+            buffer.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(snapshot.watermark)
+                    .putLong(snapshot.builtAtMillis)
+                    .putInt(students)
+                    .putInt(courses)
+                    .putLong(payloadBytes)
+                    .putLong(checksum(buffer, payloadBytes));
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Empty if the file is missing, from another format version, truncated or fails its checksum
+    static Optional<DataSnapshot> read(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_BYTES) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            long watermark = buffer.getLong();
+            long builtAtMillis = buffer.getLong();
+            int students = buffer.getInt();
+            int courses = buffer.getInt();
+            long payloadBytes = buffer.getLong();
+            long expectedChecksum = buffer.getLong();
+            if (students < 0 || courses < 0 || HEADER_BYTES + payloadBytes != channel.size()
+                    || checksum(buffer, payloadBytes) != expectedChecksum) {
+                return Optional.empty();
+            }
+
+            buffer.position(HEADER_BYTES);
+            long[] studentIds = new long[students];
+            int[] ages = new int[students];
+            buffer.asLongBuffer().get(studentIds);
+            buffer.position(buffer.position() + students * 8);
+            buffer.asIntBuffer().get(ages);
+            buffer.position(buffer.position() + students * 4);
+            String[] names = getStrings(buffer, students);
+            String[] emails = getStrings(buffer, students);
+
+            long[] courseIds = new long[courses];
+            int[] credits = new int[courses];
+            long[] courseStudentIds = new long[courses];
+            buffer.asLongBuffer().get(courseIds);
+            buffer.position(buffer.position() + courses * 8);
+            buffer.asIntBuffer().get(credits);
+            buffer.position(buffer.position() + courses * 4);
+            buffer.asLongBuffer().get(courseStudentIds);
+            buffer.position(buffer.position() + courses * 8);
+            String[] titles = getStrings(buffer, courses);
+
+            return Optional.of(new DataSnapshot(studentIds, names, emails, ages,
+                    courseIds, titles, credits, courseStudentIds, watermark, builtAtMillis));
+        }
+    }
+
+    private static long checksum(ByteBuffer buffer, long payloadBytes) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_BYTES).limit((int) (HEADER_BYTES + payloadBytes)));
+        return crc.getValue();
+    }
+
+    private static byte[][] encode(String[] values) {
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i] == null ? null : values[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    private static long stringBytes(byte[][] values) {
+        long total = 0;
+        for (byte[] value : values) {
+            total += 4 + (value == null ? 0 : value.length);
+        }
+        return total;
+    }
+
+    private static void putStrings(ByteBuffer buffer, byte[][] values) {
+        for (byte[] value : values) {
+            if (value == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(value.length).put(value);
+            }
+        }
+    }
+
+    private static String[] getStrings(ByteBuffer buffer, int count) {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.crud_app.snapshot;
+
+import com.example.crud_app.event.EntityChangedEvent;
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import com.example.crud_app.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Owns the current DataSnapshot. Readers just grab the volatile reference - a snapshot is never mutated,
+// a refresh builds a new one and swaps it in. Refreshed shortly after committed changes (debounced, so a
+// burst of writes costs one rebuild) and on a fixed schedule as a safety net.
+// Every build is also written to a memory-mapped file (see SnapshotFile); on startup that file is mapped
+// and caught up with the change_log rows after its watermark instead of re-reading both tables.
+// The watermark is a feed position (ChangeLogSequencer), not a change_id: change_ids are handed out before
+// commit, so a smaller id can still commit after the snapshot was read and would be skipped by "change_id > w".
+// Positions are only given to committed rows, in order, so every change missing from a snapshot is after its
+// watermark. A change that is already in the tables but not yet sequenced gets replayed once more - harmless,
+// since a replay applies the row's logged state and changes to one row commit in order.
+// In the sharded profile the tables are read from every shard and merged; change_log stays on shard 0.
+@Slf4j
+@Service
+public class SnapshotService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final long debounceMillis;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;   // null = persistence disabled
+    private final long maxCatchUpChanges;
+    private final ShardRouter shardRouter;  // null unless the sharded profile is active
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "snapshot-rebuilder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final Object buildLock = new Object();
+
+    private volatile DataSnapshot current;
+
+    public SnapshotService(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           ObjectProvider<ShardRouter> shardRouter,
+                           @Value("${app.snapshot.change-debounce-ms:200}") long debounceMillis,
+                           @Value("${app.snapshot.file:}") String snapshotFile,
+                           @Value("${app.snapshot.max-catch-up-changes:50000}") long maxCatchUpChanges) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.debounceMillis = debounceMillis;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        this.maxCatchUpChanges = maxCatchUpChanges;
+        this.shardRouter = shardRouter.getIfAvailable();
+
+        // Both tables and the watermark are read from one consistent view of the database
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Current snapshot; the very first call restores or builds one if startup has not yet done so
+    public DataSnapshot current() {
+        DataSnapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (buildLock) {
+                if (current == null) {
+                    restoreOrRefresh();
+                }
+                snapshot = current;
+            }
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuilder.execute(this::current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot.refresh-ms:300000}", initialDelayString = "${app.snapshot.refresh-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    // Committed student/course change: rebuild once the burst of writes has settled
+    @TransactionalEventListener(fallbackExecution = true)
+    public void dataChanged(EntityChangedEvent event) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.schedule(() -> {
+                rebuildScheduled.set(false);
+                refresh();
+            }, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Snapshot containing every change committed so far: the current one when nothing has been sequenced past its
+    // watermark and nothing is waiting for a position (two indexed reads), otherwise a rebuild. Read-only: rows not
+    // sequenced yet are left to ChangeFeedService's pass.
+    public DataSnapshot upToDate() {
+        DataSnapshot snapshot = current();
+        Boolean behind = jdbcTemplate.queryForObject("SELECT coalesce(max(feed_position), 0) > ?"
+                + " OR EXISTS (SELECT 1 FROM change_log WHERE feed_position IS NULL) FROM change_log",
+                Boolean.class, snapshot.getWatermark());
+        return Boolean.TRUE.equals(behind) ? refresh() : snapshot;
+    }
+
+    public DataSnapshot refresh() {
+        synchronized (buildLock) {
+            long started = System.nanoTime();
+            try {
+                DataSnapshot snapshot = snapshotTransaction.execute(status -> load());
+                current = snapshot;
+                persistInBackground(snapshot);
+                log.debug("Snapshot rebuilt: {} students, {} courses, watermark {} in {} ms",
+                        snapshot.studentCount(), snapshot.courseCount(), snapshot.getWatermark(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                return snapshot;
+            } catch (RuntimeException e) {
+                // Keep serving the previous snapshot; the next change or schedule retries
+                log.warn("Snapshot rebuild failed: {}", e.getMessage());
+                if (current == null) {
+                    current = DataSnapshot.empty();
+                }
+                return current;
+            }
+        }
+    }
+
+    // Startup path: map the persisted snapshot and apply only the changes committed since its watermark
+    private void restoreOrRefresh() {
+        if (snapshotFile != null) {
+            long started = System.nanoTime();
+            try {
+                Optional<DataSnapshot> persisted = SnapshotFile.read(snapshotFile);
+                if (persisted.isPresent()) {
+                    DataSnapshot caughtUp = snapshotTransaction.execute(status -> catchUp(persisted.get()));
+                    if (caughtUp != null) {
+                        current = caughtUp;
+                        persistInBackground(caughtUp);
+                        log.info("Snapshot restored from {}: watermark {} -> {} in {} ms", snapshotFile,
+                                persisted.get().getWatermark(), caughtUp.getWatermark(),
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                        return;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not restore snapshot from {}: {}", snapshotFile, e.getMessage());
+            }
+        }
+        refresh();
+    }
+
+    // Replays change_log rows after the persisted watermark, in feed order (last change per row wins).
+    // Returns null when a full rebuild is the better option: too many changes, or row counts that do not
+    // match the database (rows written without a change_log entry, e.g. bulk loads).
+    private DataSnapshot catchUp(DataSnapshot persisted) {
+        long pending = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM change_log WHERE feed_position > ?", Long.class, persisted.getWatermark());
+        if (pending > maxCatchUpChanges) {
+            return null;
+        }
+
+        Map<Long, Student> studentChanges = new HashMap<>();
+        Map<Long, Course> courseChanges = new HashMap<>();
+        long[] watermark = {persisted.getWatermark()};
+        jdbcTemplate.query("SELECT feed_position, entity_type, entity_id, operation, payload FROM change_log "
+                + "WHERE feed_position > ? ORDER BY feed_position", row -> {
+            watermark[0] = row.getLong("feed_position");
+            boolean deleted = "DELETE".equals(row.getString("operation"));
+            String payload = row.getString("payload");
+            if ("STUDENT".equals(row.getString("entity_type"))) {
+                studentChanges.put(row.getLong("entity_id"), deleted ? null : parse(payload, Student.class));
+            } else {
+                courseChanges.put(row.getLong("entity_id"), deleted ? null : parse(payload, Course.class));
+            }
+        }, persisted.getWatermark());
+
+        DataSnapshot caughtUp = persisted.withChanges(studentChanges, courseChanges, watermark[0]);
+        return caughtUp.studentCount() == countRows("students") && caughtUp.courseCount() == countRows("courses")
+                ? caughtUp : null;
+    }
+
+    private <T> T parse(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void persistInBackground(DataSnapshot snapshot) {
+        if (snapshotFile == null) {
+            return;
+        }
+        rebuilder.execute(() -> {
+            // A newer snapshot has already replaced this one - it will be written instead
+            if (current != snapshot) {
+                return;
+            }
+            try {
+                SnapshotFile.write(snapshot, snapshotFile);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not write snapshot to {}: {}", snapshotFile, e.getMessage());
+            }
+        });
+    }
+
+    // Size and age, for /api/snapshot
+    public Map<String, Object> describe() {
+        DataSnapshot snapshot = current();
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("students", snapshot.studentCount());
+        info.put("courses", snapshot.courseCount());
+        info.put("watermark", snapshot.getWatermark());
+        info.put("builtAt", Instant.ofEpochMilli(snapshot.getBuiltAtMillis()));
+        info.put("ageMillis", snapshot.ageMillis());
+        info.put("primitiveBytes", snapshot.primitiveBytes());
+        info.put("file", snapshotFile == null ? null : snapshotFile.toString());
+        return info;
+    }
+
+    private DataSnapshot load() {
+        // Highest position visible to this transaction; everything at or below it is in the tables read below
+        long watermark = jdbcTemplate.queryForObject("SELECT coalesce(max(feed_position), 0) FROM change_log", Long.class);
+        if (shardRouter == null) {
+            return readTables(watermark);
+        }
+
+        // Sharded: every shard is read in its own transaction, started after the watermark was read, so each one
+        // still contains every change at or below it. A course left on two shards by an interrupted move counts
+        // once, preferring the copy on its owner's shard (as ShardedStore does).
+        List<DataSnapshot> shards = shardRouter.scatter(shard -> List.of(readTables(watermark)));
+        Map<Long, Student> students = new HashMap<>();
+        Map<Long, Course> courses = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            DataSnapshot part = shards.get(shard);
+            for (int i = 0; i < part.studentCount(); i++) {
+                Student student = part.student(i);
+                students.put(student.getStudentId(), student);
+            }
+            for (int i = 0; i < part.courseCount(); i++) {
+                Course course = part.course(i);
+                boolean onOwnerShard = course.getStudentId() != null
+                        && shardRouter.shardForStudent(course.getStudentId()) == shard;
+                if (onOwnerShard || !courses.containsKey(course.getCourseId())) {
+                    courses.put(course.getCourseId(), course);
+                }
+            }
+        }
+        return DataSnapshot.empty().withChanges(students, courses, watermark);
+    }
+
+    // Both tables of one database, as a snapshot at the given watermark
+    private DataSnapshot readTables(long watermark) {
+        int studentRows = jdbcTemplate.queryForObject("SELECT count(*) FROM students", Integer.class);
+        int courseRows = jdbcTemplate.queryForObject("SELECT count(*) FROM courses", Integer.class);
+
+        long[] studentIds = new long[studentRows];
+        String[] names = new String[studentRows];
+        String[] emails = new String[studentRows];
+        int[] ages = new int[studentRows];
+        int[] s = {0};
+        jdbcTemplate.query("SELECT student_id, name, email, age FROM students ORDER BY student_id", row -> {
+            int i = s[0]++;
+            studentIds[i] = row.getLong(1);
+            names[i] = row.getString(2);
+            emails[i] = row.getString(3);
+            ages[i] = row.getInt(4);
+        });
+
+        long[] courseIds = new long[courseRows];
+        String[] titles = new String[courseRows];
+        int[] credits = new int[courseRows];
+        long[] courseStudentIds = new long[courseRows];
+        int[] c = {0};
+        jdbcTemplate.query("SELECT course_id, title, credits, student_id FROM courses ORDER BY course_id", row -> {
+            int i = c[0]++;
+            courseIds[i] = row.getLong(1);
+            titles[i] = row.getString(2);
+            credits[i] = row.getInt(3);
+            courseStudentIds[i] = row.getLong(4); // NULL reads as 0 = unassigned
+        });
+
+        return new DataSnapshot(studentIds, names, emails, ages, courseIds, titles, credits, courseStudentIds,
+                watermark, System.currentTimeMillis());
+    }
+
+    // Row count of a table, summed over every shard in the sharded profile
+    private int countRows(String table) {
+        String sql = "SELECT count(*) FROM " + table;
+        if (shardRouter == null) {
+            return jdbcTemplate.queryForObject(sql, Integer.class);
+        }
+        return shardRouter.scatter(shard -> List.of(jdbcTemplate.queryForObject(sql, Integer.class)))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdown();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.crud_app.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Opens the root span of a sampled request. The root covers the whole servlet call, so anything the
+// controller/service/repository spans do not explain (binding, JSON serialization, filters) is its self time.
+// Send "X-Trace: true" to force sampling; sampled responses carry the trace id in X-Trace-Id.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class TraceFilter extends OncePerRequestFilter {
+
+    public static final String FORCE_HEADER = "X-Trace";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final TraceRecorder traceRecorder;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/admin/") || path.startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!traceRecorder.shouldSample("true".equalsIgnoreCase(request.getHeader(FORCE_HEADER)))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long traceId = traceRecorder.begin(request.getMethod() + " " + request.getRequestURI());
+        response.setHeader(TRACE_ID_HEADER, Long.toString(traceId));
+        String outcome = "error";
+        try {
+            chain.doFilter(request, response);
+            // Async controllers (CompletableFuture) finish on another thread; only the dispatch is traced
+            outcome = request.isAsyncStarted() ? "async" : Integer.toString(response.getStatus());
+        } finally {
+            traceRecorder.end(outcome);
+        }
+    }
+}
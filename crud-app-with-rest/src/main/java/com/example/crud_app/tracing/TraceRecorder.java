@@ -0,0 +1,267 @@
+package com.example.crud_app.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process request tracing with no per-span allocation:
+//  - each request thread records into its own reusable ActiveTrace (fixed-size span arrays, allocated once per thread)
+//  - a finished trace is copied into the next slot of a ring of preallocated TraceSlots, overwriting the oldest
+// Spans are nested by a parent index, so a trace is a tree: request -> controller -> service -> repository.
+@Component
+public class TraceRecorder {
+
+    private final double sampleRate;
+    private final int maxSpans;
+    private final Path exportDirectory;
+    private final ObjectMapper objectMapper;
+
+    private final TraceSlot[] ring;
+    private final AtomicLong sequence = new AtomicLong();
+    // Allocated on a thread's first sampled request, so untraced threads (pools, background jobs) stay empty
+    private final ThreadLocal<ActiveTrace> active = new ThreadLocal<>();
+
+    public TraceRecorder(ObjectMapper objectMapper,
+                         @Value("${app.tracing.sample-rate:0.01}") double sampleRate,
+                         @Value("${app.tracing.buffer-size:256}") int bufferSize,
+                         @Value("${app.tracing.max-spans:512}") int maxSpans,
+                         @Value("${app.tracing.export-dir:${java.io.tmpdir}}") String exportDirectory) {
+        this.objectMapper = objectMapper;
+        this.sampleRate = sampleRate;
+        this.maxSpans = maxSpans;
+        this.exportDirectory = Path.of(exportDirectory);
+        this.ring = new TraceSlot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new TraceSlot(maxSpans);
+        }
+    }
+
+    public boolean shouldSample(boolean forced) {
+        return forced || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    // Start a trace on this thread; returns its id
+    public long begin(String name) {
+        long id = sequence.incrementAndGet();
+        ActiveTrace trace = active.get();
+        if (trace == null) {
+            trace = new ActiveTrace(maxSpans);
+            active.set(trace);
+        }
+        trace.begin(id, name);
+        return id;
+    }
+
+    public boolean isRecording() {
+        ActiveTrace trace = active.get();
+        return trace != null && trace.recording;
+    }
+
+    // Open a child span of the current one; -1 when nothing is being recorded (or the trace is full)
+    public int enter(String name) {
+        ActiveTrace trace = active.get();
+        return trace != null && trace.recording ? trace.enter(name) : -1;
+    }
+
+    public void exit(int span) {
+        ActiveTrace trace = active.get();
+        if (span >= 0 && trace != null) {
+            trace.exit(span);
+        }
+    }
+
+    // Close the root span and publish the trace into the ring
+    public void end(String outcome) {
+        ActiveTrace trace = active.get();
+        if (trace == null || !trace.recording) {
+            return;
+        }
+        trace.exit(0);
+        trace.recording = false;
+
+        TraceSlot slot = ring[(int) (trace.id % ring.length)];
+        synchronized (slot) {
+            slot.copyFrom(trace, outcome);
+        }
+    }
+
+    // Most recent traces first, as summaries (id, name, start, duration, outcome, span count)
+    public List<Map<String, Object>> recent(int limit) {
+        List<Map<String, Object>> traces = new ArrayList<>();
+        long newest = sequence.get();
+        for (long id = newest; id > newest - ring.length && id > 0 && traces.size() < limit; id--) {
+            find(id, false).ifPresent(traces::add);
+        }
+        return traces;
+    }
+
+    // Full span tree of one trace, if it is still in the ring
+    public Optional<Map<String, Object>> get(long id) {
+        return find(id, true);
+    }
+
+    // Write every trace currently in the ring as JSON lines; returns the file
+    public Path export() throws IOException {
+        Files.createDirectories(exportDirectory);
+        Path file = exportDirectory.resolve("traces-" + System.currentTimeMillis() + ".jsonl");
+        long newest = sequence.get();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (long id = Math.max(1, newest - ring.length + 1); id <= newest; id++) {
+                Optional<Map<String, Object>> trace = find(id, true);
+                if (trace.isPresent()) {
+                    writer.write(objectMapper.writeValueAsString(trace.get()));
+                    writer.newLine();
+                }
+            }
+        }
+        return file;
+    }
+
+    private Optional<Map<String, Object>> find(long id, boolean withSpans) {
+        TraceSlot slot = ring[(int) (id % ring.length)];
+        synchronized (slot) {
+            return slot.id == id ? Optional.of(slot.describe(withSpans)) : Optional.empty();
+        }
+    }
+
+    // Per-thread trace under construction
+    private static final class ActiveTrace {
+        final String[] names;
+        final int[] parents;
+        final long[] starts;
+        final long[] ends;
+        int count;
+        int current;
+        int dropped;
+        long id;
+        long startedAtMillis;
+        boolean recording;
+
+        ActiveTrace(int maxSpans) {
+            names = new String[maxSpans];
+            parents = new int[maxSpans];
+            starts = new long[maxSpans];
+            ends = new long[maxSpans];
+        }
+
+        void begin(long id, String name) {
+            this.id = id;
+            this.startedAtMillis = System.currentTimeMillis();
+            this.count = 0;
+            this.dropped = 0;
+            this.current = -1;
+            this.recording = true;
+            enter(name);
+        }
+
+        int enter(String name) {
+            if (count == names.length) {
+                dropped++;
+                return -1;
+            }
+            int span = count++;
+            names[span] = name;
+            parents[span] = current;
+            starts[span] = System.nanoTime();
+            ends[span] = 0;
+            current = span;
+            return span;
+        }
+
+        void exit(int span) {
+            ends[span] = System.nanoTime();
+            current = parents[span];
+        }
+    }
+
+    // One preallocated entry of the ring
+    private static final class TraceSlot {
+        final String[] names;
+        final int[] parents;
+        final long[] starts;
+        final long[] ends;
+        long id;
+        long startedAtMillis;
+        int count;
+        int dropped;
+        String outcome;
+
+        TraceSlot(int maxSpans) {
+            names = new String[maxSpans];
+            parents = new int[maxSpans];
+            starts = new long[maxSpans];
+            ends = new long[maxSpans];
+        }
+
+        void copyFrom(ActiveTrace trace, String outcome) {
+            System.arraycopy(trace.names, 0, names, 0, trace.count);
+            System.arraycopy(trace.parents, 0, parents, 0, trace.count);
+            System.arraycopy(trace.starts, 0, starts, 0, trace.count);
+            System.arraycopy(trace.ends, 0, ends, 0, trace.count);
+            this.id = trace.id;
+            this.startedAtMillis = trace.startedAtMillis;
+            this.count = trace.count;
+            this.dropped = trace.dropped;
+            this.outcome = outcome;
+        }
+
+        Map<String, Object> describe(boolean withSpans) {
+            Map<String, Object> trace = new LinkedHashMap<>();
+            trace.put("traceId", id);
+            trace.put("name", names[0]);
+            trace.put("startedAt", Instant.ofEpochMilli(startedAtMillis));
+            trace.put("durationMicros", micros(ends[0] - starts[0]));
+            trace.put("outcome", outcome);
+            trace.put("spans", count);
+            trace.put("droppedSpans", dropped);
+            if (withSpans) {
+                trace.put("root", span(0));
+            }
+            return trace;
+        }
+
+        // Nested span view; selfMicros is time not covered by child spans (e.g. JSON serialization at the root)
+        private Map<String, Object> span(int index) {
+            List<Map<String, Object>> children = new ArrayList<>();
+            long childNanos = 0;
+            for (int i = index + 1; i < count; i++) {
+                if (parents[i] == index) {
+                    children.add(span(i));
+                    childNanos += duration(i);
+                }
+            }
+            Map<String, Object> span = new LinkedHashMap<>();
+            span.put("name", names[index]);
+            span.put("offsetMicros", micros(starts[index] - starts[0]));
+            span.put("durationMicros", micros(duration(index)));
+            span.put("selfMicros", micros(duration(index) - childNanos));
+            if (!children.isEmpty()) {
+                span.put("children", children);
+            }
+            return span;
+        }
+
+        private long duration(int index) {
+            return ends[index] == 0 ? 0 : ends[index] - starts[index];
+        }
+
+        private static long micros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.crud_app.warmup;
+
+import com.example.crud_app.model.Student;
+import com.example.crud_app.service.CourseService;
+import com.example.crud_app.service.StudentService;
+import com.example.crud_app.snapshot.DataSnapshot;
+import com.example.crud_app.snapshot.SnapshotService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Warm-up phase between context refresh and readiness.
+// Spring Boot only reports ReadinessState.ACCEPTING_TRAFFIC after all ApplicationRunners have returned,
+// so while this runs /actuator/health/readiness answers 503 and the load balancer keeps traffic away.
+// It runs a mix of the API's read paths in-process (services, Hibernate query plans, connection pool, snapshot,
+// caches, JSON serialization of the results) in rounds until the median latency stops moving.
+// Every operation reads a bounded number of rows - lookups of sampled ids, one student's courses, a search for
+// one name, the snapshot-backed stats - so the cost of a round does not grow with the tables. The full-table
+// list reads are included only while both tables are at most app.warmup.max-full-read-rows rows.
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    public enum State { PENDING, RUNNING, COMPLETED, SKIPPED, FAILED }
+
+    private final Environment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnapshotService snapshotService;
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final long maxFullReadRows;
+    private final int concurrency;
+    private final int requestsPerRound;
+    private final int maxRounds;
+    private final int stableRounds;
+    private final double tolerance;
+    private final Duration maxDuration;
+
+    private volatile State state = State.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile boolean stabilised;
+    private volatile String failure;
+    private volatile List<String> operationNames = List.of();
+    private final List<Map<String, Object>> rounds = Collections.synchronizedList(new ArrayList<>());
+
+    public WarmupRunner(Environment environment,
+                        ApplicationEventPublisher eventPublisher,
+                        SnapshotService snapshotService,
+                        StudentService studentService,
+                        CourseService courseService,
+                        ObjectMapper objectMapper,
+                        @Value("${app.warmup.enabled:true}") boolean enabled,
+                        @Value("${app.warmup.max-full-read-rows:5000}") long maxFullReadRows,
+                        @Value("${app.warmup.concurrency:8}") int concurrency,
+                        @Value("${app.warmup.requests-per-round:400}") int requestsPerRound,
+                        @Value("${app.warmup.max-rounds:30}") int maxRounds,
+                        @Value("${app.warmup.stable-rounds:3}") int stableRounds,
+                        @Value("${app.warmup.tolerance:0.10}") double tolerance,
+                        @Value("${app.warmup.max-duration-ms:60000}") long maxDurationMillis) {
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.snapshotService = snapshotService;
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxFullReadRows = maxFullReadRows;
+        this.concurrency = concurrency;
+        this.requestsPerRound = requestsPerRound;
+        this.maxRounds = maxRounds;
+        this.stableRounds = stableRounds;
+        this.tolerance = tolerance;
+        this.maxDuration = Duration.ofMillis(maxDurationMillis);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || environment.getProperty("local.server.port") == null) {
+            state = State.SKIPPED; // Disabled, or no server to keep out of rotation (e.g. mock-environment tests)
+            return;
+        }
+
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        state = State.RUNNING;
+        startedAt = Instant.now();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, r -> new Thread(r, "warmup"));
+        try {
+            DataSnapshot snapshot = snapshotService.current();
+            Map<String, Function<DataSnapshot, Object>> operations = operations(snapshot);
+            operationNames = List.copyOf(operations.keySet());
+            warmUp(workers, snapshot, new ArrayList<>(operations.values()));
+            state = State.COMPLETED;
+        } catch (RuntimeException e) {
+            // A failed warm-up must not keep the instance out of rotation forever
+            failure = e.getMessage();
+            state = State.FAILED;
+            log.warn("Warm-up failed: {}", e.getMessage());
+        } finally {
+            finishedAt = Instant.now();
+            workers.shutdownNow();
+        }
+        log.info("Warm-up {} after {} rounds in {} ms (stabilised: {})", state, rounds.size(),
+                Duration.between(startedAt, finishedAt).toMillis(), stabilised);
+    }
+
+    // The read paths behind the API's GET endpoints, each reading a bounded number of rows
+    private Map<String, Function<DataSnapshot, Object>> operations(DataSnapshot snapshot) {
+        Map<String, Function<DataSnapshot, Object>> operations = new LinkedHashMap<>();
+        operations.put("students/stats", ignored -> studentService.getTopStudentsByAge());
+        operations.put("courses/stats", ignored -> courseService.getTopCoursesByCredits());
+        if (snapshot.studentCount() > 0) {
+            operations.put("students/{id}", s -> studentService.getStudentById(randomStudent(s).getStudentId()));
+            operations.put("students/{id}/courses", s -> courseService.getCoursesByStudentId(randomStudent(s).getStudentId()));
+            operations.put("students?search=", s -> studentService.searchStudents(randomStudent(s).getName()));
+        }
+        if (snapshot.courseCount() > 0) {
+            operations.put("courses/{id}/dto", s -> courseService.getCourseById(
+                    s.course(ThreadLocalRandom.current().nextInt(s.courseCount())).getCourseId())
+                    .map(courseService::convertToCourseDTO));
+        }
+        if (snapshot.studentCount() <= maxFullReadRows && snapshot.courseCount() <= maxFullReadRows) {
+            operations.put("students", ignored -> studentService.getAllStudents());
+            operations.put("courses/dto", ignored -> courseService.getAllCourseDTOs());
+        }
+        return operations;
+    }
+
+    private static Student randomStudent(DataSnapshot snapshot) {
+        return snapshot.student(ThreadLocalRandom.current().nextInt(snapshot.studentCount()));
+    }
+
+    private void warmUp(ExecutorService workers, DataSnapshot snapshot, List<Function<DataSnapshot, Object>> operations) {
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        double previousMedian = -1;
+        int stableStreak = 0;
+
+        for (int round = 1; round <= maxRounds && System.nanoTime() < deadline; round++) {
+            long[] latencies = runRound(workers, snapshot, operations);
+            Arrays.sort(latencies);
+            double median = latencies[latencies.length / 2] / 1_000.0;
+            double p99 = latencies[(int) Math.min(latencies.length - 1, Math.ceil(latencies.length * 0.99) - 1)] / 1_000.0;
+
+            boolean stable = previousMedian > 0 && Math.abs(median - previousMedian) <= previousMedian * tolerance;
+            stableStreak = stable ? stableStreak + 1 : 0;
+            previousMedian = median;
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("round", round);
+            summary.put("requests", latencies.length);
+            summary.put("medianMillis", median);
+            summary.put("p99Millis", p99);
+            rounds.add(summary);
+
+            if (stableStreak >= stableRounds) {
+                stabilised = true;
+                return;
+            }
+        }
+    }
+
+    // One round: requestsPerRound operations cycling through the mix, at most `concurrency` in flight
+    private long[] runRound(ExecutorService workers, DataSnapshot snapshot, List<Function<DataSnapshot, Object>> operations) {
+        long[] latencies = new long[requestsPerRound];
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(requestsPerRound);
+        for (int worker = 0; worker < concurrency; worker++) {
+            int first = worker;
+            inFlight.add(CompletableFuture.runAsync(() -> {
+                for (int i = first; i < requestsPerRound; i += concurrency) {
+                    latencies[i] = time(operations.get(i % operations.size()), snapshot);
+                }
+            }, workers));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        return latencies;
+    }
+
+    // Latency in microseconds, including serializing the result as a response would
+    private long time(Function<DataSnapshot, Object> operation, DataSnapshot snapshot) {
+        long started = System.nanoTime();
+        try {
+            objectMapper.writeValueAsBytes(operation.apply(snapshot));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Warm-up result could not be serialized: " + e.getMessage(), e);
+        }
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", state);
+        status.put("stabilised", stabilised);
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("failure", failure);
+        status.put("operations", operationNames);
+        synchronized (rounds) {
+            status.put("rounds", new ArrayList<>(rounds));
+        }
+        return status;
+    }
+}
@@ -0,0 +1,25 @@
+-- Baseline schema (previously generated by spring.jpa.hibernate.ddl-auto=update).
+-- IF NOT EXISTS everywhere so an existing ddl-auto database is adopted as-is (baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS students (
+    student_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    age        INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS courses (
+    course_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title      VARCHAR(255) NOT NULL,
+    credits    INTEGER      NOT NULL,
+    student_id BIGINT  -- manual foreign key to students.student_id (no constraint, see Course)
+);
+
+CREATE TABLE IF NOT EXISTS change_log (
+    change_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(16)              NOT NULL,
+    entity_id   BIGINT                   NOT NULL,
+    operation   VARCHAR(16)              NOT NULL,
+    changed_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    payload     TEXT
+);
@@ -0,0 +1,59 @@
+-- Indexes for the repository finders (StudentRepository / CourseRepository) and the dynamic list queries.
+
+-- findByStudentId, countByStudentId, deleteByStudentId, findByStudentIdIsNotNull, minCourses/withoutCourses subqueries
+CREATE INDEX IF NOT EXISTS idx_courses_student_id ON courses (student_id);
+
+-- findByStudentIdIsNull / countByStudentIdIsNull: only unassigned rows are indexed, so the index stays small
+CREATE INDEX IF NOT EXISTS idx_courses_unassigned ON courses (course_id) WHERE student_id IS NULL;
+
+-- findByAgeBetween, findByAgeGreaterThan, findTop5ByOrderByAgeDesc, ?sort=age
+CREATE INDEX IF NOT EXISTS idx_students_age ON students (age);
+
+-- findByCredits, findByCreditsBetween, findByCreditsGreaterThanEqualOrderByCreditsDesc, findTop5ByOrderByCreditsDesc
+CREATE INDEX IF NOT EXISTS idx_courses_credits ON courses (credits);
+
+-- Uniqueness enforced by the database; replaces the existsByEmail / existsByTitle pre-checks.
+-- Also serves findByEmail / findByTitle.
+-- Databases adopted from ddl-auto had only the application-side checks, so they can hold duplicates that would
+-- fail the index build. The oldest row (lowest id) keeps each value; later duplicates are renamed to
+-- "<value> [duplicate <id>]" and their original values recorded in v2_renamed_duplicates for review.
+CREATE TABLE IF NOT EXISTS v2_renamed_duplicates (
+    table_name     VARCHAR(16)  NOT NULL,
+    row_id         BIGINT       NOT NULL,
+    original_value VARCHAR(255) NOT NULL,
+    PRIMARY KEY (table_name, row_id)
+);
+
+INSERT INTO v2_renamed_duplicates (table_name, row_id, original_value)
+SELECT 'students', student_id, email
+FROM (SELECT student_id, email, row_number() OVER (PARTITION BY email ORDER BY student_id) AS occurrence
+      FROM students WHERE email IS NOT NULL) ranked
+WHERE occurrence > 1;
+
+UPDATE students s
+SET email = left(s.email, 200) || ' [duplicate ' || s.student_id || ']'
+FROM v2_renamed_duplicates d
+WHERE d.table_name = 'students' AND d.row_id = s.student_id;
+
+INSERT INTO v2_renamed_duplicates (table_name, row_id, original_value)
+SELECT 'courses', course_id, title
+FROM (SELECT course_id, title, row_number() OVER (PARTITION BY title ORDER BY course_id) AS occurrence
+      FROM courses WHERE title IS NOT NULL) ranked
+WHERE occurrence > 1;
+
+UPDATE courses c
+SET title = left(c.title, 200) || ' [duplicate ' || c.course_id || ']'
+FROM v2_renamed_duplicates d
+WHERE d.table_name = 'courses' AND d.row_id = c.course_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_students_email ON students (email);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_courses_title ON courses (title);
+
+-- *ContainingIgnoreCase / search filters compile to upper(column) LIKE upper('%...%'),
+-- which a B-tree cannot serve; trigram GIN indexes on the same expressions can.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_students_name_trgm ON students USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_students_email_trgm ON students USING gin (upper(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_courses_title_trgm ON courses USING gin (upper(title) gin_trgm_ops);
+
+-- Change feed reads by change_id (primary key); nothing extra needed.
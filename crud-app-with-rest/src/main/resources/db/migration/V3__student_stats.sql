@@ -0,0 +1,18 @@
+-- Denormalized read model behind the StudentWithCoursesDTO endpoints (/api/students/dto).
+-- One row per student, kept in step by StudentStatsService inside every student/course write transaction;
+-- POST /admin/read-model/rebuild recomputes it from students + courses.
+CREATE TABLE IF NOT EXISTS student_stats (
+    student_id    BIGINT  PRIMARY KEY,
+    total_courses INTEGER NOT NULL DEFAULT 0,
+    total_credits INTEGER NOT NULL DEFAULT 0
+);
+
+-- withoutCourses (= 0) and minCourses (>= n) filters
+CREATE INDEX IF NOT EXISTS idx_student_stats_total_courses ON student_stats (total_courses);
+
+INSERT INTO student_stats (student_id, total_courses, total_credits)
+SELECT s.student_id, count(c.course_id), coalesce(sum(c.credits), 0)
+FROM students s
+LEFT JOIN courses c ON c.student_id = s.student_id
+GROUP BY s.student_id
+ON CONFLICT (student_id) DO NOTHING;
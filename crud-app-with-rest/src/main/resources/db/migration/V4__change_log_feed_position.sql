@@ -0,0 +1,13 @@
+-- Change feed cursor in commit order (see ChangeLogSequencer). change_id is assigned at insert time and
+-- transactions commit out of order, so feed_position is given to rows only once they are committed.
+ALTER TABLE change_log ADD COLUMN IF NOT EXISTS feed_position BIGINT;
+
+-- Rows written before this migration keep their change_id as position, so existing cursors stay valid
+UPDATE change_log SET feed_position = change_id WHERE feed_position IS NULL;
+
+CREATE SEQUENCE IF NOT EXISTS change_log_feed_position_seq;
+SELECT setval('change_log_feed_position_seq', coalesce((SELECT max(feed_position) FROM change_log), 0) + 1, false);
+
+-- Feed reads (feed_position > cursor) and the sequencer's scan for rows still waiting for a position
+CREATE UNIQUE INDEX IF NOT EXISTS uk_change_log_feed_position ON change_log (feed_position);
+CREATE INDEX IF NOT EXISTS idx_change_log_unsequenced ON change_log (change_id) WHERE feed_position IS NULL;
@@ -0,0 +1,51 @@
+-- Schema created on every shard by ShardingConfig (sharded profile).
+-- Identity columns start at shard + 1 and step by the shard count, so ids are unique across shards
+-- and (id - 1) mod shardCount is the shard that generated them.
+CREATE TABLE IF NOT EXISTS students (
+    student_id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH ${start} INCREMENT BY ${increment}) PRIMARY KEY,
+    name       VARCHAR(255),
+    email      VARCHAR(255),
+    age        INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS courses (
+    course_id  BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH ${start} INCREMENT BY ${increment}) PRIMARY KEY,
+    title      VARCHAR(255),
+    credits    INTEGER,
+    student_id BIGINT
+);
+
+-- Portable subset of db/migration/V2 (no partial or trigram indexes, which H2 lacks).
+-- The uk_* indexes only see one shard; global email/title uniqueness comes from unique_claims below.
+CREATE INDEX IF NOT EXISTS idx_courses_student_id ON courses (student_id);
+CREATE INDEX IF NOT EXISTS idx_courses_credits ON courses (credits);
+CREATE INDEX IF NOT EXISTS idx_students_age ON students (age);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_students_email ON students (email);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_courses_title ON courses (title);
+
+-- Directory of taken students.email / courses.title values, used on shard 0 only (see ShardedStore)
+CREATE TABLE IF NOT EXISTS unique_claims (
+    kind        VARCHAR(16)  NOT NULL,
+    claim_value VARCHAR(255) NOT NULL,
+    PRIMARY KEY (kind, claim_value)
+);
+
+-- Read model (db/migration/V3); a student's row lives on the student's shard, next to its courses
+CREATE TABLE IF NOT EXISTS student_stats (
+    student_id    BIGINT  PRIMARY KEY,
+    total_courses INTEGER NOT NULL DEFAULT 0,
+    total_credits INTEGER NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS idx_student_stats_total_courses ON student_stats (total_courses);
+
+CREATE TABLE IF NOT EXISTS change_log (
+    change_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    operation   VARCHAR(16) NOT NULL,
+    changed_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    payload     TEXT,
+    feed_position BIGINT  -- db/migration/V4, assigned by ChangeLogSequencer once committed
+);
+CREATE SEQUENCE IF NOT EXISTS change_log_feed_position_seq;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_change_log_feed_position ON change_log (feed_position);
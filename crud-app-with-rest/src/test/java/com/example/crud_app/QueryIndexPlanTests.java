@@ -0,0 +1,92 @@
+package com.example.crud_app;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the Flyway migrations against a real PostgreSQL and checks that the SQL shapes the repository
+// finders generate are planned on the intended indexes. The tables are seeded at a realistic size with realistic
+// selectivity, and plans are taken with the planner's default settings, so an index only shows up where it
+// actually beats a sequential scan. Skipped when Docker is not available.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class QueryIndexPlanTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private static boolean seeded;
+
+	@Test
+	void coursesByStudentUseStudentIdIndex() {
+		seed();
+		assertThat(plan("SELECT * FROM courses c WHERE c.student_id = 42")).contains("idx_courses_student_id");
+	}
+
+	@Test
+	void unassignedCoursesUsePartialIndex() {
+		seed();
+		assertThat(plan("SELECT count(*) FROM courses c WHERE c.student_id IS NULL")).contains("idx_courses_unassigned");
+	}
+
+	@Test
+	void containingIgnoreCaseUsesTrigramIndexes() {
+		seed();
+		assertThat(plan("SELECT * FROM students s WHERE upper(s.name) LIKE upper('%dent 4242%') ESCAPE '\\'"))
+				.contains("idx_students_name_trgm");
+		assertThat(plan("SELECT * FROM courses c WHERE upper(c.title) LIKE upper('%rse 31337%') ESCAPE '\\'"))
+				.contains("idx_courses_title_trgm");
+	}
+
+	@Test
+	void lookupsAndOrderingUseBTreeIndexes() {
+		seed();
+		assertThat(plan("SELECT * FROM students s WHERE s.email = 'student42@example.com'")).contains("uk_students_email");
+		assertThat(plan("SELECT * FROM courses c WHERE c.title = 'Course 42'")).contains("uk_courses_title");
+		assertThat(plan("SELECT * FROM students s ORDER BY s.age DESC LIMIT 5")).contains("idx_students_age");
+		assertThat(plan("SELECT * FROM courses c ORDER BY c.credits DESC LIMIT 5")).contains("idx_courses_credits");
+	}
+
+	@Test
+	void readModelFiltersUseTotalCoursesIndex() {
+		seed();
+		assertThat(plan("SELECT * FROM student_stats st WHERE st.total_courses >= 20")).contains("idx_student_stats_total_courses");
+	}
+
+	// 100k students with about four courses each; 2% of the courses are unassigned and the first 100 students
+	// take 40-odd courses each, so "many courses" filters are as selective as they are in practice
+	private void seed() {
+		if (seeded) {
+			return;
+		}
+		jdbcTemplate.update("INSERT INTO students (name, email, age) "
+				+ "SELECT 'Student ' || i, 'student' || i || '@example.com', 16 + i % 60 FROM generate_series(1, 100000) i");
+		jdbcTemplate.update("INSERT INTO courses (title, credits, student_id) "
+				+ "SELECT 'Course ' || i, 1 + i % 6, CASE WHEN i % 50 = 0 THEN NULL "
+				+ "WHEN i % 100 = 1 THEN 1 + i / 100 % 100 ELSE 1 + i % 100000 END "
+				+ "FROM generate_series(1, 400000) i");
+		jdbcTemplate.update("INSERT INTO student_stats (student_id, total_courses, total_credits) "
+				+ "SELECT s.student_id, count(c.course_id), coalesce(sum(c.credits), 0) "
+				+ "FROM students s LEFT JOIN courses c ON c.student_id = s.student_id GROUP BY s.student_id");
+		// VACUUM also sets the visibility map, which index-only scans depend on
+		jdbcTemplate.execute("VACUUM ANALYZE students");
+		jdbcTemplate.execute("VACUUM ANALYZE courses");
+		jdbcTemplate.execute("VACUUM ANALYZE student_stats");
+		seeded = true;
+	}
+
+	private String plan(String sql) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+	}
+}
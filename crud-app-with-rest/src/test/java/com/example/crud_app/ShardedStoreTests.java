@@ -0,0 +1,197 @@
+package com.example.crud_app;
+
+import com.example.crud_app.model.Course;
+import com.example.crud_app.model.Student;
+import com.example.crud_app.repository.AnalyticsMetric;
+import com.example.crud_app.repository.StudentRepository;
+import com.example.crud_app.service.AnalyticsService;
+import com.example.crud_app.service.CourseService;
+import com.example.crud_app.service.LeaderboardService;
+import com.example.crud_app.service.StudentService;
+import com.example.crud_app.sharding.ShardRouter;
+import com.example.crud_app.sharding.ShardedStore;
+import com.example.crud_app.snapshot.DataSnapshot;
+import com.example.crud_app.snapshot.SnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Three in-memory H2 shards (sharded-embedded); the regular services must see all of them
+@SpringBootTest(properties = "app.warmup.enabled=false")
+@ActiveProfiles({"sharded", "sharded-embedded"})
+class ShardedStoreTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private ShardedStore shardedStore;
+
+	@Autowired
+	private ShardRouter router;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private LeaderboardService leaderboardService;
+
+	@Autowired
+	private SnapshotService snapshotService;
+
+	@Autowired
+	private AnalyticsService analyticsService;
+
+	@Test
+	void serviceReadsGatherEveryShard() {
+		List<Long> ids = List.of(
+				newStudent("gather").getStudentId(),
+				newStudent("gather").getStudentId(),
+				newStudent("gather").getStudentId());
+
+		assertThat(ids.stream().map(router::shardForStudent).distinct()).hasSize(router.getShardCount());
+		assertThat(studentService.getAllStudents()).extracting(Student::getStudentId).containsAll(ids);
+		assertThat(studentService.getAllStudents()).extracting(Student::getStudentId).isSorted();
+		ids.forEach(id -> assertThat(studentService.getStudentById(id)).isPresent());
+	}
+
+	@Test
+	void emailIsUniqueAcrossShards() {
+		Student first = newStudent("unique");
+		Student second = Student.builder().name("Other").email(first.getEmail()).age(30).build();
+
+		assertThatThrownBy(() -> studentService.saveStudent(second)).isInstanceOf(DataIntegrityViolationException.class);
+		assertThat(studentService.findByEmail(first.getEmail())).get()
+				.extracting(Student::getStudentId).isEqualTo(first.getStudentId());
+
+		// Deleting the student releases the email again
+		studentService.deleteStudent(first.getStudentId());
+		assertThat(studentService.saveStudent(second).getStudentId()).isNotNull();
+	}
+
+	@Test
+	void titleIsUniqueAcrossShards() {
+		String title = "Course " + UUID.randomUUID();
+		courseService.createCourseForStudent(newStudent("title").getStudentId(), course(title));
+
+		Student onOtherShard = newStudent("title");
+		assertThatThrownBy(() -> courseService.createCourseForStudent(onOtherShard.getStudentId(), course(title)))
+				.isInstanceOf(DataIntegrityViolationException.class);
+	}
+
+	@Test
+	void reassignmentMovesCourseToTheNewOwnersShard() {
+		Student owner = newStudent("move");
+		Student newOwner = newStudent("move");
+		assertThat(router.shardForStudent(owner.getStudentId())).isNotEqualTo(router.shardForStudent(newOwner.getStudentId()));
+		Course course = courseService.createCourseForStudent(owner.getStudentId(), course("Course " + UUID.randomUUID()));
+
+		shardedStore.reassignCourse(course.getCourseId(), newOwner.getStudentId());
+
+		assertThat(courseService.getAllCourses()).filteredOn(found -> found.getCourseId().equals(course.getCourseId()))
+				.singleElement()
+				.extracting(Course::getStudentId).isEqualTo(newOwner.getStudentId());
+		assertThat(studentService.getCoursesForStudent(owner.getStudentId())).isEmpty();
+		assertThat(studentService.getCoursesForStudent(newOwner.getStudentId()))
+				.extracting(Course::getCourseId).containsExactly(course.getCourseId());
+	}
+
+	@Test
+	void statisticsSumEveryShard() {
+		newStudent("stats");
+		Map<String, Object> stats = shardedStore.getStatistics();
+
+		assertThat(stats.get("shardCount")).isEqualTo(router.getShardCount());
+		assertThat((Long) stats.get("totalStudents")).isEqualTo(studentService.getAllStudents().size());
+	}
+
+	@Test
+	void pagedReadsAreCutFromTheMergedOrder() {
+		for (int age : List.of(100, 99, 99, 98, 98, 97)) {
+			newStudent("paged", age);
+		}
+		List<Student> expected = byAgeDescending(studentService.getAllStudents());
+
+		Page<Student> page = studentRepository.findAll(PageRequest.of(1, 2,
+				Sort.by(Sort.Direction.DESC, "age").and(Sort.by("studentId"))));
+
+		assertThat(page.getContent()).extracting(Student::getStudentId)
+				.containsExactlyElementsOf(expected.subList(2, 4).stream().map(Student::getStudentId).toList());
+		assertThat(page.getTotalElements()).isEqualTo(expected.size());
+	}
+
+	@Test
+	void leaderboardRefillSeesEveryShard() {
+		List<Long> ids = List.of(
+				newStudent("leader", 100).getStudentId(),
+				newStudent("leader", 100).getStudentId(),
+				newStudent("leader", 100).getStudentId());
+		assertThat(ids.stream().map(router::shardForStudent).distinct()).hasSize(router.getShardCount());
+
+		leaderboardService.invalidate();
+
+		List<Long> expected = byAgeDescending(studentService.getAllStudents()).stream()
+				.limit(5)  // app.leaderboards.students.size
+				.map(Student::getStudentId)
+				.collect(Collectors.toList());
+		assertThat(leaderboardService.getTopStudents()).extracting(Student::getStudentId)
+				.containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void snapshotAndAnalyticsReadEveryShard() {
+		Student student = newStudent("snapshot", 40);
+		courseService.createCourseForStudent(student.getStudentId(), course("Course " + UUID.randomUUID()));
+		newStudent("snapshot", 60);
+		newStudent("snapshot", 80);
+		List<Student> students = studentService.getAllStudents();
+
+		DataSnapshot snapshot = snapshotService.refresh();
+		assertThat(snapshot.studentCount()).isEqualTo(students.size());
+		assertThat(snapshot.courseCount()).isEqualTo(courseService.getAllCourses().size());
+
+		assertThat(analyticsService.getStudentCounts()).containsEntry("totalStudents", (long) students.size());
+		double averageAge = students.stream().mapToInt(Student::getAge).average().orElse(0);
+		assertThat(analyticsService.getAverage(AnalyticsMetric.AGE)).isEqualTo(Math.round(averageAge * 10.0) / 10.0);
+	}
+
+	// The leaderboard and paged-read order: age descending, then id
+	private List<Student> byAgeDescending(List<Student> students) {
+		return students.stream()
+				.sorted(Comparator.comparing(Student::getAge).reversed().thenComparing(Student::getStudentId))
+				.collect(Collectors.toList());
+	}
+
+	private Student newStudent(String prefix) {
+		return newStudent(prefix, 20);
+	}
+
+	private Student newStudent(String prefix, int age) {
+		return studentService.saveStudent(Student.builder()
+				.name(prefix)
+				.email(prefix + "-" + UUID.randomUUID() + "@example.com")
+				.age(age)
+				.build());
+	}
+
+	private Course course(String title) {
+		return Course.builder().title(title).credits(3).build();
+	}
+}
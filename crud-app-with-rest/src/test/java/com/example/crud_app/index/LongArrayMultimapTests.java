@@ -0,0 +1,160 @@
+package com.example.crud_app.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongArrayMultimapTests {
+
+	@Test
+	void valuesAccumulatePerKey() {
+		LongArrayMultimap map = new LongArrayMultimap(4);
+		for (long value = 1; value <= 10; value++) {
+			map.add(7, value); // past the initial per-key array of 4
+		}
+
+		assertThat(map.get(7)).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		assertThat(map.count(7)).isEqualTo(10);
+		assertThat(map.contains(7, 10)).isTrue();
+		assertThat(map.contains(7, 11)).isFalse();
+		assertThat(map.keyCount()).isEqualTo(1);
+		assertThat(map.get(8)).isEmpty();
+	}
+
+	@Test
+	void getReturnsACopy() {
+		LongArrayMultimap map = new LongArrayMultimap(4);
+		map.add(1, 10);
+		map.get(1)[0] = 99;
+
+		assertThat(map.get(1)).containsExactly(10);
+	}
+
+	@Test
+	void duplicateValuesAreRemovedOneAtATime() {
+		LongArrayMultimap map = new LongArrayMultimap(4);
+		map.add(1, 5);
+		map.add(1, 5);
+
+		assertThat(map.remove(1, 5)).isTrue();
+		assertThat(map.get(1)).containsExactly(5);
+		assertThat(map.remove(1, 5)).isTrue();
+		assertThat(map.remove(1, 5)).isFalse();
+		assertThat(map.keyCount()).isZero();
+	}
+
+	@Test
+	void zeroKeyIsReservedForEmptySlots() {
+		LongArrayMultimap map = new LongArrayMultimap(4);
+
+		assertThatThrownBy(() -> map.add(0, 1)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(map.get(0)).isEmpty();
+		assertThat(map.count(0)).isZero();
+		assertThat(map.contains(0, 1)).isFalse();
+		assertThat(map.remove(0, 1)).isFalse();
+		assertThat(map.keyCount()).isZero();
+	}
+
+	@Test
+	void collidingKeysStayReachableWhenAKeyEmpties() {
+		long[] colliding = LongLongHashMapTests.keysWithSameHomeSlot(5);
+		LongArrayMultimap map = new LongArrayMultimap(4);
+		for (long key : colliding) {
+			map.add(key, key);
+			map.add(key, -key);
+		}
+
+		// Emptying a key in the middle of the probe run drops it and shifts the later keys back
+		map.remove(colliding[1], colliding[1]);
+		map.remove(colliding[1], -colliding[1]);
+
+		assertThat(map.keyCount()).isEqualTo(4);
+		assertThat(map.count(colliding[1])).isZero();
+		for (long key : new long[]{colliding[0], colliding[2], colliding[3], colliding[4]}) {
+			assertThat(map.get(key)).containsExactlyInAnyOrder(key, -key);
+		}
+	}
+
+	@Test
+	void emptiedKeysCanBeReinserted() {
+		long[] colliding = LongLongHashMapTests.keysWithSameHomeSlot(3);
+		LongArrayMultimap map = new LongArrayMultimap(4);
+		for (long key : colliding) {
+			map.add(key, 1);
+		}
+
+		for (int round = 0; round < 100; round++) {
+			long key = colliding[round % colliding.length];
+			assertThat(map.remove(key, 1)).isTrue();
+			assertThat(map.count(key)).isZero();
+			map.add(key, 1);
+		}
+		assertThat(map.keyCount()).isEqualTo(colliding.length);
+		for (long key : colliding) {
+			assertThat(map.get(key)).containsExactly(1);
+		}
+	}
+
+	@Test
+	void growsAndKeepsEveryKey() {
+		LongArrayMultimap map = new LongArrayMultimap(1);
+		for (long key = 1; key <= 5_000; key++) {
+			map.add(key, key);
+			map.add(key, key + 1);
+		}
+
+		assertThat(map.keyCount()).isEqualTo(5_000);
+		List<Long> keys = new ArrayList<>();
+		map.forEachKey(keys::add);
+		assertThat(keys).hasSize(5_000);
+		for (long key = 1; key <= 5_000; key++) {
+			assertThat(map.get(key)).containsExactlyInAnyOrder(key, key + 1);
+		}
+	}
+
+	@Test
+	void matchesReferenceUnderRandomOperations() {
+		Random random = new Random(11);
+		LongArrayMultimap map = new LongArrayMultimap(8);
+		Map<Long, List<Long>> reference = new HashMap<>();
+
+		for (int i = 0; i < 50_000; i++) {
+			long key = 1 + random.nextInt(500);
+			long value = random.nextInt(20);
+			if (random.nextBoolean()) {
+				List<Long> values = reference.get(key);
+				boolean expected = values != null && values.remove(value);
+				if (values != null && values.isEmpty()) {
+					reference.remove(key);
+				}
+				assertThat(map.remove(key, value)).isEqualTo(expected);
+			} else {
+				reference.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+				map.add(key, value);
+			}
+		}
+
+		assertThat(map.keyCount()).isEqualTo(reference.size());
+		reference.forEach((key, values) ->
+				assertThat(map.get(key)).containsExactlyInAnyOrder(values.stream().mapToLong(Long::longValue).toArray()));
+	}
+
+	@Test
+	void clearDropsEveryKey() {
+		LongArrayMultimap map = new LongArrayMultimap(4);
+		map.add(3, 1);
+		map.clear();
+
+		assertThat(map.keyCount()).isZero();
+		assertThat(map.get(3)).isEmpty();
+		map.add(3, 2);
+		assertThat(map.get(3)).containsExactly(2);
+	}
+}
@@ -0,0 +1,143 @@
+package com.example.crud_app.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongLongHashMapTests {
+
+	// Smallest table: 16 slots
+	private static final int MASK = 15;
+
+	@Test
+	void missingKeysReportNoValue() {
+		LongLongHashMap map = new LongLongHashMap(4);
+
+		assertThat(map.get(42)).isEqualTo(LongLongHashMap.NO_VALUE);
+		assertThat(map.remove(42)).isEqualTo(LongLongHashMap.NO_VALUE);
+		assertThat(map.containsKey(42)).isFalse();
+		assertThat(map.put(42, 7)).isEqualTo(LongLongHashMap.NO_VALUE);
+		assertThat(map.put(42, 8)).isEqualTo(7);
+		assertThat(map.get(42)).isEqualTo(8);
+		assertThat(map.size()).isEqualTo(1);
+	}
+
+	@Test
+	void zeroKeyIsReservedForEmptySlots() {
+		LongLongHashMap map = new LongLongHashMap(4);
+		map.put(1, 1);
+
+		assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(map.get(0)).isEqualTo(LongLongHashMap.NO_VALUE);
+		assertThat(map.containsKey(0)).isFalse();
+		assertThat(map.remove(0)).isEqualTo(LongLongHashMap.NO_VALUE);
+		assertThat(map.size()).isEqualTo(1);
+	}
+
+	@Test
+	void collidingKeysStayReachableWhenOneOfTheRunIsRemoved() {
+		long[] colliding = keysWithSameHomeSlot(5);
+		LongLongHashMap map = new LongLongHashMap(4);
+		for (long key : colliding) {
+			map.put(key, key * 10);
+		}
+
+		// Removing from the middle of the probe run shifts the later entries back
+		assertThat(map.remove(colliding[1])).isEqualTo(colliding[1] * 10);
+		assertThat(map.remove(colliding[3])).isEqualTo(colliding[3] * 10);
+		assertThat(map.get(colliding[0])).isEqualTo(colliding[0] * 10);
+		assertThat(map.get(colliding[2])).isEqualTo(colliding[2] * 10);
+		assertThat(map.get(colliding[4])).isEqualTo(colliding[4] * 10);
+		assertThat(map.containsKey(colliding[1])).isFalse();
+		assertThat(map.size()).isEqualTo(3);
+	}
+
+	@Test
+	void removedKeysCanBeReinserted() {
+		long[] colliding = keysWithSameHomeSlot(3);
+		long[] expected = new long[colliding.length];
+		LongLongHashMap map = new LongLongHashMap(4);
+		for (long key : colliding) {
+			map.put(key, 0);
+		}
+
+		for (int round = 1; round <= 100; round++) {
+			int i = round % colliding.length;
+			assertThat(map.remove(colliding[i])).isEqualTo(expected[i]);
+			assertThat(map.put(colliding[i], round)).isEqualTo(LongLongHashMap.NO_VALUE);
+			expected[i] = round;
+		}
+		assertThat(map.size()).isEqualTo(colliding.length);
+		for (int i = 0; i < colliding.length; i++) {
+			assertThat(map.get(colliding[i])).isEqualTo(expected[i]);
+		}
+	}
+
+	@Test
+	void growsAndKeepsEveryEntry() {
+		LongLongHashMap map = new LongLongHashMap(1);
+		for (long key = 1; key <= 10_000; key++) {
+			map.put(key, -key);
+		}
+		for (long key = 2; key <= 10_000; key += 2) {
+			map.remove(key);
+		}
+
+		assertThat(map.size()).isEqualTo(5_000);
+		for (long key = 1; key <= 10_000; key++) {
+			assertThat(map.get(key)).isEqualTo(key % 2 == 1 ? -key : LongLongHashMap.NO_VALUE);
+		}
+	}
+
+	@Test
+	void matchesHashMapUnderRandomOperations() {
+		Random random = new Random(7);
+		LongLongHashMap map = new LongLongHashMap(8);
+		Map<Long, Long> reference = new HashMap<>();
+
+		for (int i = 0; i < 50_000; i++) {
+			long key = 1 + random.nextInt(2_000);
+			if (random.nextInt(3) == 0) {
+				Long expected = reference.remove(key);
+				assertThat(map.remove(key)).isEqualTo(expected == null ? LongLongHashMap.NO_VALUE : expected);
+			} else {
+				long value = random.nextLong();
+				Long expected = reference.put(key, value);
+				assertThat(map.put(key, value)).isEqualTo(expected == null ? LongLongHashMap.NO_VALUE : expected);
+			}
+		}
+
+		assertThat(map.size()).isEqualTo(reference.size());
+		reference.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+	}
+
+	@Test
+	void clearEmptiesTheMap() {
+		LongLongHashMap map = new LongLongHashMap(4);
+		map.put(5, 5);
+		map.clear();
+
+		assertThat(map.size()).isZero();
+		assertThat(map.containsKey(5)).isFalse();
+		map.put(5, 6);
+		assertThat(map.get(5)).isEqualTo(6);
+	}
+
+	// Non-zero keys that all hash to the same slot of a 16-slot table
+	static long[] keysWithSameHomeSlot(int count) {
+		long[] keys = new long[count];
+		int found = 0;
+		int home = HashSupport.slot(1, MASK);
+		for (long key = 1; found < count; key++) {
+			if (HashSupport.slot(key, MASK) == home) {
+				keys[found++] = key;
+			}
+		}
+		return keys;
+	}
+}
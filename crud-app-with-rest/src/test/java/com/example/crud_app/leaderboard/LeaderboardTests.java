@@ -0,0 +1,165 @@
+package com.example.crud_app.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeaderboardTests {
+
+	private record Row(long id, int score) {
+	}
+
+	private static final Comparator<Row> HIGHEST_SCORE = Comparator.comparingInt(Row::score).reversed();
+
+	// Stands in for the database table; the leaderboard's loader reads the best n rows from it
+	private final TreeMap<Long, Row> table = new TreeMap<>();
+
+	@Test
+	void deletionsWithinTheHeadroomDoNotReload() {
+		fillTable(100);
+		Leaderboard<Row> leaderboard = leaderboard(3, 12);
+		assertThat(leaderboard.top()).isEqualTo(expectedTop(3));
+
+		// 12 rows held, 3 needed: the first 9 deletions of members are absorbed
+		for (int i = 0; i < 9; i++) {
+			delete(leaderboard, expectedTop(1).get(0).id());
+			assertThat(leaderboard.top()).isEqualTo(expectedTop(3));
+		}
+		assertThat(leaderboard.describe()).containsEntry("refills", 1L).containsEntry("members", 3);
+
+		delete(leaderboard, expectedTop(1).get(0).id());
+		assertThat(leaderboard.top()).isEqualTo(expectedTop(3));
+		assertThat(leaderboard.describe()).containsEntry("refills", 2L).containsEntry("members", 12);
+	}
+
+	@Test
+	void rowsOutsideTheSetOnlyJoinAheadOfItsLastMember() {
+		fillTable(100);  // scores 1..100
+		Leaderboard<Row> leaderboard = leaderboard(3, 6);
+		leaderboard.top();  // members: scores 100..95
+
+		// Ranks below every member: it stays one of the rows outside the set
+		upsert(leaderboard, new Row(1_000, 50));
+		assertThat(leaderboard.describe()).containsEntry("members", 6);
+
+		// Ranks ahead of the last member: joins, and the set sheds its last member to stay within capacity
+		upsert(leaderboard, new Row(1_001, 97));
+		assertThat(leaderboard.describe()).containsEntry("members", 6).containsEntry("complete", false);
+		assertThat(leaderboard.top()).extracting(Row::score).containsExactly(100, 99, 98);
+
+		// The shed row (score 95) is outside again, so deleting members must eventually reload it
+		for (int i = 0; i < 5; i++) {
+			delete(leaderboard, expectedTop(1).get(0).id());
+		}
+		assertThat(leaderboard.top()).isEqualTo(expectedTop(3)).extracting(Row::score).containsExactly(96, 95, 94);
+		assertThat(leaderboard.describe()).containsEntry("refills", 2L);
+	}
+
+	@Test
+	void demotedMembersLeaveTheSet() {
+		fillTable(100);
+		Leaderboard<Row> leaderboard = leaderboard(3, 12);
+		Row best = leaderboard.top().get(0);
+
+		upsert(leaderboard, new Row(best.id(), 0));
+
+		assertThat(leaderboard.top()).isEqualTo(expectedTop(3)).doesNotContain(new Row(best.id(), 0));
+		assertThat(leaderboard.describe()).containsEntry("members", 11).containsEntry("refills", 1L);
+	}
+
+	@Test
+	void smallTablesAreHeldCompletely() {
+		fillTable(5);
+		Leaderboard<Row> leaderboard = leaderboard(3, 12);
+		assertThat(leaderboard.top()).isEqualTo(expectedTop(3));
+		assertThat(leaderboard.describe()).containsEntry("complete", true);
+
+		// Every row is a member, so any new row joins wherever it ranks and deletions never reload
+		upsert(leaderboard, new Row(6, 0));
+		for (long id = 1; id <= 5; id++) {
+			delete(leaderboard, id);
+		}
+		assertThat(leaderboard.top()).containsExactly(new Row(6, 0));
+		assertThat(leaderboard.describe()).containsEntry("refills", 1L);
+	}
+
+	@Test
+	void topMatchesTheTableUnderRandomWrites() {
+		Random random = new Random(11);
+		fillTable(200);
+		Leaderboard<Row> leaderboard = leaderboard(5, 20);
+
+		for (int i = 0; i < 20_000; i++) {
+			long id = 1 + random.nextInt(300);
+			if (random.nextInt(4) == 0) {
+				delete(leaderboard, id);
+			} else {
+				upsert(leaderboard, new Row(id, random.nextInt(1_000)));
+			}
+			if (i % 7 == 0) {
+				assertThat(leaderboard.top()).as("after %d writes", i + 1).isEqualTo(expectedTop(5));
+				assertThat((int) leaderboard.describe().get("members")).isLessThanOrEqualTo(20);
+			}
+		}
+		assertThat(leaderboard.top()).isEqualTo(expectedTop(5));
+		// The headroom absorbs most member deletions and demotions
+		assertThat((long) leaderboard.describe().get("refills")).isLessThan(200);
+	}
+
+	@Test
+	void invalidateReloadsOnNextTop() {
+		fillTable(10);
+		Leaderboard<Row> leaderboard = leaderboard(3, 6);
+		leaderboard.top();
+
+		// Written behind the leaderboard's back, as a bulk load would
+		table.put(11L, new Row(11, 1_000));
+		leaderboard.invalidate();
+
+		assertThat(leaderboard.top()).isEqualTo(expectedTop(3)).first().isEqualTo(new Row(11, 1_000));
+		assertThat(leaderboard.describe()).containsEntry("refills", 2L);
+	}
+
+	@Test
+	void capacityMustCoverTheSize() {
+		assertThatThrownBy(() -> leaderboard(5, 4)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> leaderboard(0, 4)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private Leaderboard<Row> leaderboard(int size, int capacity) {
+		return new Leaderboard<>("scores", size, capacity, HIGHEST_SCORE, Row::id, UnaryOperator.identity(),
+				this::expectedTop);
+	}
+
+	// Rows 1..count scoring their own id
+	private void fillTable(int count) {
+		for (long id = 1; id <= count; id++) {
+			table.put(id, new Row(id, (int) id));
+		}
+	}
+
+	private void upsert(Leaderboard<Row> leaderboard, Row row) {
+		table.put(row.id(), row);
+		leaderboard.upsert(row);
+	}
+
+	private void delete(Leaderboard<Row> leaderboard, long id) {
+		table.remove(id);
+		leaderboard.delete(id);
+	}
+
+	// Best n rows of the table, ties broken by id like the leaderboard does
+	private List<Row> expectedTop(int n) {
+		List<Row> rows = new ArrayList<>(table.values());
+		rows.sort(HIGHEST_SCORE.thenComparing(Row::id));
+		return new ArrayList<>(rows.subList(0, Math.min(n, rows.size())));
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.crud_app.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedCsvReaderTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void rowsStraddlingWindowBoundariesAreReadWhole() throws IOException {
+		StringBuilder csv = new StringBuilder("student_id,name,email,age\n");
+		List<String> expected = new ArrayList<>();
+		for (int i = 1; i <= 200; i++) {
+			String name = i % 3 == 0 ? "Line\nbreak " + i : i % 3 == 1 ? "Quote \"" + i + "\"" : "Plain " + i;
+			csv.append(i).append(",\"").append(name.replace("\"", "\"\"")).append("\",s").append(i).append("@example.edu,")
+					.append(18 + i % 40).append(i % 2 == 0 ? "\r\n" : "\n");
+			expected.add(i + "|" + name + "|s" + i + "@example.edu|" + (18 + i % 40));
+		}
+		Path file = write(csv.toString());
+
+		// Every window size puts the boundaries at different offsets inside rows, quotes and CRLF pairs
+		for (long window = 48; window <= 96; window++) {
+			List<String> rows = new ArrayList<>();
+			long lines = new MappedCsvReader(file, true, window).read(row -> rows.add(
+					row.parseLong(0) + "|" + row.string(1) + "|" + row.string(2) + "|" + row.parseLong(3)));
+
+			assertThat(rows).as("window of %d bytes", window).isEqualTo(expected);
+			assertThat(lines).isEqualTo(201);
+		}
+	}
+
+	@Test
+	void rowLongerThanTheWindowIsAnError() throws IOException {
+		Path file = write("1,A name that does not fit,a@example.edu,20\n");
+
+		assertThatThrownBy(() -> new MappedCsvReader(file, false, 16).read(row -> {
+		})).isInstanceOf(IOException.class).hasMessageContaining("longer than 16 bytes");
+	}
+
+	@Test
+	void quotedFieldsKeepSeparatorsAndUnescapeQuotes() throws IOException {
+		Path file = write("1,\"Smith, \"\"Jr\"\"\",\"a@example.edu\",20\n2,,b@example.edu,21");
+		List<List<String>> rows = new ArrayList<>();
+
+		new MappedCsvReader(file, false).read(row -> {
+			List<String> fields = new ArrayList<>();
+			for (int i = 0; i < row.fieldCount(); i++) {
+				fields.add(row.string(i));
+			}
+			rows.add(fields);
+		});
+
+		assertThat(rows).containsExactly(
+				List.of("1", "Smith, \"Jr\"", "a@example.edu", "20"),
+				List.of("2", "", "b@example.edu", "21"));
+	}
+
+	@Test
+	void headerAndBlankLinesAreSkippedButCounted() throws IOException {
+		Path file = write("course_id,title,credits,student_id\r\n\r\n7,Databases,4,\r\n\n8,Algorithms,3,12\r\n");
+		List<String> rows = new ArrayList<>();
+
+		new MappedCsvReader(file, true).read(row -> rows.add(row.lineNumber() + ":" + row.string(1)
+				+ ":" + row.length(3)));
+
+		assertThat(rows).containsExactly("3:Databases:0", "5:Algorithms:2");
+	}
+
+	@Test
+	void charLengthCountsCharactersNotBytes() throws IOException {
+		Path file = write("\"Zo\u00eb \"\"Z\"\" \u00c5ngstr\u00f6m\",Zo\u00eb,plain\n");
+		List<int[]> lengths = new ArrayList<>();
+
+		new MappedCsvReader(file, false).read(row -> {
+			for (int i = 0; i < row.fieldCount(); i++) {
+				lengths.add(new int[]{row.charLength(i), row.length(i)});
+			}
+		});
+
+		// 16 characters; the raw bytes add 3 for the two-byte letters and 2 for the doubled quotes
+		assertThat(lengths.get(0)).containsExactly(16, 21);
+		assertThat(lengths.get(1)).containsExactly(3, 4);
+		assertThat(lengths.get(2)).containsExactly(5, 5);
+	}
+
+	@Test
+	void copyTextEscapesBackslashesTabsAndLineBreaks() throws IOException {
+		Path file = write("1,\"tab\there, back\\slash, \"\"quoted\"\"\r\nnext line\",unquoted\\\n");
+		ByteArrayOutputStream copied = new ByteArrayOutputStream();
+		CopyBuffer out = new CopyBuffer(8, copied::write);
+
+		new MappedCsvReader(file, false).read(row -> {
+			row.appendCopyText(1, out);
+			out.write((byte) '|');
+			row.appendCopyText(2, out);
+			out.write((byte) '|');
+			out.writeLong(row.parseLong(0));
+			out.write((byte) '|');
+			out.writeNull();
+		});
+		out.flush();
+
+		assertThat(copied.toString(StandardCharsets.UTF_8))
+				.isEqualTo("tab\\there, back\\\\slash, \"quoted\"\\r\\nnext line|unquoted\\\\|1|\\N");
+	}
+
+	private Path write(String content) throws IOException {
+		Path file = directory.resolve("rows.csv");
+		Files.writeString(file, content, StandardCharsets.UTF_8);
+		return file;
+	}
+}